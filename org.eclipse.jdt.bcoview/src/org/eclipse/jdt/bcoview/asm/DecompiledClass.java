@@ -15,9 +15,9 @@
 package org.eclipse.jdt.bcoview.asm;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
@@ -31,8 +31,12 @@ import org.eclipse.jdt.core.IJavaElement;
 
 public class DecompiledClass {
 
-	/** key is DecompiledMethod, value is IJavaElement (Member) */
-	private final Map<DecompiledMethod, IJavaElement> methodToJavaElt;
+	/**
+	 * key is the requesting IClassFile, value maps DecompiledMethod to IJavaElement (Member). The
+	 * class files are part of the key since the decompiled class is cached and shared by all class
+	 * files with the same bytes.
+	 */
+	private final Map<IClassFile, Map<DecompiledMethod, IJavaElement>> methodToJavaElt;
 
 	private final List<Object> text;
 
@@ -48,7 +52,7 @@ public class DecompiledClass {
 		this.text = text;
 		this.classInfo = classInfo;
 		this.classNode = classNode;
-		methodToJavaElt = new HashMap<>();
+		methodToJavaElt = new ConcurrentHashMap<>();
 	}
 
 	/**
@@ -165,11 +169,12 @@ public class DecompiledClass {
 	public IJavaElement getJavaElement(int decompiledLine, IClassFile clazz) {
 		DecompiledMethod method = getMethod(decompiledLine);
 		if (method != null) {
-			IJavaElement javaElement = methodToJavaElt.get(method);
+			Map<DecompiledMethod, IJavaElement> javaElements = methodToJavaElt.computeIfAbsent(clazz, c -> new ConcurrentHashMap<>());
+			IJavaElement javaElement = javaElements.get(method);
 			if (javaElement == null) {
 				javaElement = JdtUtils.getMethod(clazz, method.getSignature());
 				if (javaElement != null) {
-					methodToJavaElt.put(method, javaElement);
+					javaElements.put(method, javaElement);
 				} else {
 					javaElement = clazz;
 				}
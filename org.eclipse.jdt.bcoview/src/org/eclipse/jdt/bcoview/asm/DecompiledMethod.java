@@ -35,7 +35,6 @@ import org.objectweb.asm.tree.analysis.SimpleVerifier;
 import org.objectweb.asm.tree.analysis.Value;
 
 import org.eclipse.jdt.bcoview.BytecodeOutlinePlugin;
-import org.eclipse.jdt.bcoview.preferences.BCOConstants;
 
 import org.eclipse.core.runtime.IStatus;
 
@@ -84,8 +83,13 @@ public class DecompiledMethod {
 
 	MethodNode meth;
 
+	/**
+	 * analyzer frames, computed on first access
+	 */
 	private Frame<?>[] frames;
 
+	private boolean analyzed;
+
 	private String error;
 
 	private int errorInsn;
@@ -95,16 +99,13 @@ public class DecompiledMethod {
 
 	private final Map<Label, Integer> lineNumbers;
 
-	private final DecompilerOptions options;
-
 	private final int access;
 
 
-	public DecompiledMethod(String owner, Map<Label, Integer> lineNumbers, MethodNode meth, DecompilerOptions options, int access) {
+	public DecompiledMethod(String owner, Map<Label, Integer> lineNumbers, MethodNode meth, int access) {
 		this.meth = meth;
 		this.owner = owner;
 		this.lineNumbers = lineNumbers;
-		this.options = options;
 		this.access = access;
 		this.text = new ArrayList<>();
 		this.localVariables = meth.localVariables;
@@ -118,10 +119,6 @@ public class DecompiledMethod {
 	void setText(List<?> inputText) {
 		formatText(inputText, new HashMap<>(), new StringBuffer(), this.text);
 		computeMaps(lineNumbers);
-
-		if (options.modes.get(BCOConstants.F_SHOW_ANALYZER) && (access & Opcodes.ACC_ABSTRACT) == 0) {
-			analyzeMethod();
-		}
 	}
 
 	void addLineNumber(Label start, Integer integer) {
@@ -174,6 +171,20 @@ public class DecompiledMethod {
 		return decompiledLines.get(Integer.valueOf(bestMatch)).intValue();
 	}
 
+	/**
+	 * Runs the analyzer for this method if not done yet. The frames are only needed by the
+	 * verifier view, so they are computed when the method is first shown there.
+	 */
+	private void ensureAnalyzed() {
+		if (analyzed) {
+			return;
+		}
+		analyzed = true;
+		if ((access & Opcodes.ACC_ABSTRACT) == 0) {
+			analyzeMethod();
+		}
+	}
+
 	private void analyzeMethod() {
 		Interpreter<BasicValue> interpreter;
 		try {
@@ -319,6 +330,7 @@ public class DecompiledMethod {
 	}
 
 	public String[][] getTextTable() {
+		ensureAnalyzed();
 		Frame<?> frame = null;
 		String error1 = ""; //$NON-NLS-1$
 		List<String[]> lines = new ArrayList<>();
@@ -370,6 +382,7 @@ public class DecompiledMethod {
 	}
 
 	public int getErrorLine() {
+		ensureAnalyzed();
 		if (error == null) {
 			return -1;
 		}
@@ -429,6 +442,7 @@ public class DecompiledMethod {
 	}
 
 	public String[][][] getFrameTablesForInsn(int insn, boolean useQualifiedNames) {
+		ensureAnalyzed();
 		if (error != null && insn == errorInsn) {
 			return null;
 		}
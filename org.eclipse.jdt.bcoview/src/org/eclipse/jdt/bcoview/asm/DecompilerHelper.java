@@ -15,7 +15,12 @@
 package org.eclipse.jdt.bcoview.asm;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.tree.ClassNode;
@@ -26,14 +31,134 @@ import org.eclipse.jdt.bcoview.preferences.BCOConstants;
 
 public class DecompilerHelper {
 
+	/** max number of decompiled classes kept in the cache */
+	private static final int MAX_CACHED_CLASSES = 16;
+
+	/**
+	 * Cache for decompiled classes, the same class is usually decompiled many times in a row:
+	 * on every caret move if only the selected element is shown, on toggling the verifier, on
+	 * comparing. Since the key contains the class bytes, changed class files are never served
+	 * from the cache and stale entries simply drop out.
+	 */
+	private static final Map<CacheKey, DecompiledClass> CLASS_CACHE = new LinkedHashMap<>(MAX_CACHED_CLASSES, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<CacheKey, DecompiledClass> eldest) {
+			return size() > MAX_CACHED_CLASSES;
+		}
+	};
+
+	/** class bytes and expand frames flag of the last parsed class node */
+	private static CacheKey lastClassNodeKey;
+
+	private static ClassNode lastClassNode;
+
+	private static final class CacheKey {
+		private final byte[] bytes;
+
+		private final int hash;
+
+		private final String fieldFilter;
+
+		private final String methodFilter;
+
+		private final BitSet modes;
+
+		CacheKey(byte[] bytes, String fieldFilter, String methodFilter, BitSet modes) {
+			this.bytes = bytes;
+			this.fieldFilter = fieldFilter;
+			this.methodFilter = methodFilter;
+			this.modes = modes;
+			this.hash = Objects.hash(Integer.valueOf(Arrays.hashCode(bytes)), fieldFilter, methodFilter, modes);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			return hash == other.hash && Objects.equals(fieldFilter, other.fieldFilter) && Objects.equals(methodFilter, other.methodFilter)
+					&& modes.equals(other.modes) && Arrays.equals(bytes, other.bytes);
+		}
+	}
+
+	/**
+	 * Returns the decompiled class for given bytes, a previously decompiled class is reused if
+	 * the bytes and the options affecting the decompiled text are the same. The analyzer mode
+	 * is not part of the key, because the analyzer frames are computed lazily by
+	 * {@link DecompiledMethod} for the methods actually shown in the verifier.
+	 *
+	 * @param bytes class file content
+	 * @param options decompiler options
+	 * @return decompiled class, never null
+	 * @throws UnsupportedClassVersionError if the class file version is not supported
+	 */
 	public static DecompiledClass getDecompiledClass(byte[] bytes, DecompilerOptions options) throws UnsupportedClassVersionError {
-		ClassReader cr = new ClassReader(bytes);
+		BitSet modes = (BitSet) options.modes.clone();
+		modes.clear(BCOConstants.F_SHOW_ANALYZER);
+		modes.clear(BCOConstants.F_LINK_VIEW_TO_EDITOR);
+		modes.clear(BCOConstants.F_SHOW_ONLY_SELECTED_ELEMENT);
+		CacheKey key = new CacheKey(bytes.clone(), options.fieldFilter, options.methodFilter, modes);
+		synchronized (CLASS_CACHE) {
+			DecompiledClass cached = CLASS_CACHE.get(key);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		DecompiledClass result = decompile(key, new DecompilerOptions(options.fieldFilter, options.methodFilter, modes));
+		synchronized (CLASS_CACHE) {
+			CLASS_CACHE.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Removes all decompiled classes from the cache.
+	 */
+	public static void clearCache() {
+		synchronized (CLASS_CACHE) {
+			CLASS_CACHE.clear();
+			lastClassNodeKey = null;
+			lastClassNode = null;
+		}
+	}
+
+	private static ClassNode getClassNode(CacheKey key) {
+		boolean expandFrames = key.modes.get(BCOConstants.F_EXPAND_STACKMAP);
+		BitSet nodeModes = new BitSet();
+		nodeModes.set(BCOConstants.F_EXPAND_STACKMAP, expandFrames);
+		CacheKey nodeKey = new CacheKey(key.bytes, null, null, nodeModes);
+		synchronized (CLASS_CACHE) {
+			if (nodeKey.equals(lastClassNodeKey)) {
+				return lastClassNode;
+			}
+		}
+		ClassReader cr = new ClassReader(key.bytes);
 		ClassNode cn = new ClassNode(DecompilerOptions.LATEST_ASM_VERSION);
 		int crFlags = 0;
-		if (options.modes.get(BCOConstants.F_EXPAND_STACKMAP)) {
+		if (expandFrames) {
 			crFlags |= ClassReader.EXPAND_FRAMES;
 		}
 		cr.accept(cn, crFlags);
+		synchronized (CLASS_CACHE) {
+			lastClassNodeKey = nodeKey;
+			lastClassNode = cn;
+		}
+		return cn;
+	}
+
+	private static DecompiledClass decompile(CacheKey key, DecompilerOptions options) throws UnsupportedClassVersionError {
+		ClassNode cn = getClassNode(key);
 		ICommentedClassVisitor printer;
 		if (options.modes.get(BCOConstants.F_SHOW_ASMIFIER_CODE)) {
 			printer = new CommentedASMifierClassVisitor(cn, options);
@@ -789,6 +789,7 @@ public class BytecodeOutlineView extends ViewPart implements IBytecodePart {
 	@Override
 	public void dispose() {
 		deActivateView();
+		DecompilerHelper.clearCache();
 		if (editorListener != null) {
 			IWorkbenchWindow workbenchWindow = getSite().getWorkbenchWindow();
 			workbenchWindow.getPartService().removePartListener(editorListener);
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -94,6 +95,86 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 		TypeNameMatch[] chooseImports(TypeNameMatch[][] openChoices, ISourceRange[] ranges);
 	}
 
+	/**
+	 * Table of the types found for simple type names, to be shared by the operations organizing
+	 * the imports of several compilation units. An operation using the table only searches for the
+	 * unresolved names that are not in the table yet, in a single search, and adds the results to
+	 * the table.
+	 * <p>
+	 * The table does not track changes of the Java model. It is meant to be used for one batch of
+	 * compilation units and can be shared by operations running in parallel.
+	 * </p>
+	 *
+	 * @since 1.20
+	 */
+	public static final class TypeNameCache {
+
+		/** The found types by simple name, per project and test code visibility. */
+		private final Map<String, Map<String, List<TypeNameMatch>>> fTables= new ConcurrentHashMap<>();
+
+		/**
+		 * Creates an empty table.
+		 */
+		public TypeNameCache() {
+		}
+
+		List<TypeNameMatch> findTypes(IJavaProject project, boolean excludeTestCode, Collection<String> simpleNames, IProgressMonitor monitor) throws JavaModelException {
+			String key= project.getHandleIdentifier() + (excludeTestCode ? "/main" : "/test"); //$NON-NLS-1$ //$NON-NLS-2$
+			Map<String, List<TypeNameMatch>> table= fTables.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+
+			List<String> missing= new ArrayList<>();
+			for (String name : simpleNames) {
+				if (!table.containsKey(name)) {
+					missing.add(name);
+				}
+			}
+			if (!missing.isEmpty()) {
+				Map<String, List<TypeNameMatch>> found= new HashMap<>();
+				for (String name : missing) {
+					found.put(name, new ArrayList<>(2));
+				}
+				for (TypeNameMatch curr : searchTypeNames(project, excludeTestCode, missing, monitor)) {
+					List<TypeNameMatch> matches= found.get(curr.getSimpleTypeName());
+					if (matches != null) {
+						matches.add(curr);
+					}
+				}
+				for (Entry<String, List<TypeNameMatch>> entry : found.entrySet()) {
+					table.putIfAbsent(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+				}
+			}
+
+			List<TypeNameMatch> result= new ArrayList<>();
+			for (String name : simpleNames) {
+				List<TypeNameMatch> matches= table.get(name);
+				if (matches != null) {
+					result.addAll(matches);
+				}
+			}
+			return result;
+		}
+
+		/**
+		 * Removes all entries.
+		 */
+		public void clear() {
+			fTables.clear();
+		}
+	}
+
+	private static List<TypeNameMatch> searchTypeNames(IJavaProject project, boolean excludeTestCode, Collection<String> simpleNames, IProgressMonitor monitor) throws JavaModelException {
+		char[][] allTypes= new char[simpleNames.size()][];
+		int i= 0;
+		for (String string : simpleNames) {
+			allTypes[i++]= string.toCharArray();
+		}
+		ArrayList<TypeNameMatch> typesFound= new ArrayList<>();
+		IJavaSearchScope scope= SearchEngine.createJavaSearchScope(excludeTestCode, new IJavaElement[] { project }, true);
+		TypeNameMatchCollector collector= new TypeNameMatchCollector(typesFound);
+		new SearchEngine().searchAllTypeNames(null, allTypes, scope, collector, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+		return typesFound;
+	}
+
 	/**
 	 * Matches unresolvable import declarations (those having associated
 	 * {@link IProblem#ImportNotFound} problems) to unresolved simple names.
@@ -229,6 +310,8 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 
 		private final UnresolvableImportMatcher fUnresolvableImportMatcher;
 
+		private final TypeNameCache fTypeNameCache;
+
 		private IPackageFragment fCurrPackage;
 
 		private ScopeAnalyzer fAnalyzer;
@@ -240,12 +323,13 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 		private SourceRange[] fSourceRanges;
 
 
-		public TypeReferenceProcessor(Set<String> oldSingleImports, Set<String> oldDemandImports, CompilationUnit root, ImportRewrite impStructure, boolean ignoreLowerCaseNames, UnresolvableImportMatcher unresolvableImportMatcher) {
+		public TypeReferenceProcessor(Set<String> oldSingleImports, Set<String> oldDemandImports, CompilationUnit root, ImportRewrite impStructure, boolean ignoreLowerCaseNames, UnresolvableImportMatcher unresolvableImportMatcher, TypeNameCache typeNameCache) {
 			fOldSingleImports= oldSingleImports;
 			fOldDemandImports= oldDemandImports;
 			fImpStructure= impStructure;
 			fDoIgnoreLowerCaseNames= ignoreLowerCaseNames;
 			fUnresolvableImportMatcher= unresolvableImportMatcher;
+			fTypeNameCache= typeNameCache;
 
 			ICompilationUnit cu= impStructure.getCompilationUnit();
 
@@ -351,17 +435,14 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 				if (nUnresolved == 0) {
 					return false;
 				}
-				char[][] allTypes= new char[nUnresolved][];
-				int i= 0;
-				for (String string : fUnresolvedTypes.keySet()) {
-					allTypes[i++]= string.toCharArray();
-				}
-				final ArrayList<TypeNameMatch> typesFound= new ArrayList<>();
 				final IJavaProject project= fCurrPackage.getJavaProject();
 				boolean excludeTestCode= !((IPackageFragmentRoot)fCurrPackage.getParent()).getResolvedClasspathEntry().isTest();
-				IJavaSearchScope scope= SearchEngine.createJavaSearchScope(excludeTestCode, new IJavaElement[] { project }, true);
-				TypeNameMatchCollector collector= new TypeNameMatchCollector(typesFound);
-				new SearchEngine().searchAllTypeNames(null, allTypes, scope, collector, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+				List<TypeNameMatch> typesFound;
+				if (fTypeNameCache != null) {
+					typesFound= fTypeNameCache.findTypes(project, excludeTestCode, fUnresolvedTypes.keySet(), monitor);
+				} else {
+					typesFound= searchTypeNames(project, excludeTestCode, fUnresolvedTypes.keySet(), monitor);
+				}
 
 				boolean is50OrHigher= JavaModelUtil.is50OrHigher(project);
 
@@ -513,6 +594,8 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 
 	private final boolean fAllowSyntaxErrors;
 
+	private TypeNameCache fTypeNameCache;
+
 	/**
 	 * Creates a new OrganizeImportsOperation operation.
 	 *
@@ -556,6 +639,17 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 		fRestoreExistingImports= restoreExistingImports;
 	}
 
+	/**
+	 * Sets the table of found types shared with the operations for other compilation units. By
+	 * default, each operation searches for all its unresolved type names.
+	 *
+	 * @param typeNameCache the shared table, or <code>null</code> to not share search results
+	 * @since 1.20
+	 */
+	public void setTypeNameCache(TypeNameCache typeNameCache) {
+		fTypeNameCache= typeNameCache;
+	}
+
 	/**
 	 * Runs the operation.
 	 * @param monitor the progress monitor
@@ -606,7 +700,8 @@ public class OrganizeImportsOperation implements IWorkspaceRunnable {
 				astRoot,
 				importsRewrite,
 				fIgnoreLowerCaseNames,
-				unresolvableImportMatcher);
+				unresolvableImportMatcher,
+				fTypeNameCache);
 
 		Iterator<SimpleName> refIterator= typeReferences.iterator();
 		while (refIterator.hasNext()) {
@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.core.manipulation;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.JavaCore;
+
+/**
+ * Bounded cache for the labels of Java elements, shared by all viewers.
+ * <p>
+ * Labels are keyed by the element, its label flags and the kind of label. Java elements are
+ * compared by their handles, so equal handles share the label. The size of the cache is bounded
+ * by the total length of the cached labels, the least recently used labels are evicted first.
+ * </p>
+ * <p>
+ * The labels of an element are removed when the compilation unit or class file containing it
+ * changes, including changes to working copies. Structural changes above compilation units,
+ * for example to the build path or to source attachments, clear the cache. Clients that render
+ * labels depending on preferences have to clear the cache when these preferences change.
+ * </p>
+ *
+ * @since 1.20
+ */
+public final class JavaElementLabelCache {
+
+	/** The maximal total length of the cached labels, including a fixed overhead per label. */
+	private static final int MAX_SIZE= 2000000;
+
+	/** The estimated overhead of an entry, in characters. */
+	private static final int ENTRY_OVERHEAD= 50;
+
+	private static final int STRUCTURAL_FLAGS= IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_SOURCEATTACHED | IJavaElementDelta.F_SOURCEDETACHED | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+			| IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED;
+
+	private static JavaElementLabelCache fgDefault;
+
+	private static final class Key {
+		private final String fKind;
+		private final IJavaElement fElement;
+		private final long fFlags;
+		private final int fHashCode;
+
+		Key(String kind, IJavaElement element, long flags) {
+			fKind= kind;
+			fElement= element;
+			fFlags= flags;
+			fHashCode= Objects.hash(kind, element, Long.valueOf(flags));
+		}
+
+		@Override
+		public int hashCode() {
+			return fHashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fFlags == other.fFlags && fKind.equals(other.fKind) && fElement.equals(other.fElement);
+		}
+	}
+
+	private static final class Entry {
+		private final Object fLabel;
+		private final IJavaElement fOpenable;
+		private final int fSize;
+
+		Entry(Object label, IJavaElement openable) {
+			fLabel= label;
+			fOpenable= openable;
+			fSize= label.toString().length() + ENTRY_OVERHEAD;
+		}
+	}
+
+	private final Map<Key, Entry> fEntries= new LinkedHashMap<>(256, 0.75f, true);
+
+	/** The keys of the cached labels, by the compilation unit or class file of their element. */
+	private final Map<IJavaElement, Set<Key>> fKeysByOpenable= new HashMap<>();
+
+	private int fSize;
+
+	/** Incremented on every invalidation, used to discard labels computed from stale content. */
+	private int fGeneration;
+
+	private long fHits;
+
+	private long fMisses;
+
+	private JavaElementLabelCache() {
+	}
+
+	/**
+	 * Returns the shared cache.
+	 *
+	 * @return the cache
+	 */
+	public static synchronized JavaElementLabelCache getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new JavaElementLabelCache();
+			JavaCore.addElementChangedListener(new IElementChangedListener() {
+				@Override
+				public void elementChanged(ElementChangedEvent event) {
+					fgDefault.processDelta(event.getDelta());
+				}
+			}, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Returns the cached label of the given element, computing and caching it if necessary.
+	 * Labels must not be modified after they have been computed.
+	 *
+	 * @param <T> the type of the label
+	 * @param kind the kind of label, distinguishes the labels of different label composers
+	 * @param element the element
+	 * @param flags the rendering flags
+	 * @param computation computes the label
+	 * @return the label
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(String kind, IJavaElement element, long flags, Supplier<T> computation) {
+		Key key= new Key(kind, element, flags);
+		int generation;
+		synchronized (this) {
+			Entry entry= fEntries.get(key);
+			if (entry != null) {
+				fHits++;
+				return (T) entry.fLabel;
+			}
+			fMisses++;
+			generation= fGeneration;
+		}
+
+		T label= computation.get();
+		IJavaElement openable= (IJavaElement) element.getOpenable();
+		if (label != null && openable != null) {
+			synchronized (this) {
+				if (generation == fGeneration && !fEntries.containsKey(key)) {
+					Entry entry= new Entry(label, openable);
+					fEntries.put(key, entry);
+					fKeysByOpenable.computeIfAbsent(openable, o -> new HashSet<>()).add(key);
+					fSize+= entry.fSize;
+					evict();
+				}
+			}
+		}
+		return label;
+	}
+
+	/**
+	 * Removes all labels.
+	 */
+	public synchronized void clear() {
+		fGeneration++;
+		fEntries.clear();
+		fKeysByOpenable.clear();
+		fSize= 0;
+	}
+
+	/**
+	 * Returns the number of labels that have been found in the cache.
+	 *
+	 * @return the number of hits
+	 */
+	public synchronized long getHitCount() {
+		return fHits;
+	}
+
+	/**
+	 * Returns the number of labels that have been computed because they were not cached.
+	 *
+	 * @return the number of misses
+	 */
+	public synchronized long getMissCount() {
+		return fMisses;
+	}
+
+	/**
+	 * Returns the ratio of the requested labels that have been found in the cache.
+	 *
+	 * @return the hit rate between 0 and 1, or 0 if no label has been requested yet
+	 */
+	public synchronized double getHitRate() {
+		long requests= fHits + fMisses;
+		return requests == 0 ? 0 : (double) fHits / requests;
+	}
+
+	private void evict() {
+		Iterator<Map.Entry<Key, Entry>> iterator= fEntries.entrySet().iterator();
+		while (fSize > MAX_SIZE && iterator.hasNext()) {
+			Map.Entry<Key, Entry> eldest= iterator.next();
+			iterator.remove();
+			removeFromIndex(eldest.getKey(), eldest.getValue());
+		}
+	}
+
+	private void removeFromIndex(Key key, Entry entry) {
+		fSize-= entry.fSize;
+		Set<Key> keys= fKeysByOpenable.get(entry.fOpenable);
+		if (keys != null) {
+			keys.remove(key);
+			if (keys.isEmpty())
+				fKeysByOpenable.remove(entry.fOpenable);
+		}
+	}
+
+	private synchronized void invalidate(IJavaElement openable) {
+		fGeneration++;
+		Set<Key> keys= fKeysByOpenable.remove(openable);
+		if (keys != null) {
+			for (Key key : keys) {
+				Entry entry= fEntries.remove(key);
+				if (entry != null)
+					fSize-= entry.fSize;
+			}
+		}
+	}
+
+	private void processDelta(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				invalidate(element);
+				return;
+			case IJavaElement.JAVA_MODEL:
+				break;
+			default:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & STRUCTURAL_FLAGS) != 0) {
+					clear();
+					return;
+				}
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			processDelta(child);
+		}
+	}
+}
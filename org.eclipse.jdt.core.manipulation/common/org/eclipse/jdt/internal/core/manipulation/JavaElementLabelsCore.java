@@ -382,6 +382,11 @@ public final class JavaElementLabelsCore {
 	 */
 	public final static String DEFAULT_PACKAGE= JavaElementLabelsMessages.JavaElementLabels_default_package;
 
+	/**
+	 * The kind of the labels in the {@link JavaElementLabelCache}.
+	 */
+	private static final String LABEL_KIND= "core"; //$NON-NLS-1$
+
 	private JavaElementLabelsCore() {
 	}
 
@@ -416,9 +421,11 @@ public final class JavaElementLabelsCore {
 	 * @return the label of the Java element
 	 */
 	public static String getElementLabel(IJavaElement element, long flags) {
-		StringBuffer result= new StringBuffer();
-		getElementLabel(element, flags, result);
-		return org.eclipse.jdt.internal.core.manipulation.util.Strings.markJavaElementLabelLTR(result.toString());
+		return JavaElementLabelCache.getDefault().get(LABEL_KIND, element, flags, () -> {
+			StringBuffer result= new StringBuffer();
+			getElementLabel(element, flags, result);
+			return org.eclipse.jdt.internal.core.manipulation.util.Strings.markJavaElementLabelLTR(result.toString());
+		});
 	}
 
 	/**
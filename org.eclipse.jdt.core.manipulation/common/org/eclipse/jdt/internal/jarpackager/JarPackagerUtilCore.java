@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2020 IBM Corporation and others.
+ * Copyright (c) 2020, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,14 +14,22 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.jarpackager;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 import java.util.zip.CRC32;
@@ -47,9 +55,67 @@ import org.eclipse.jdt.internal.ui.IJavaStatusConstants;
 
 public class JarPackagerUtilCore {
 
+	/**
+	 * Entries up to this size are read ahead by the worker threads, larger entries are streamed
+	 * by the writing thread.
+	 */
+	private static final long MAX_PREFETCH_SIZE= 1024 * 1024;
+
+	private static final int PREFETCH_THREADS= Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
+	/**
+	 * Entries are only read ahead if there is a processor left for it besides the writing thread.
+	 * On a single processor the hand-off costs more than it saves.
+	 */
+	private static final boolean PREFETCH= Runtime.getRuntime().availableProcessors() > 1;
+
+	/**
+	 * The maximal number of entries read ahead, bounds the memory used for prefetched content.
+	 */
+	private static final int PREFETCH_WINDOW= PREFETCH ? 16 * PREFETCH_THREADS : 1;
+
+	private static ExecutorService fgPrefetchExecutor;
+
+	/**
+	 * An archive entry whose path has been validated and whose content has been read ahead,
+	 * unless it is too large.
+	 */
+	private static final class PrefetchedEntry {
+		final ZipEntry fEntry;
+		final boolean fValidPath;
+		final byte[] fContent;
+		final IOException fError;
+
+		PrefetchedEntry(ZipEntry entry, boolean validPath, byte[] content, IOException error) {
+			fEntry= entry;
+			fValidPath= validPath;
+			fContent= content;
+			fError= error;
+		}
+
+		InputStream open(ZipFile zipFile) throws IOException {
+			if (fError != null)
+				throw fError;
+			if (fContent != null)
+				return new ByteArrayInputStream(fContent);
+			return zipFile.getInputStream(fEntry);
+		}
+	}
+
 	private JarPackagerUtilCore() {
 
 	}
+
+	private static synchronized ExecutorService getPrefetchExecutor() {
+		if (fgPrefetchExecutor == null) {
+			fgPrefetchExecutor= Executors.newFixedThreadPool(PREFETCH_THREADS, r -> {
+				Thread thread= new Thread(r, "JAR Export Prefetch"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return fgPrefetchExecutor;
+	}
 	/**
 	 * Write the given entry describing the given content to the current archive. Extracted from
 	 * org.eclipse.jdt.ui.jarpackager.JarWriter3
@@ -88,6 +154,15 @@ public class JarPackagerUtilCore {
 	/**
 	 * Write the contents of the given zipFile to the JarOutputStream. Extracted from
 	 * org.eclipse.jdt.internal.ui.jarpackagerfat.UnpackFatJarBuilder
+	 * <p>
+	 * If more than one processor is available, validating the entry paths and inflating the
+	 * entries is done ahead on worker threads, while the entries are written sequentially and in
+	 * archive order by the calling thread. Deflating a compressed entry stays on the calling
+	 * thread, since a <code>JarOutputStream</code> cannot take data that has already been
+	 * deflated, and several archives are still processed one after the other by the caller. As
+	 * deflating dominates the cost of a compressed export, the gain is bounded by the share of
+	 * inflating, about a fifth of the time for typical class files.
+	 * </p>
 	 *
 	 * @param zipFile the zipFile to extract
 	 * @param areDirectoryEntriesIncluded the directory entries are included
@@ -105,17 +180,26 @@ public class JarPackagerUtilCore {
 			Set<String> directories, MultiStatus status, IProgressMonitor progressMonitor) {
 		Enumeration<? extends ZipEntry> jarEntriesEnum= zipFile.entries();
 		File zipFile1= new File(zipFile.getName());
+		Deque<Future<PrefetchedEntry>> pending= new ArrayDeque<>(PREFETCH_WINDOW);
 		try {
 			String zipFileCanonical= zipFile1.getCanonicalPath();
+			ExecutorService executor= PREFETCH ? getPrefetchExecutor() : null;
 
-			while (jarEntriesEnum.hasMoreElements()) {
-				ZipEntry zipEntry= jarEntriesEnum.nextElement();
+			while (jarEntriesEnum.hasMoreElements() || !pending.isEmpty()) {
+				while (pending.size() < PREFETCH_WINDOW && jarEntriesEnum.hasMoreElements()) {
+					ZipEntry zipEntry= jarEntriesEnum.nextElement();
+					if (executor != null) {
+						pending.add(executor.submit(() -> prefetch(zipFile, zipFile1, zipFileCanonical, zipEntry)));
+					} else {
+						pending.add(CompletableFuture.completedFuture(prefetch(zipFile, zipFile1, zipFileCanonical, zipEntry)));
+					}
+				}
+				PrefetchedEntry prefetched= getPrefetched(pending.removeFirst());
+				ZipEntry zipEntry= prefetched.fEntry;
 				if (!zipEntry.isDirectory()) {
 					String entryName= zipEntry.getName();
-					File zipEntryFile= new File(zipFile1, entryName);
-					String zipEntryCanonical= zipEntryFile.getCanonicalPath();
-					if (zipEntryCanonical.startsWith(zipFileCanonical + File.separator)) {
-						addFile(entryName, zipEntry, zipFile, areDirectoryEntriesIncluded, isCompressed, jarOutputStream, directories, status);
+					if (prefetched.fValidPath) {
+						addFile(entryName, prefetched, zipFile, areDirectoryEntriesIncluded, isCompressed, jarOutputStream, directories, status);
 					} else {
 						addWarning("Invalid path" + entryName, null, status); //$NON-NLS-1$
 					}
@@ -128,6 +212,43 @@ public class JarPackagerUtilCore {
 		} catch (IOException e) {
 			addWarning("ZipFile error" + zipFile.getName(), null, status); //$NON-NLS-1$
 			e.printStackTrace();
+		} finally {
+			for (Future<PrefetchedEntry> future : pending) {
+				future.cancel(false);
+			}
+		}
+	}
+
+	private static PrefetchedEntry prefetch(ZipFile zipFile, File zipFile1, String zipFileCanonical, ZipEntry zipEntry) throws IOException {
+		if (zipEntry.isDirectory())
+			return new PrefetchedEntry(zipEntry, false, null, null);
+		File zipEntryFile= new File(zipFile1, zipEntry.getName());
+		String zipEntryCanonical= zipEntryFile.getCanonicalPath();
+		if (!zipEntryCanonical.startsWith(zipFileCanonical + File.separator))
+			return new PrefetchedEntry(zipEntry, false, null, null);
+		long size= zipEntry.getSize();
+		if (size < 0 || size > MAX_PREFETCH_SIZE)
+			return new PrefetchedEntry(zipEntry, true, null, null);
+		try (InputStream in= zipFile.getInputStream(zipEntry)) {
+			return new PrefetchedEntry(zipEntry, true, in.readAllBytes(), null);
+		} catch (IOException e) {
+			return new PrefetchedEntry(zipEntry, true, null, e);
+		}
+	}
+
+	private static PrefetchedEntry getPrefetched(Future<PrefetchedEntry> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause= e.getCause();
+			if (cause instanceof IOException)
+				throw (IOException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			throw new IOException(cause);
 		}
 	}
 
@@ -147,7 +268,7 @@ public class JarPackagerUtilCore {
 	 * @since 1.14
 	 *
 	 */
-	private static void addFile(String destinationPath, ZipEntry jarEntry, ZipFile zipFile,
+	private static void addFile(String destinationPath, PrefetchedEntry jarEntry, ZipFile zipFile,
 			boolean areDirectoryEntriesIncluded, boolean isCompressed,
 			JarOutputStream jarOutputStream, Set<String> directories, MultiStatus status) {
 		// Handle META-INF/MANIFEST.MF
@@ -156,7 +277,7 @@ public class JarPackagerUtilCore {
 			return;
 		}
 		try {
-			addZipEntry(jarEntry, zipFile, destinationPath, areDirectoryEntriesIncluded, isCompressed, jarOutputStream, directories);
+			addZipEntry(jarEntry.fEntry, jarEntry.open(zipFile), destinationPath, areDirectoryEntriesIncluded, isCompressed, jarOutputStream, directories);
 		} catch (IOException ex) {
 			if (ex instanceof ZipException && ex.getMessage() != null && ex.getMessage().startsWith("duplicate entry:")) {//$NON-NLS-1$
 				// ignore duplicates in META-INF (*.SF, *.RSA)
@@ -189,8 +310,19 @@ public class JarPackagerUtilCore {
 	public static void addZipEntry(ZipEntry zipEntry, ZipFile zipFile, String path,
 			boolean areDirectoryEntriesIncluded, boolean isCompressed,
 			JarOutputStream jarOutputStream, Set<String> directories) throws IOException {
+		addZipEntry(zipEntry, zipFile.getInputStream(zipEntry), path, areDirectoryEntriesIncluded, isCompressed, jarOutputStream, directories);
+	}
+
+	private static void addZipEntry(ZipEntry zipEntry, InputStream content, String path,
+			boolean areDirectoryEntriesIncluded, boolean isCompressed,
+			JarOutputStream jarOutputStream, Set<String> directories) throws IOException {
 		if (areDirectoryEntriesIncluded) {
-			addDirectories(path, jarOutputStream, directories);
+			try {
+				addDirectories(path, jarOutputStream, directories);
+			} catch (IOException e) {
+				content.close();
+				throw e;
+			}
 		}
 		JarEntry newEntry= new JarEntry(path.replace(File.separatorChar, '/'));
 
@@ -208,7 +340,7 @@ public class JarPackagerUtilCore {
 		// Set modification time
 		newEntry.setTime(lastModified);
 
-		addEntry(newEntry, zipFile.getInputStream(zipEntry), jarOutputStream);
+		addEntry(newEntry, content, jarOutputStream);
 	}
 
 	/**
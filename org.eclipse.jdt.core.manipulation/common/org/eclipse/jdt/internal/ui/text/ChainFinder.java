@@ -11,11 +11,13 @@
  */
 package org.eclipse.jdt.internal.ui.text;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IType;
@@ -24,6 +26,41 @@ import org.eclipse.jdt.internal.ui.text.ChainElement.ElementType;
 
 public class ChainFinder {
 
+	/**
+	 * The members of the visited types and the edges created for them. A memo can be shared by
+	 * consecutive and concurrent searches with the same receiver type and excluded types, e.g.
+	 * while the user keeps typing in one content assist session.
+	 */
+	public static final class Memo {
+
+		private final IType receiverType;
+
+		private final List<String> excludedTypes;
+
+		private final Map<IJavaElement, ChainElement> edgeCache= new ConcurrentHashMap<>();
+
+		private final Map<String, List<IJavaElement>> fieldsAndMethodsCache= new ConcurrentHashMap<>();
+
+		private final Map<String, Boolean> assignableCache= new ConcurrentHashMap<>();
+
+		public Memo(final IType receiverType, final List<String> excludedTypes) {
+			this.receiverType= receiverType;
+			this.excludedTypes= excludedTypes;
+		}
+
+		/**
+		 * Tells whether this memo can be used by a search with the given receiver type and
+		 * excluded types.
+		 *
+		 * @param type the receiver type of the search
+		 * @param excluded the excluded types of the search
+		 * @return <code>true</code> if this memo can be used
+		 */
+		public boolean isApplicable(final IType type, final List<String> excluded) {
+			return Objects.equals(receiverType, type) && excludedTypes.equals(excluded);
+		}
+	}
+
 	private final List<ChainType> expectedTypes;
 
 	private final List<String> excludedTypes;
@@ -32,19 +69,22 @@ public class ChainFinder {
 
 	private final List<Chain> chains= new LinkedList<>();
 
-	private final Map<IJavaElement, ChainElement> edgeCache= new HashMap<>();
-
-	private final Map<String, List<IJavaElement>> fieldsAndMethodsCache= new HashMap<>();
-
-	private final Map<String, Boolean> assignableCache= new HashMap<>();
+	private final Memo memo;
 
 	private volatile boolean isCanceled;
 
+	private volatile boolean isTruncated;
+
 	public ChainFinder(final List<ChainType> expectedTypes, final List<String> excludedTypes,
 			final IType receiverType) {
+		this(expectedTypes, new Memo(receiverType, excludedTypes));
+	}
+
+	public ChainFinder(final List<ChainType> expectedTypes, final Memo memo) {
 		this.expectedTypes= expectedTypes;
-		this.excludedTypes= excludedTypes;
-		this.receiverType= receiverType;
+		this.excludedTypes= memo.excludedTypes;
+		this.receiverType= memo.receiverType;
+		this.memo= memo;
 	}
 
 	public void startChainSearch(final List<ChainElement> entrypoints, final int maxChains, final int minDepth,
@@ -66,6 +106,17 @@ public class ChainFinder {
 		isCanceled= true;
 	}
 
+	/**
+	 * Tells whether the search has found all chains within the search limits. This is not the
+	 * case if it has been canceled, has found the maximum number of chains or has dropped
+	 * incomplete chains because too many were queued.
+	 *
+	 * @return <code>true</code> if the search has completed without hitting a limit
+	 */
+	public boolean isComplete() {
+		return !isCanceled && !isTruncated;
+	}
+
 	private void searchChainsForExpectedType(final ChainType expectedType, final int expectedDimensions,
 			final List<ChainElement> entrypoints, final int maxChains, final int minDepth, final int maxDepth) {
 		final LinkedList<LinkedList<ChainElement>> incompleteChains= prepareQueue(entrypoints);
@@ -75,27 +126,38 @@ public class ChainFinder {
 			final ChainElement edge= chain.getLast();
 			if (isValidEndOfChain(edge, expectedType, expectedDimensions)) {
 				if (chain.size() >= minDepth) {
-					chains.add(new Chain(chain, expectedDimensions));
-					if (chains.size() == maxChains) {
+					int size;
+					synchronized (chains) {
+						chains.add(new Chain(chain, expectedDimensions));
+						size= chains.size();
+					}
+					if (size == maxChains) {
+						isTruncated= true;
 						break;
 					}
 				}
 				continue;
 			}
-			if (chain.size() < maxDepth && incompleteChains.size() <= 50000) {
-				searchDeeper(chain, incompleteChains, edge.getReturnType());
+			if (chain.size() < maxDepth) {
+				if (incompleteChains.size() <= 50000) {
+					searchDeeper(chain, incompleteChains, edge.getReturnType());
+				} else {
+					isTruncated= true;
+				}
 			}
 		}
 	}
 
 	/**
 	 * Returns the potentially incomplete list of call chains that could be found before a time out
-	 * happened. The contents of this list are mutable and may change as the search makes progress.
+	 * happened. The returned list is a snapshot, the search may still add chains after a time out.
 	 *
 	 * @return The list of call chains
 	 */
 	public List<Chain> getChains() {
-		return chains;
+		synchronized (chains) {
+			return new ArrayList<>(chains);
+		}
 	}
 
 	private static LinkedList<LinkedList<ChainElement>> prepareQueue(final List<ChainElement> entrypoints) {
@@ -134,10 +196,11 @@ public class ChainFinder {
 		if (expectedType.getPrimitiveType() != null) {
 			return expectedType.getPrimitiveType().equals(edge.getReturnType().getPrimitiveType());
 		}
-		Boolean isAssignable= assignableCache.get(edge.toString() + expectedType.toString());
+		String key= edge.toString() + expectedType.toString() + expectedDimension;
+		Boolean isAssignable= memo.assignableCache.get(key);
 		if (isAssignable == null) {
 			isAssignable= ChainElementAnalyzer.isAssignable(edge, expectedType.getType(), expectedDimension);
-			assignableCache.put(edge.toString() + expectedType.toString(), isAssignable);
+			memo.assignableCache.put(key, isAssignable);
 		}
 		return isAssignable;
 	}
@@ -158,7 +221,7 @@ public class ChainFinder {
 	}
 
 	private List<IJavaElement> findAllFieldsAndMethods(final ChainType chainElementType, boolean staticOnly) {
-		List<IJavaElement> cached= fieldsAndMethodsCache.get(chainElementType.toString() + Boolean.toString(staticOnly));
+		List<IJavaElement> cached= memo.fieldsAndMethodsCache.get(chainElementType.toString() + Boolean.toString(staticOnly));
 		if (cached == null) {
 			cached= new LinkedList<>();
 			Collection<IJavaElement> candidates= staticOnly
@@ -169,16 +232,16 @@ public class ChainFinder {
 					cached.add(e);
 				}
 			}
-			fieldsAndMethodsCache.put(chainElementType.toString() + Boolean.toString(staticOnly), cached);
+			memo.fieldsAndMethodsCache.put(chainElementType.toString() + Boolean.toString(staticOnly), cached);
 		}
 		return cached;
 	}
 
 	private ChainElement createEdge(final IJavaElement member) {
-		ChainElement cached= edgeCache.get(member);
+		ChainElement cached= memo.edgeCache.get(member);
 		if (cached == null) {
 			cached= new ChainElement(member, false);
-			edgeCache.put(member, cached);
+			memo.edgeCache.put(member, cached);
 		}
 		return cached;
 	}
@@ -0,0 +1,278 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.dom;
+
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.WorkingCopyOwner;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+import org.eclipse.jdt.internal.corext.refactoring.util.RefactoringASTParser;
+
+/**
+ * A bounded cache for ASTs of compilation units and class files that are not managed by the
+ * {@link org.eclipse.jdt.core.manipulation.CoreASTProvider}, i.e. that are not open in the active
+ * editor. Consumers like refactorings, clean ups or hovers that request the AST of the same
+ * unit shortly after each other share one AST instead of parsing and resolving it again.
+ * <p>
+ * Entries are keyed by the element, its current content and the parser settings. The ASTs are
+ * only softly referenced and the whole cache is flushed on Java element changes that can affect
+ * bindings, e.g. structural changes in any compilation unit.
+ * </p>
+ * <p>
+ * Clients must treat the returned ASTs as read-only, as for the shared AST of the
+ * <code>CoreASTProvider</code>.
+ * </p>
+ */
+public final class ASTCache {
+
+	public static final String DEBUG_PREFIX= "ASTCache > "; //$NON-NLS-1$
+
+	/**
+	 * The maximal number of ASTs held in the cache.
+	 */
+	private static final int MAX_ENTRIES= 8;
+
+	private static ASTCache fgDefault;
+
+	private static final class Key {
+
+		private final String fHandleIdentifier;
+		private final WorkingCopyOwner fOwner;
+		private final int fLevel;
+		private final boolean fResolveBindings;
+		private final boolean fStatementsRecovery;
+		private final boolean fBindingsRecovery;
+
+		Key(ITypeRoot typeRoot, int level, boolean resolveBindings, boolean statementsRecovery, boolean bindingsRecovery) {
+			fHandleIdentifier= typeRoot.getHandleIdentifier();
+			fOwner= typeRoot instanceof ICompilationUnit ? ((ICompilationUnit) typeRoot).getOwner() : null;
+			fLevel= level;
+			fResolveBindings= resolveBindings;
+			fStatementsRecovery= statementsRecovery;
+			fBindingsRecovery= bindingsRecovery;
+		}
+
+		@Override
+		public int hashCode() {
+			return fHandleIdentifier.hashCode() * 31 + fLevel;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fHandleIdentifier.equals(other.fHandleIdentifier)
+					&& fOwner == other.fOwner
+					&& fLevel == other.fLevel
+					&& fResolveBindings == other.fResolveBindings
+					&& fStatementsRecovery == other.fStatementsRecovery
+					&& fBindingsRecovery == other.fBindingsRecovery;
+		}
+	}
+
+	private static final class Entry {
+
+		private final String fSource;
+		private final SoftReference<CompilationUnit> fAST;
+
+		Entry(String source, CompilationUnit ast) {
+			fSource= source;
+			fAST= new SoftReference<>(ast);
+		}
+	}
+
+	private final LinkedHashMap<Key, Entry> fEntries;
+	private final IElementChangedListener fListener;
+
+	private long fHits;
+	private long fMisses;
+	private long fEvictions;
+
+	/**
+	 * Returns the shared instance, creating it if necessary.
+	 *
+	 * @return the shared AST cache
+	 */
+	public static synchronized ASTCache getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new ASTCache();
+			JavaCore.addElementChangedListener(fgDefault.fListener, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgDefault;
+	}
+
+	private ASTCache() {
+		fEntries= new LinkedHashMap<>(MAX_ENTRIES * 2, 0.75f, true) {
+			private static final long serialVersionUID= 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+				if (size() > MAX_ENTRIES) {
+					fEvictions++;
+					return true;
+				}
+				return false;
+			}
+		};
+		fListener= event -> {
+			if (!isBodyOnlyChange(event.getDelta())) {
+				clear();
+			}
+		};
+	}
+
+	/**
+	 * Returns the AST for the given type root. A cached AST is returned if one has been created
+	 * with the same settings for the current content of the type root, otherwise a new AST is
+	 * created with a {@link RefactoringASTParser} and put into the cache.
+	 *
+	 * @param typeRoot the compilation unit or class file
+	 * @param level the AST level
+	 * @param resolveBindings whether bindings are to be resolved
+	 * @param statementsRecovery whether statements recovery should be enabled
+	 * @param bindingsRecovery whether bindings recovery should be enabled
+	 * @param pm an {@link IProgressMonitor}, or <code>null</code>
+	 * @return the AST, or <code>null</code> if no AST could be created
+	 */
+	public CompilationUnit getAST(ITypeRoot typeRoot, int level, boolean resolveBindings, boolean statementsRecovery, boolean bindingsRecovery, IProgressMonitor pm) {
+		String source;
+		try {
+			source= typeRoot.getSource();
+		} catch (JavaModelException e) {
+			source= null;
+		}
+		if (source == null) {
+			return new RefactoringASTParser(level).parse(typeRoot, null, resolveBindings, statementsRecovery, bindingsRecovery, pm);
+		}
+
+		Key key= new Key(typeRoot, level, resolveBindings, statementsRecovery, bindingsRecovery);
+		synchronized (this) {
+			Entry entry= fEntries.get(key);
+			if (entry != null) {
+				CompilationUnit ast= entry.fAST.get();
+				if (ast != null && entry.fSource.equals(source)) {
+					fHits++;
+					if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+						System.out.println(DEBUG_PREFIX + "returning cached AST for: " + typeRoot.getElementName()); //$NON-NLS-1$
+					return ast;
+				}
+				fEntries.remove(key);
+				if (ast == null) {
+					fEvictions++;
+				}
+			}
+			fMisses++;
+		}
+
+		CompilationUnit ast= new RefactoringASTParser(level).parse(typeRoot, null, resolveBindings, statementsRecovery, bindingsRecovery, pm);
+		if (ast != null && (pm == null || !pm.isCanceled())) {
+			synchronized (this) {
+				fEntries.put(key, new Entry(source, ast));
+			}
+		}
+		return ast;
+	}
+
+	/**
+	 * Removes all ASTs from the cache.
+	 */
+	public synchronized void clear() {
+		if (!fEntries.isEmpty()) {
+			if (JavaManipulationPlugin.DEBUG_AST_PROVIDER)
+				System.out.println(DEBUG_PREFIX + "flushing " + fEntries.size() + " ASTs"); //$NON-NLS-1$ //$NON-NLS-2$
+			fEntries.clear();
+		}
+	}
+
+	/**
+	 * @return the number of requests that have been answered from the cache
+	 */
+	public synchronized long getHitCount() {
+		return fHits;
+	}
+
+	/**
+	 * @return the number of requests that required a new AST
+	 */
+	public synchronized long getMissCount() {
+		return fMisses;
+	}
+
+	/**
+	 * @return the number of ASTs removed because the cache was full or the AST had been reclaimed
+	 *         by the garbage collector
+	 */
+	public synchronized long getEvictionCount() {
+		return fEvictions;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "ASTCache [size=" + fEntries.size() + ", hits=" + fHits + ", misses=" + fMisses + ", evictions=" + fEvictions + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	}
+
+	/**
+	 * Tells whether the delta only describes changes inside the bodies of members. Such changes
+	 * do not affect the bindings of other compilation units, and cached ASTs of the changed
+	 * compilation units are invalidated by their content.
+	 * <p>
+	 * Only fine-grained deltas of compilation units, as created by reconciling, tell that no member
+	 * has been added, removed or changed. Coarse deltas of content changes on disk, e.g. from a
+	 * checkout, an external edit or a refactoring of a unit that is not open, can change
+	 * signatures and therefore flush the cache.
+	 * </p>
+	 *
+	 * @param delta the delta
+	 * @return <code>true</code> if the change cannot affect other cached ASTs
+	 */
+	private static boolean isBodyOnlyChange(IJavaElementDelta delta) {
+		if (delta.getKind() != IJavaElementDelta.CHANGED) {
+			return false;
+		}
+		int flags= delta.getFlags();
+		if (delta.getElement().getElementType() == IJavaElement.COMPILATION_UNIT) {
+			if ((flags & IJavaElementDelta.F_FINE_GRAINED) == 0) {
+				return false;
+			}
+			int allowed= IJavaElementDelta.F_CONTENT | IJavaElementDelta.F_FINE_GRAINED | IJavaElementDelta.F_AST_AFFECTED | IJavaElementDelta.F_PRIMARY_RESOURCE;
+			return (flags & ~allowed) == 0 && delta.getAffectedChildren().length == 0;
+		}
+		if ((flags & ~IJavaElementDelta.F_CHILDREN) != 0) {
+			return false;
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			if (!isBodyOnlyChange(child)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -31,6 +31,7 @@ import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.manipulation.CoreASTProvider;
 
+import org.eclipse.jdt.internal.corext.dom.ASTCache;
 import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.internal.corext.util.JavaModelUtil;
 
@@ -109,8 +110,9 @@ public class RefactoringASTParser {
 
 	/**
 	 * Tries to get the shared AST from the ASTProvider.
-	 * If the shared AST is not available, parses the type root with a
-	 * RefactoringASTParser that uses settings similar to the ASTProvider.
+	 * If the shared AST is not available, gets the AST from the {@link ASTCache}, which parses the
+	 * type root with a RefactoringASTParser that uses settings similar to the ASTProvider.
+	 * The returned AST must not be modified.
 	 *
 	 * @param typeRoot the type root
 	 * @param resolveBindings whether bindings are to be resolved if a new AST needs to be created
@@ -122,7 +124,7 @@ public class RefactoringASTParser {
 		if (cuNode != null) {
 			return cuNode;
 		} else {
-			return new RefactoringASTParser(IASTSharedValues.SHARED_AST_LEVEL).parse(typeRoot, null, resolveBindings, IASTSharedValues.SHARED_AST_STATEMENT_RECOVERY, IASTSharedValues.SHARED_BINDING_RECOVERY, pm);
+			return ASTCache.getDefault().getAST(typeRoot, IASTSharedValues.SHARED_AST_LEVEL, resolveBindings, IASTSharedValues.SHARED_AST_STATEMENT_RECOVERY, IASTSharedValues.SHARED_BINDING_RECOVERY, pm);
 		}
 	}
 
@@ -73,14 +73,7 @@ public class RefactoringScanner {
 	public void scan(ICompilationUnit cu)	throws JavaModelException {
 		char[] chars= cu.getBuffer().getCharacters();
 		fMatches= new HashSet<>();
-		IJavaProject javaProject= cu.getJavaProject();
-        if (javaProject != null) {
-            String sourceLevel = javaProject.getOption(JavaCore.COMPILER_SOURCE, true);
-            String complianceLevel = javaProject.getOption(JavaCore.COMPILER_COMPLIANCE, true);
-            fScanner = ToolFactory.createScanner(true, true, true, sourceLevel, complianceLevel);
-        } else {
-        	fScanner= ToolFactory.createScanner(true, true, false, true);
-        }
+		fScanner= createScanner(cu);
 		fScanner.setSource(chars);
 
 //		IImportContainer importContainer= cu.getImportContainer();
@@ -110,6 +103,83 @@ public class RefactoringScanner {
 		fScanner= null;
 	}
 
+	private static IScanner createScanner(ICompilationUnit cu) {
+		IJavaProject javaProject= cu.getJavaProject();
+		if (javaProject != null) {
+			String sourceLevel= javaProject.getOption(JavaCore.COMPILER_SOURCE, true);
+			String complianceLevel= javaProject.getOption(JavaCore.COMPILER_COMPLIANCE, true);
+			return ToolFactory.createScanner(true, true, true, sourceLevel, complianceLevel);
+		}
+		return ToolFactory.createScanner(true, true, false, true);
+	}
+
+	/**
+	 * Returns the words occurring in the comments and string literals of the given compilation
+	 * unit. A word is a maximal sequence of letters, digits and underscores, i.e. a candidate for a
+	 * whole word match of {@link #scan(ICompilationUnit)}.
+	 *
+	 * @param cu the compilation unit
+	 * @return the set of words
+	 * @throws JavaModelException if the contents of the compilation unit cannot be accessed
+	 */
+	public static Set<String> getCommentAndStringWords(ICompilationUnit cu) throws JavaModelException {
+		Set<String> words= new HashSet<>();
+		IScanner scanner= createScanner(cu);
+		scanner.setSource(cu.getBuffer().getCharacters());
+		try {
+			int token= scanner.getNextToken();
+			while (token != ITerminalSymbols.TokenNameEOF) {
+				switch (token) {
+					case ITerminalSymbols.TokenNameStringLiteral :
+					case ITerminalSymbols.TokenNameCOMMENT_JAVADOC :
+					case ITerminalSymbols.TokenNameCOMMENT_LINE :
+					case ITerminalSymbols.TokenNameCOMMENT_BLOCK :
+						addWords(scanner.getRawTokenSource(), words);
+				}
+				token= scanner.getNextToken();
+			}
+		} catch (InvalidInputException e) {
+			//ignore
+		}
+		return words;
+	}
+
+	private static void addWords(char[] source, Set<String> words) {
+		int start= -1;
+		for (int i= 0; i < source.length; i++) {
+			if (isWordPart(source[i])) {
+				if (start == -1)
+					start= i;
+			} else if (start != -1) {
+				words.add(new String(source, start, i - start));
+				start= -1;
+			}
+		}
+		if (start != -1)
+			words.add(new String(source, start, source.length - start));
+	}
+
+	/**
+	 * Tells whether the given name can be found by looking it up in the words returned by
+	 * {@link #getCommentAndStringWords(ICompilationUnit)}.
+	 *
+	 * @param name the name
+	 * @return <code>true</code> if the name only consists of word characters
+	 */
+	public static boolean isWord(String name) {
+		if (name.isEmpty())
+			return false;
+		for (int i= 0; i < name.length(); i++) {
+			if (!isWordPart(name.charAt(i)))
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean isWordPart(char ch) {
+		return Character.isLetterOrDigit(ch) || ch == '_';
+	}
+
 	private void doScan() {
 		try{
 			int token = fScanner.getNextToken();
@@ -15,6 +15,7 @@ package org.eclipse.jdt.internal.corext.refactoring.rename;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -22,6 +23,7 @@ import java.util.Set;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubProgressMonitor;
@@ -105,6 +107,14 @@ public abstract class RenameMethodProcessor extends JavaRenameProcessor implemen
 	private static final String ATTRIBUTE_DELEGATE= "delegate"; //$NON-NLS-1$
 	private static final String ATTRIBUTE_DEPRECATE= "deprecate"; //$NON-NLS-1$
 
+	/**
+	 * The default maximal number of changed compilation units whose working copies are held in
+	 * memory at once while searching for new occurrences.
+	 */
+	public static final int WORKING_COPY_BATCH_SIZE= 50;
+
+	private int fWorkingCopyBatchSize= WORKING_COPY_BATCH_SIZE;
+
 	private SearchResultGroup[] fOccurrences;
 	private boolean fUpdateReferences;
 	private IMethod fMethod;
@@ -566,7 +576,6 @@ public abstract class RenameMethodProcessor extends JavaRenameProcessor implemen
 				wcNewMethods[i]= getMethodInWorkingCopy(method, getNewElementName(), typeWc);
 			}
 
-//			SearchResultGroup[] newOccurrences= findNewOccurrences(newMethods, newDeclarationWCs, new SubProgressMonitor(pm, 3));
 			SearchResultGroup[] newOccurrences= batchFindNewOccurrences(wcNewMethods, wcOldMethods, newDeclarationWCs, new SubProgressMonitor(pm, 3), result);
 
 			result.merge(RenameAnalyzeUtil.analyzeRenameChanges2(fChangeManager, fOccurrences, newOccurrences, getNewElementName()));
@@ -581,42 +590,16 @@ public abstract class RenameMethodProcessor extends JavaRenameProcessor implemen
 		}
 	}
 
-	//Lower memory footprint than batchFindNewOccurrences. Not used because it is too slow.
-	//Final solution is maybe to do searches in chunks of ~ 50 CUs.
-//	private SearchResultGroup[] findNewOccurrences(IMethod[] newMethods, ICompilationUnit[] newDeclarationWCs, IProgressMonitor pm) throws CoreException {
-//		pm.beginTask("", fOccurrences.length * 2); //$NON-NLS-1$
-//
-//		SearchPattern refsPattern= RefactoringSearchEngine.createOrPattern(newMethods, IJavaSearchConstants.REFERENCES);
-//		SearchParticipant[] searchParticipants= SearchUtils.getDefaultSearchParticipants();
-//		IJavaSearchScope scope= RefactoringScopeFactory.create(newMethods);
-//		MethodOccurenceCollector requestor= new MethodOccurenceCollector(getNewElementName());
-//		SearchEngine searchEngine= new SearchEngine(fWorkingCopyOwner);
-//
-//		//TODO: should process only references
-//		for (int j= 0; j < fOccurrences.length; j++) { //should be getReferences()
-//			//cut memory peak by holding only one reference CU at a time in memory
-//			ICompilationUnit originalCu= fOccurrences[j].getCompilationUnit();
-//			ICompilationUnit newWc= null;
-//			try {
-//				ICompilationUnit wc= RenameAnalyzeUtil.findWorkingCopyForCu(newDeclarationWCs, originalCu);
-//				if (wc == null) {
-//					newWc= RenameAnalyzeUtil.createNewWorkingCopy(originalCu, fChangeManager, fWorkingCopyOwner,
-//							new SubProgressMonitor(pm, 1));
-//				}
-//				searchEngine.search(refsPattern, searchParticipants, scope,	requestor, new SubProgressMonitor(pm, 1));
-//			} finally {
-//				if (newWc != null)
-//					newWc.discardWorkingCopy();
-//			}
-//		}
-//		SearchResultGroup[] newResults= RefactoringSearchEngine.groupByResource(requestor.getResults());
-//		pm.done();
-//		return newResults;
-//	}
-
+	/*
+	 * Searches references to the renamed methods in the changed sources. Working copies of the
+	 * changed compilation units are created and discarded in batches of at most
+	 * fWorkingCopyBatchSize units, so that huge refactorings do not hold the buffers and element
+	 * infos of all affected compilation units at once. Each batch is searched in a scope restricted
+	 * to its compilation units, the remaining compilation units are searched in a final pass whose
+	 * scope excludes the batched ones. The working copies of the declaring compilation units stay
+	 * alive during all passes.
+	 */
 	private SearchResultGroup[] batchFindNewOccurrences(IMethod[] wcNewMethods, final IMethod[] wcOldMethods, ICompilationUnit[] newDeclarationWCs, IProgressMonitor pm, RefactoringStatus status) throws CoreException {
-		pm.beginTask("", 2); //$NON-NLS-1$
-
 		SearchPattern refsPattern= RefactoringSearchEngine.createOrPattern(wcNewMethods, IJavaSearchConstants.REFERENCES);
 		SearchParticipant[] searchParticipants= SearchUtils.getDefaultSearchParticipants();
 		IJavaSearchScope scope= RefactoringScopeFactory.createProjectsScope(wcNewMethods, true);
@@ -653,24 +636,68 @@ public abstract class RenameMethodProcessor extends JavaRenameProcessor implemen
 			if (! declaringCUs.contains(cu))
 				needWCs.add(cu);
 		}
-		ICompilationUnit[] otherWCs= null;
-		try {
-			otherWCs= RenameAnalyzeUtil.createNewWorkingCopies(
-					needWCs.toArray(new ICompilationUnit[needWCs.size()]),
-					fChangeManager, fWorkingCopyOwner, new SubProgressMonitor(pm, 1));
-			searchEngine.search(refsPattern, searchParticipants, scope,	requestor, new SubProgressMonitor(pm, 1));
-		} finally {
-			pm.done();
-			if (otherWCs != null) {
-				for (ICompilationUnit otherWC : otherWCs) {
-					otherWC.discardWorkingCopy();
+
+		int batchSize= fWorkingCopyBatchSize;
+		if (needWCs.size() <= batchSize) {
+			pm.beginTask("", 2); //$NON-NLS-1$
+			ICompilationUnit[] otherWCs= null;
+			try {
+				otherWCs= RenameAnalyzeUtil.createNewWorkingCopies(
+						needWCs.toArray(new ICompilationUnit[needWCs.size()]),
+						fChangeManager, fWorkingCopyOwner, new SubProgressMonitor(pm, 1));
+				searchEngine.search(refsPattern, searchParticipants, scope,	requestor, new SubProgressMonitor(pm, 1));
+			} finally {
+				pm.done();
+				discardWorkingCopies(otherWCs);
+			}
+		} else {
+			int batches= (needWCs.size() + batchSize - 1) / batchSize;
+			pm.beginTask("", 2 * batches + 1); //$NON-NLS-1$
+			try {
+				for (int start= 0; start < needWCs.size(); start+= batchSize) {
+					if (pm.isCanceled())
+						throw new OperationCanceledException();
+					List<ICompilationUnit> batch= needWCs.subList(start, Math.min(start + batchSize, needWCs.size()));
+					ICompilationUnit[] batchWCs= null;
+					try {
+						batchWCs= RenameAnalyzeUtil.createNewWorkingCopies(
+								batch.toArray(new ICompilationUnit[batch.size()]),
+								fChangeManager, fWorkingCopyOwner, new SubProgressMonitor(pm, 1));
+						IJavaSearchScope batchScope= SearchEngine.createJavaSearchScope(batchWCs, IJavaSearchScope.SOURCES);
+						searchEngine.search(refsPattern, searchParticipants, batchScope, requestor, new SubProgressMonitor(pm, 1));
+					} finally {
+						discardWorkingCopies(batchWCs);
+					}
 				}
+				IJavaSearchScope remainingScope= new ExcludingSearchScope(scope, needWCs);
+				searchEngine.search(refsPattern, searchParticipants, remainingScope, requestor, new SubProgressMonitor(pm, 1));
+			} finally {
+				pm.done();
 			}
 		}
 		SearchResultGroup[] newResults= RefactoringSearchEngine.groupByCu(requestor.getResults(), status);
 		return newResults;
 	}
 
+	/**
+	 * Sets the maximal number of changed compilation units whose working copies are held in
+	 * memory at once while this processor searches for new occurrences.
+	 *
+	 * @param batchSize the batch size, {@link #WORKING_COPY_BATCH_SIZE} by default
+	 */
+	public void setWorkingCopyBatchSize(int batchSize) {
+		Assert.isLegal(batchSize > 0);
+		fWorkingCopyBatchSize= batchSize;
+	}
+
+	private static void discardWorkingCopies(ICompilationUnit[] workingCopies) throws JavaModelException {
+		if (workingCopies != null) {
+			for (ICompilationUnit workingCopy : workingCopies) {
+				workingCopy.discardWorkingCopy();
+			}
+		}
+	}
+
 	private ICompilationUnit[] getDeclarationCUs() {
 		Set<ICompilationUnit> cus= new HashSet<>();
 		for (IMethod method : fMethodsToRename) {
@@ -932,4 +959,65 @@ public abstract class RenameMethodProcessor extends JavaRenameProcessor implemen
 			TextChangeCompatibility.addTextEdit(change, editName, replaceEdit);
 
 	}
+
+	/**
+	 * Encloses the elements of another scope except for the given compilation units.
+	 */
+	private static final class ExcludingSearchScope implements IJavaSearchScope {
+
+		private final IJavaSearchScope fScope;
+		private final Set<ICompilationUnit> fExcludedUnits;
+		private final Set<String> fExcludedPaths;
+
+		ExcludingSearchScope(IJavaSearchScope scope, Collection<ICompilationUnit> excludedUnits) {
+			fScope= scope;
+			fExcludedUnits= new HashSet<>(excludedUnits);
+			fExcludedPaths= new HashSet<>(excludedUnits.size());
+			for (ICompilationUnit cu : excludedUnits) {
+				fExcludedPaths.add(cu.getPath().toString());
+			}
+		}
+
+		@Override
+		public boolean encloses(String resourcePath) {
+			return !fExcludedPaths.contains(resourcePath) && fScope.encloses(resourcePath);
+		}
+
+		@Override
+		public boolean encloses(IJavaElement element) {
+			IJavaElement cu= element.getAncestor(IJavaElement.COMPILATION_UNIT);
+			if (cu != null && fExcludedUnits.contains(((ICompilationUnit) cu).getPrimary()))
+				return false;
+			return fScope.encloses(element);
+		}
+
+		@Override
+		public IPath[] enclosingProjectsAndJars() {
+			return fScope.enclosingProjectsAndJars();
+		}
+
+		@Deprecated
+		@Override
+		public boolean includesBinaries() {
+			return fScope.includesBinaries();
+		}
+
+		@Deprecated
+		@Override
+		public boolean includesClasspaths() {
+			return fScope.includesClasspaths();
+		}
+
+		@Deprecated
+		@Override
+		public void setIncludesBinaries(boolean includesBinaries) {
+			fScope.setIncludesBinaries(includesBinaries);
+		}
+
+		@Deprecated
+		@Override
+		public void setIncludesClasspaths(boolean includesClasspaths) {
+			fScope.setIncludesClasspaths(includesClasspaths);
+		}
+	}
 }
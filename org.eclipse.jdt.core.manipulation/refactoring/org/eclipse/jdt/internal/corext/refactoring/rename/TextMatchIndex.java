@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.corext.refactoring.rename;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaManipulationPlugin;
+
+/**
+ * Index of the words in comments and string literals of compilation units, used by the
+ * {@link TextMatchUpdater} to skip compilation units that cannot contain a textual match.
+ * <p>
+ * For every compilation unit, a small bloom filter of its words is kept together with the
+ * modification stamp of the underlying file. Entries are created when a compilation unit is first
+ * queried, recreated when the stamp has changed, and removed on resource deltas that change or
+ * delete the file. Compilation units that are working copies are never indexed, since their
+ * buffer may differ from the file on disk.
+ * </p>
+ */
+final class TextMatchIndex implements IResourceChangeListener {
+
+	private static final int BITS_PER_WORD= 10;
+	private static final int MIN_BITS= 64;
+
+	private static TextMatchIndex fgDefault;
+
+	private static final class Entry {
+
+		private final long fStamp;
+		private final long[] fBits;
+
+		Entry(long stamp, Set<String> words) {
+			fStamp= stamp;
+			int bits= MIN_BITS;
+			while (bits < words.size() * BITS_PER_WORD) {
+				bits<<= 1;
+			}
+			fBits= new long[bits / Long.SIZE];
+			for (String word : words) {
+				int hash= word.hashCode();
+				int hash2= hash2(hash);
+				for (int i= 0; i < 3; i++) {
+					int bit= (hash + i * hash2) & (bits - 1);
+					fBits[bit >>> 6]|= 1L << bit;
+				}
+			}
+		}
+
+		boolean mayContain(String word) {
+			int bits= fBits.length * Long.SIZE;
+			int hash= word.hashCode();
+			int hash2= hash2(hash);
+			for (int i= 0; i < 3; i++) {
+				int bit= (hash + i * hash2) & (bits - 1);
+				if ((fBits[bit >>> 6] & (1L << bit)) == 0) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static int hash2(int hash) {
+			int h= hash * 0x9E3779B9;
+			return (h ^ (h >>> 16)) | 1;
+		}
+	}
+
+	private final Map<IPath, Entry> fEntries= new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the shared instance, creating it if necessary.
+	 *
+	 * @return the shared index
+	 */
+	static synchronized TextMatchIndex getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new TextMatchIndex();
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(fgDefault, IResourceChangeEvent.POST_CHANGE);
+		}
+		return fgDefault;
+	}
+
+	private TextMatchIndex() {
+	}
+
+	/**
+	 * Returns the compilation units that may contain the given name as a whole word in a comment
+	 * or string literal. The index entries of the given units are created or updated in parallel
+	 * where necessary.
+	 *
+	 * @param units the compilation units
+	 * @param name the name to look for
+	 * @return the candidate units, in the order of <code>units</code>
+	 */
+	List<ICompilationUnit> getCandidates(List<ICompilationUnit> units, String name) {
+		if (!RefactoringScanner.isWord(name))
+			return units;
+		return units.parallelStream().filter(cu -> mayContain(cu, name)).collect(Collectors.toList());
+	}
+
+	private boolean mayContain(ICompilationUnit cu, String name) {
+		if (cu.isWorkingCopy())
+			return true;
+		IResource resource= cu.getResource();
+		if (resource == null)
+			return true;
+		long stamp= resource.getModificationStamp();
+		if (stamp == IResource.NULL_STAMP)
+			return true;
+
+		IPath path= resource.getFullPath();
+		Entry entry= fEntries.get(path);
+		if (entry == null || entry.fStamp != stamp) {
+			try {
+				entry= new Entry(stamp, RefactoringScanner.getCommentAndStringWords(cu));
+			} catch (JavaModelException e) {
+				return true;
+			}
+			fEntries.put(path, entry);
+		}
+		return entry.mayContain(name);
+	}
+
+	/**
+	 * @return the number of indexed compilation units
+	 */
+	int size() {
+		return fEntries.size();
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null || fEntries.isEmpty())
+			return;
+		try {
+			delta.accept(child -> {
+				int kind= child.getKind();
+				if (kind == IResourceDelta.REMOVED || (child.getFlags() & IResourceDelta.OPEN) != 0) {
+					IPath path= child.getFullPath();
+					fEntries.keySet().removeIf(path::isPrefixOf);
+					return false;
+				}
+				if (child.getResource().getType() == IResource.FILE && (child.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0) {
+					fEntries.remove(child.getFullPath());
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			JavaManipulationPlugin.log(e);
+			fEntries.clear();
+		}
+	}
+}
@@ -17,7 +17,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
@@ -66,7 +69,8 @@ class TextMatchUpdater {
 	private final SearchResultGroup[] fReferences;
 	private final boolean fOnlyQualified;
 
-	private final RefactoringScanner fScanner;
+	private final String fCurrentName;
+	private final String fCurrentQualifier;
 	private final String fNewName;
 	private final int fCurrentNameLength;
 
@@ -81,7 +85,8 @@ class TextMatchUpdater {
 
 		fNewName= newName;
 		fCurrentNameLength= currentName.length();
-		fScanner= new RefactoringScanner(currentName, currentQualifier);
+		fCurrentName= currentName;
+		fCurrentQualifier= currentQualifier;
 	}
 
 	static void perform(IProgressMonitor pm, IJavaSearchScope scope, String currentName, String currentQualifier, String newName, TextChangeManager manager, SearchResultGroup[] references, boolean onlyQualified) throws JavaModelException{
@@ -96,12 +101,14 @@ class TextMatchUpdater {
 		try{
 			IProject[] projectsInScope= getProjectsInScope();
 
-			pm.beginTask("", projectsInScope.length); //$NON-NLS-1$
+			pm.beginTask("", projectsInScope.length * 2); //$NON-NLS-1$
+			List<ICompilationUnit> units= new ArrayList<>();
 			for (IProject project : projectsInScope) {
 				if (pm.isCanceled())
 					throw new OperationCanceledException();
-				addTextMatches(project, new SubProgressMonitor(pm, 1));
+				collectCompilationUnits(project, units, new SubProgressMonitor(pm, 1));
 			}
+			addTextMatches(units, new SubProgressMonitor(pm, projectsInScope.length));
 		} finally{
 			pm.done();
 		}
@@ -120,7 +127,7 @@ class TextMatchUpdater {
 		return projectsInScope.toArray(new IProject[projectsInScope.size()]);
 	}
 
-	private void addTextMatches(IResource resource, IProgressMonitor pm) throws JavaModelException{
+	private void collectCompilationUnits(IResource resource, List<ICompilationUnit> units, IProgressMonitor pm) throws JavaModelException{
 		try{
 			String task= RefactoringCoreMessages.TextMatchUpdater_searching + resource.getFullPath();
 			if (resource instanceof IFile){
@@ -132,7 +139,7 @@ class TextMatchUpdater {
 					return;
 				if (! fScope.encloses(element))
 					return;
-				addCuTextMatches((ICompilationUnit) element);
+				units.add((ICompilationUnit) element);
 
 			} else if (resource instanceof IContainer){
 				IResource[] members= ((IContainer) resource).members();
@@ -141,7 +148,7 @@ class TextMatchUpdater {
 				for (IResource member : members) {
 					if (pm.isCanceled())
 						throw new OperationCanceledException();
-					addTextMatches(member, new SubProgressMonitor(pm, 1));
+					collectCompilationUnits(member, units, new SubProgressMonitor(pm, 1));
 				}
 			}
 		} catch (JavaModelException e){
@@ -153,15 +160,54 @@ class TextMatchUpdater {
 		}
 	}
 
-	private void addCuTextMatches(ICompilationUnit cu) throws JavaModelException{
-		fScanner.scan(cu);
-		Set<TextMatch> matches= fScanner.getMatches(); //Set of TextMatch
-		if (matches.isEmpty())
-			return;
-
-		removeReferences(cu, matches);
-		if (!matches.isEmpty())
-			addTextUpdates(cu, matches);
+	/*
+	 * Compilation units that cannot contain the current name are skipped using the TextMatchIndex.
+	 * The remaining units are scanned in parallel, but the text edits are added sequentially and in
+	 * a stable order, since the TextChangeManager is not thread safe.
+	 */
+	private void addTextMatches(List<ICompilationUnit> units, IProgressMonitor pm) throws JavaModelException {
+		try {
+			pm.beginTask("", units.size()); //$NON-NLS-1$
+			List<ICompilationUnit> candidates= TextMatchIndex.getDefault().getCandidates(units, fCurrentName);
+			pm.worked(units.size() - candidates.size());
+			if (pm.isCanceled())
+				throw new OperationCanceledException();
+
+			Map<ICompilationUnit, Set<TextMatch>> matchesByUnit= new ConcurrentHashMap<>();
+			try {
+				candidates.parallelStream().forEach(cu -> {
+					if (pm.isCanceled())
+						return;
+					RefactoringScanner scanner= new RefactoringScanner(fCurrentName, fCurrentQualifier);
+					try {
+						scanner.scan(cu);
+					} catch (JavaModelException e) {
+						throw new IllegalStateException(e);
+					}
+					Set<TextMatch> matches= scanner.getMatches();
+					if (!matches.isEmpty())
+						matchesByUnit.put(cu, matches);
+				});
+			} catch (IllegalStateException e) {
+				if (e.getCause() instanceof JavaModelException)
+					throw (JavaModelException) e.getCause();
+				throw e;
+			}
+			if (pm.isCanceled())
+				throw new OperationCanceledException();
+			pm.worked(candidates.size());
+
+			for (ICompilationUnit cu : candidates) {
+				Set<TextMatch> matches= matchesByUnit.get(cu);
+				if (matches == null)
+					continue;
+				removeReferences(cu, matches);
+				if (!matches.isEmpty())
+					addTextUpdates(cu, matches);
+			}
+		} finally {
+			pm.done();
+		}
 	}
 
 	private void removeReferences(ICompilationUnit cu, Set<TextMatch> matches) {
@@ -14,9 +14,6 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.launcher;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -27,13 +24,9 @@ import org.eclipse.core.runtime.SubProgressMonitor;
 
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IJavaElement;
-import org.eclipse.jdt.core.IMember;
-import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IRegion;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.ITypeHierarchy;
-import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
@@ -47,13 +40,6 @@ import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
-import org.eclipse.jdt.core.search.IJavaSearchConstants;
-import org.eclipse.jdt.core.search.IJavaSearchScope;
-import org.eclipse.jdt.core.search.SearchEngine;
-import org.eclipse.jdt.core.search.SearchMatch;
-import org.eclipse.jdt.core.search.SearchParticipant;
-import org.eclipse.jdt.core.search.SearchPattern;
-import org.eclipse.jdt.core.search.SearchRequestor;
 
 import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
 import org.eclipse.jdt.internal.junit.JUnitMessages;
@@ -131,34 +117,16 @@ public class JUnit4TestFinder implements ITestFinder {
 			pm.beginTask(JUnitMessages.JUnit4TestFinder_searching_description, 4);
 
 			IRegion region= CoreTestSearchEngine.getRegion(element);
-			ITypeHierarchy hierarchy= JavaCore.newTypeHierarchy(region, null, new SubProgressMonitor(pm, 1));
-			IType[] allClasses= hierarchy.getAllClasses();
-
-			// filter out anonymous classes which have no name
-			List<IType> nonAnonymousClasses= new ArrayList<>();
-			for (IType t : allClasses) {
-				if (!t.getElementName().isEmpty()) {
-					nonAnonymousClasses.add(t);
-				}
-			}
-			IType[] filteredClasses= nonAnonymousClasses.toArray(new IType[0]);
+			TestCandidateSearch search= new TestCandidateSearch(element);
 
 			// search for all types with references to RunWith and Test and all subclasses
-			HashSet<IType> candidates= new HashSet<>(filteredClasses.length);
-			SearchRequestor requestor= new AnnotationSearchRequestor(hierarchy, candidates);
-
-			IJavaSearchScope scope= SearchEngine.createJavaSearchScope(filteredClasses, IJavaSearchScope.SOURCES);
-			int matchRule= SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE;
-			SearchPattern runWithPattern= SearchPattern.createPattern(Annotation.RUN_WITH.getName(), IJavaSearchConstants.ANNOTATION_TYPE, IJavaSearchConstants.ANNOTATION_TYPE_REFERENCE, matchRule);
-			SearchPattern testPattern= SearchPattern.createPattern(Annotation.TEST.getName(), IJavaSearchConstants.ANNOTATION_TYPE, IJavaSearchConstants.ANNOTATION_TYPE_REFERENCE, matchRule);
-
-			SearchPattern annotationsPattern= SearchPattern.createOrPattern(runWithPattern, testPattern);
-			SearchParticipant[] searchParticipants= new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() };
-			new SearchEngine().search(annotationsPattern, searchParticipants, scope, requestor, new SubProgressMonitor(pm, 2));
+			List<String> annotationNames= List.of(Annotation.RUN_WITH.getName(), Annotation.TEST.getName());
+			Set<IType> annotated= search.findAnnotatedTypes(annotationNames, new SubProgressMonitor(pm, 1));
+			Set<IType> candidates= search.addSubtypes(annotated, new SubProgressMonitor(pm, 1));
 
-			// find all classes in the region
+			// find all classes in the region, filtering out anonymous classes which have no name
 			for (IType curr : candidates) {
-				if (!Flags.isAbstract(curr.getFlags()) && CoreTestSearchEngine.isAccessibleClass(curr) && region.contains(curr)) {
+				if (!curr.isAnonymous() && !Flags.isAbstract(curr.getFlags()) && CoreTestSearchEngine.isAccessibleClass(curr) && region.contains(curr)) {
 					result.add(curr);
 				}
 			}
@@ -166,7 +134,7 @@ public class JUnit4TestFinder implements ITestFinder {
 			// add all classes implementing JUnit 3.8's Test interface in the region
 			IType testInterface= element.getJavaProject().findType(JUnitCorePlugin.TEST_INTERFACE_NAME);
 			if (testInterface != null) {
-				CoreTestSearchEngine.findTestImplementorClasses(hierarchy, testInterface, region, result);
+				search.findTestImplementorClasses(testInterface, region, result, new SubProgressMonitor(pm, 1));
 			}
 
 			//JUnit 4.3 can also run JUnit-3.8-style public static Test suite() methods:
@@ -176,38 +144,6 @@ public class JUnit4TestFinder implements ITestFinder {
 		}
 	}
 
-	private static class AnnotationSearchRequestor extends SearchRequestor {
-
-		private final Collection<IType> fResult;
-		private final ITypeHierarchy fHierarchy;
-
-		public AnnotationSearchRequestor(ITypeHierarchy hierarchy, Collection<IType> result) {
-			fHierarchy= hierarchy;
-			fResult= result;
-		}
-
-		@Override
-		public void acceptSearchMatch(SearchMatch match) throws CoreException {
-			if (match.getAccuracy() == SearchMatch.A_ACCURATE && !match.isInsideDocComment()) {
-				Object element= match.getElement();
-				if (element instanceof IType || element instanceof IMethod) {
-					IMember member= (IMember) element;
-					IType type= member.getElementType() == IJavaElement.TYPE ? (IType) member : member.getDeclaringType();
-					addTypeAndSubtypes(type);
-				}
-			}
-		}
-
-		private void addTypeAndSubtypes(IType type) {
-			if (fResult.add(type)) {
-				IType[] subclasses= fHierarchy.getSubclasses(type);
-				for (IType subclasse : subclasses) {
-					addTypeAndSubtypes(subclasse);
-				}
-			}
-		}
-	}
-
 	@Override
 	public boolean isTest(IType type) throws JavaModelException {
 		return internalIsTest(type, null);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2022 IBM Corporation and others.
+ * Copyright (c) 2016, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,23 +13,28 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.junit.launcher;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
 
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IRegion;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.ITypeHierarchy;
-import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.IAnnotationBinding;
@@ -46,6 +51,11 @@ import org.eclipse.jdt.internal.junit.util.CoreTestSearchEngine;
 
 public class JUnit5TestFinder implements ITestFinder {
 
+	/**
+	 * The number of compilation units whose bindings are resolved together.
+	 */
+	private static final int BATCH_SIZE= 50;
+
 	private static class Annotation {
 
 		private static final Annotation RUN_WITH= new Annotation("org.junit.runner.RunWith"); //$NON-NLS-1$
@@ -210,36 +220,126 @@ public class JUnit5TestFinder implements ITestFinder {
 			}
 		}
 
-		var subMonitor = SubMonitor.convert(pm, JUnitMessages.JUnit5TestFinder_searching_description, 4);
+		var subMonitor = SubMonitor.convert(pm, JUnitMessages.JUnit5TestFinder_searching_description, 6);
 
 		IRegion region= CoreTestSearchEngine.getRegion(element);
-		ITypeHierarchy hierarchy= JavaCore.newTypeHierarchy(region, null, subMonitor.split(1));
-		IType[] allClasses= hierarchy.getAllClasses();
-
-		// search for all types with references to RunWith and Test and all subclasses
-		for (IType type : allClasses) {
-			if (region.contains(type) && internalIsTest(type, pm)) {
-				addTypeAndSubtypes(type, result, hierarchy);
+		TestCandidateSearch search= new TestCandidateSearch(element);
+
+		// search for all types with references to the test annotations, including
+		// annotations meta-annotated with @Testable or @Nested, and all their subclasses
+		Set<String> annotationNames= new HashSet<>();
+		annotationNames.add(Annotation.RUN_WITH.getName());
+		annotationNames.add(Annotation.TEST_4.getName());
+		annotationNames.add(Annotation.SUITE.getName());
+		annotationNames.addAll(search.findMetaAnnotatedTypes(List.of(Annotation.TESTABLE.getName(), Annotation.NESTED.getName()), subMonitor.split(1)));
+
+		Set<IType> annotated= new HashSet<>();
+		for (IType type : search.findAnnotatedTypes(annotationNames, subMonitor.split(1))) {
+			// a class with @Nested inner classes is a test as well
+			for (IType curr= type; curr != null; curr= curr.getDeclaringType()) {
+				annotated.add(curr);
+			}
+		}
+		List<IType> candidates= new ArrayList<>();
+		for (IType type : search.addSubtypes(annotated, subMonitor.split(1))) {
+			if (region.contains(type) && !type.isAnonymous()) {
+				candidates.add(type);
 			}
 		}
+		addTests(candidates, result, subMonitor.split(1));
 
 		// add all classes implementing JUnit 3.8's Test interface in the region
 		IType testInterface= element.getJavaProject().findType(JUnitCorePlugin.TEST_INTERFACE_NAME);
 		if (testInterface != null) {
-			CoreTestSearchEngine.findTestImplementorClasses(hierarchy, testInterface, region, result);
+			search.findTestImplementorClasses(testInterface, region, result, subMonitor.split(1));
 		}
 
 		//JUnit 4.3 can also run JUnit-3.8-style public static Test suite() methods:
 		CoreTestSearchEngine.findSuiteMethods(element, result, subMonitor.split(1));
 	}
 
-	private void addTypeAndSubtypes(IType type, Set<IType> result, ITypeHierarchy hierarchy) {
-		if (result.add(type)) {
-			IType[] subclasses= hierarchy.getSubclasses(type);
-			for (IType subclasse : subclasses) {
-				addTypeAndSubtypes(subclasse, result, hierarchy);
+	/*
+	 * Adds the candidates that are tests to the result. The bindings of source types are
+	 * resolved in batches of compilation units, the monitor is checked between batches.
+	 */
+	private void addTests(List<IType> candidates, Set<IType> result, IProgressMonitor pm) throws CoreException {
+		SubMonitor subMonitor= SubMonitor.convert(pm, candidates.size() + 1);
+		Map<IJavaProject, Map<ICompilationUnit, List<IType>>> unresolved= new LinkedHashMap<>();
+		for (IType type : candidates) {
+			subMonitor.split(1);
+			if (!CoreTestSearchEngine.isAccessibleClass(type, TestKindRegistry.JUNIT5_TEST_KIND_ID)) {
+				continue;
+			}
+			if (CoreTestSearchEngine.hasSuiteMethod(type)) { // since JUnit 4.3.1
+				result.add(type);
+				continue;
+			}
+			Boolean cached= TestTypeCache.getDefault().get(type);
+			if (cached != null) {
+				if (cached.booleanValue()) {
+					result.add(type);
+				}
+			} else if (type.getCompilationUnit() != null) {
+				unresolved.computeIfAbsent(type.getJavaProject(), p -> new LinkedHashMap<>())
+						.computeIfAbsent(type.getCompilationUnit(), cu -> new ArrayList<>()).add(type);
+			} else if (internalIsTest(type, null)) {
+				result.add(type);
 			}
 		}
+
+		List<Map<ICompilationUnit, List<IType>>> batches= new ArrayList<>();
+		for (Map<ICompilationUnit, List<IType>> typesByUnit : unresolved.values()) {
+			Map<ICompilationUnit, List<IType>> batch= new LinkedHashMap<>();
+			for (Map.Entry<ICompilationUnit, List<IType>> entry : typesByUnit.entrySet()) {
+				batch.put(entry.getKey(), entry.getValue());
+				if (batch.size() == BATCH_SIZE) {
+					batches.add(batch);
+					batch= new LinkedHashMap<>();
+				}
+			}
+			if (!batch.isEmpty()) {
+				batches.add(batch);
+			}
+		}
+		subMonitor.setWorkRemaining(batches.size());
+		for (Map<ICompilationUnit, List<IType>> batch : batches) {
+			addTests(batch, result, subMonitor.split(1));
+		}
+		subMonitor.done();
+	}
+
+	private void addTests(Map<ICompilationUnit, List<IType>> batch, Set<IType> result, IProgressMonitor pm) {
+		ICompilationUnit[] units= batch.keySet().toArray(new ICompilationUnit[batch.size()]);
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		parser.setProject(units[0].getJavaProject());
+		parser.setResolveBindings(true);
+		parser.setIgnoreMethodBodies(true);
+		parser.createASTs(units, new String[0], new ASTRequestor() {
+			@Override
+			public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+				List<IType> types= batch.get(source);
+				if (types == null) {
+					return;
+				}
+				for (IType type : types) {
+					ASTNode node= ast.findDeclaringNode(type.getKey());
+					if (node instanceof TypeDeclaration || node instanceof RecordDeclaration) {
+						ITypeBinding binding= ((AbstractTypeDeclaration) node).resolveBinding();
+						if (binding != null) {
+							boolean test= isTest(binding);
+							if (test) {
+								result.add(type);
+							}
+							try {
+								TestTypeCache.getDefault().put(type, binding, test);
+							} catch (JavaModelException e) {
+								JUnitCorePlugin.log(e);
+							}
+						}
+					}
+				}
+			}
+		}, pm);
 	}
 
 	@Override
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.launcher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IRegion;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import org.eclipse.jdt.internal.junit.util.CoreTestSearchEngine;
+
+/**
+ * Finds candidate test types with searches on the Java index instead of building a type
+ * hierarchy over the whole container.
+ * <p>
+ * Candidates are the types that reference one of the test annotations on themselves or on
+ * their methods, plus all their direct and indirect subtypes. The search scope is the project
+ * of the container including its libraries and referenced projects, so that test annotations
+ * inherited from supertypes outside of the container are found as well.
+ * </p>
+ */
+final class TestCandidateSearch {
+
+	private static final int MATCH_RULE= SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE;
+
+	private interface MatchHandler {
+		void accept(IJavaElement element) throws CoreException;
+	}
+
+	private final IJavaSearchScope fScope;
+
+	/**
+	 * Creates a search over the project of the given element.
+	 *
+	 * @param element the container to search tests in
+	 */
+	TestCandidateSearch(IJavaElement element) {
+		IJavaProject project= element.getJavaProject();
+		int includeMask= IJavaSearchScope.SOURCES | IJavaSearchScope.APPLICATION_LIBRARIES | IJavaSearchScope.REFERENCED_PROJECTS;
+		fScope= SearchEngine.createJavaSearchScope(new IJavaElement[] { project }, includeMask);
+	}
+
+	/**
+	 * Returns the given annotation types together with all annotation types that are directly or
+	 * indirectly meta-annotated with one of them.
+	 *
+	 * @param annotationNames the fully qualified names of the annotation types
+	 * @param pm the progress monitor, can be <code>null</code>
+	 * @return the fully qualified names of the annotation types
+	 * @throws CoreException if the search fails
+	 */
+	Set<String> findMetaAnnotatedTypes(Collection<String> annotationNames, IProgressMonitor pm) throws CoreException {
+		SubMonitor subMonitor= SubMonitor.convert(pm);
+		Set<String> result= new LinkedHashSet<>(annotationNames);
+		Collection<String> frontier= annotationNames;
+		while (!frontier.isEmpty()) {
+			List<String> next= new ArrayList<>();
+			search(createAnnotationReferencePattern(frontier), element -> {
+				if (element instanceof IType) {
+					IType type= (IType) element;
+					if (type.isAnnotation()) {
+						String name= type.getFullyQualifiedName('.');
+						if (result.add(name)) {
+							next.add(name);
+						}
+					}
+				}
+			}, subMonitor.setWorkRemaining(10).split(1));
+			frontier= next;
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the types that are annotated with one of the given annotations, or that declare a
+	 * method annotated with one of them. Annotation types are not included.
+	 *
+	 * @param annotationNames the fully qualified names of the annotation types
+	 * @param pm the progress monitor, can be <code>null</code>
+	 * @return the annotated types
+	 * @throws CoreException if the search fails
+	 */
+	Set<IType> findAnnotatedTypes(Collection<String> annotationNames, IProgressMonitor pm) throws CoreException {
+		Set<IType> result= new HashSet<>();
+		search(createAnnotationReferencePattern(annotationNames), element -> {
+			if (element instanceof IType || element instanceof IMethod) {
+				IMember member= (IMember) element;
+				IType type= member.getElementType() == IJavaElement.TYPE ? (IType) member : member.getDeclaringType();
+				if (!type.isAnnotation()) {
+					result.add(type);
+				}
+			}
+		}, pm);
+		return result;
+	}
+
+	/**
+	 * Returns the given types together with all their direct and indirect subtypes.
+	 *
+	 * @param types the types
+	 * @param pm the progress monitor, can be <code>null</code>
+	 * @return the types and their subtypes
+	 * @throws CoreException if the search fails
+	 */
+	Set<IType> addSubtypes(Collection<IType> types, IProgressMonitor pm) throws CoreException {
+		SubMonitor subMonitor= SubMonitor.convert(pm);
+		Set<IType> result= new HashSet<>(types);
+		Collection<IType> frontier= types;
+		while (!frontier.isEmpty()) {
+			SearchPattern pattern= null;
+			for (IType type : frontier) {
+				SearchPattern subtypes= SearchPattern.createPattern(type, IJavaSearchConstants.IMPLEMENTORS);
+				pattern= pattern == null ? subtypes : SearchPattern.createOrPattern(pattern, subtypes);
+			}
+			List<IType> next= new ArrayList<>();
+			search(pattern, element -> {
+				if (element instanceof IType && result.add((IType) element)) {
+					next.add((IType) element);
+				}
+			}, subMonitor.setWorkRemaining(10).split(1));
+			frontier= next;
+		}
+		return result;
+	}
+
+	/**
+	 * Adds all non-abstract, accessible classes in the region that implement the given interface
+	 * to the result. This is the search based equivalent of
+	 * {@link CoreTestSearchEngine#findTestImplementorClasses(org.eclipse.jdt.core.ITypeHierarchy, IType, IRegion, Set)}.
+	 *
+	 * @param testInterface the interface
+	 * @param region the region
+	 * @param result the set to add the classes to
+	 * @param pm the progress monitor, can be <code>null</code>
+	 * @throws CoreException if the search fails
+	 */
+	void findTestImplementorClasses(IType testInterface, IRegion region, Set<IType> result, IProgressMonitor pm) throws CoreException {
+		for (IType type : addSubtypes(List.of(testInterface), pm)) {
+			if (region.contains(type) && !type.isAnonymous()) {
+				int flags= type.getFlags();
+				if (!Flags.isInterface(flags) && !Flags.isAbstract(flags) && CoreTestSearchEngine.isAccessibleClass(type)) {
+					result.add(type);
+				}
+			}
+		}
+	}
+
+	private static SearchPattern createAnnotationReferencePattern(Collection<String> annotationNames) {
+		SearchPattern pattern= null;
+		for (String name : annotationNames) {
+			SearchPattern reference= SearchPattern.createPattern(name, IJavaSearchConstants.ANNOTATION_TYPE, IJavaSearchConstants.ANNOTATION_TYPE_REFERENCE, MATCH_RULE);
+			pattern= pattern == null ? reference : SearchPattern.createOrPattern(pattern, reference);
+		}
+		return pattern;
+	}
+
+	private void search(SearchPattern pattern, MatchHandler handler, IProgressMonitor pm) throws CoreException {
+		SearchRequestor requestor= new SearchRequestor() {
+			@Override
+			public void acceptSearchMatch(SearchMatch match) throws CoreException {
+				if (match.getAccuracy() == SearchMatch.A_ACCURATE && !match.isInsideDocComment()) {
+					Object element= match.getElement();
+					if (element instanceof IJavaElement) {
+						handler.accept((IJavaElement) element);
+					}
+				}
+			}
+		};
+		SearchParticipant[] participants= new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() };
+		new SearchEngine().search(pattern, participants, fScope, requestor, pm);
+	}
+}
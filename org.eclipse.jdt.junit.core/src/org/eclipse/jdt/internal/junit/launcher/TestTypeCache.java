@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.junit.launcher;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.IAnnotationBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+import org.eclipse.jdt.internal.junit.JUnitCorePlugin;
+
+/**
+ * Caches whether source types are tests, so that repeated test searches on the same container
+ * only need to resolve bindings for types that have changed.
+ * <p>
+ * An entry is valid as long as the modification stamps of the compilation units it was computed
+ * from are unchanged: the compilation unit of the type itself, the compilation units of its
+ * source supertypes, and the compilation units of the source annotation types used on these
+ * types and their methods. Types in compilation units with unsaved changes are not cached.
+ * Changes to binary supertypes are not tracked.
+ * </p>
+ * <p>
+ * Entries that depend on a resource that is removed, or that is in a project that is closed or
+ * opened, are dropped when the workspace reports the change.
+ * </p>
+ */
+final class TestTypeCache implements IResourceChangeListener {
+
+	private static TestTypeCache fgDefault;
+
+	private static final class Entry {
+
+		private final IResource[] fResources;
+		private final long[] fStamps;
+		private final boolean fTest;
+
+		Entry(Map<IResource, Long> stamps, boolean test) {
+			fResources= stamps.keySet().toArray(new IResource[stamps.size()]);
+			fStamps= new long[fResources.length];
+			for (int i= 0; i < fResources.length; i++) {
+				fStamps[i]= stamps.get(fResources[i]).longValue();
+			}
+			fTest= test;
+		}
+
+		boolean isValid() {
+			for (int i= 0; i < fResources.length; i++) {
+				if (fResources[i].getModificationStamp() != fStamps[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		boolean dependsOn(IPath path) {
+			for (IResource resource : fResources) {
+				if (path.isPrefixOf(resource.getFullPath())) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private final Map<String, Entry> fEntries= new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the shared instance, creating it if necessary.
+	 *
+	 * @return the shared cache
+	 */
+	static synchronized TestTypeCache getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new TestTypeCache();
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(fgDefault, IResourceChangeEvent.POST_CHANGE);
+		}
+		return fgDefault;
+	}
+
+	private TestTypeCache() {
+	}
+
+	/**
+	 * @return the number of cached types
+	 */
+	int size() {
+		return fEntries.size();
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null || fEntries.isEmpty()) {
+			return;
+		}
+		try {
+			delta.accept(child -> {
+				if (child.getKind() == IResourceDelta.REMOVED || (child.getFlags() & IResourceDelta.OPEN) != 0) {
+					IPath path= child.getFullPath();
+					fEntries.values().removeIf(entry -> entry.dependsOn(path));
+					return false;
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			JUnitCorePlugin.log(e);
+			fEntries.clear();
+		}
+	}
+
+	/**
+	 * Returns the cached result for the given type.
+	 *
+	 * @param type the type
+	 * @return whether the type is a test, or <code>null</code> if not known
+	 * @throws JavaModelException if the type cannot be accessed
+	 */
+	Boolean get(IType type) throws JavaModelException {
+		ICompilationUnit cu= type.getCompilationUnit();
+		if (cu == null || cu.hasUnsavedChanges()) {
+			return null;
+		}
+		String key= type.getHandleIdentifier();
+		Entry entry= fEntries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (!entry.isValid()) {
+			fEntries.remove(key, entry);
+			return null;
+		}
+		return Boolean.valueOf(entry.fTest);
+	}
+
+	/**
+	 * Remembers whether the given type is a test.
+	 *
+	 * @param type the type
+	 * @param binding the binding of the type
+	 * @param test whether the type is a test
+	 * @throws JavaModelException if a compilation unit cannot be accessed
+	 */
+	void put(IType type, ITypeBinding binding, boolean test) throws JavaModelException {
+		Map<IResource, Long> stamps= new LinkedHashMap<>();
+		if (addStamp(type, stamps) && addDependencies(binding, new HashSet<>(), stamps)) {
+			fEntries.put(type.getHandleIdentifier(), new Entry(stamps, test));
+		}
+	}
+
+	private static boolean addDependencies(ITypeBinding binding, Set<String> visited, Map<IResource, Long> stamps) throws JavaModelException {
+		if (binding == null || !visited.add(binding.getKey())) {
+			return true;
+		}
+		if (!addStamp(binding, stamps) || !addAnnotationStamps(binding.getAnnotations(), stamps)) {
+			return false;
+		}
+		for (IMethodBinding method : binding.getDeclaredMethods()) {
+			if (!addAnnotationStamps(method.getAnnotations(), stamps)) {
+				return false;
+			}
+		}
+		for (ITypeBinding memberType : binding.getDeclaredTypes()) {
+			if (!addAnnotationStamps(memberType.getAnnotations(), stamps)) {
+				return false;
+			}
+		}
+		if (!addDependencies(binding.getSuperclass(), visited, stamps)) {
+			return false;
+		}
+		for (ITypeBinding intf : binding.getInterfaces()) {
+			if (!addDependencies(intf, visited, stamps)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean addAnnotationStamps(IAnnotationBinding[] annotations, Map<IResource, Long> stamps) throws JavaModelException {
+		for (IAnnotationBinding annotation : annotations) {
+			if (annotation != null && !addStamp(annotation.getAnnotationType(), stamps)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean addStamp(ITypeBinding binding, Map<IResource, Long> stamps) throws JavaModelException {
+		if (binding == null) {
+			return true;
+		}
+		IJavaElement element= binding.getJavaElement();
+		return !(element instanceof IType) || addStamp((IType) element, stamps);
+	}
+
+	/*
+	 * Returns false if the type is in a compilation unit that cannot be tracked.
+	 */
+	private static boolean addStamp(IType type, Map<IResource, Long> stamps) throws JavaModelException {
+		ICompilationUnit cu= type.getCompilationUnit();
+		if (cu == null) {
+			return true;
+		}
+		IResource resource= cu.getResource();
+		if (resource == null || cu.hasUnsavedChanges()) {
+			return false;
+		}
+		long stamp= resource.getModificationStamp();
+		if (stamp == IResource.NULL_STAMP) {
+			return false;
+		}
+		stamps.putIfAbsent(resource, Long.valueOf(stamp));
+		return true;
+	}
+}
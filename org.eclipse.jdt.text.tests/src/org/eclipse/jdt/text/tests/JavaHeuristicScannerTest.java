@@ -24,8 +24,10 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.TextUtilities;
 import org.eclipse.jface.text.rules.FastPartitioner;
 
 import org.eclipse.jdt.core.JavaCore;
@@ -1235,4 +1237,82 @@ public class JavaHeuristicScannerTest {
 		String indent= fScanner.computeIndentation(offset).toString();
 		assertEquals("\t", indent);
 	}
+
+	@Test
+	public void testFindPeers() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		buf.append("class A {\n");
+		buf.append("    int[] a= { 1, 2 };\n");
+		buf.append("    String s= \"({[\";\n");
+		buf.append("    char c= ')';\n");
+		buf.append("    // }\n");
+		buf.append("    /* ( */\n");
+		buf.append("    void m(int x) {\n");
+		buf.append("        if ((x > a[0]) && (x < a[1])) {\n");
+		buf.append("            m(x - 1));\n");
+		buf.append("        }\n");
+		buf.append("    }\n");
+		buf.append("}}\n");
+		fDocument.set(buf.toString());
+
+		assertPeersFound();
+	}
+
+	@Test
+	public void testFindPeersAfterChanges() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		buf.append("class A {\n");
+		buf.append("    void m(int x) {\n");
+		buf.append("        if (x > 0) {\n");
+		buf.append("            m(x - 1);\n");
+		buf.append("        }\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		fDocument.set(buf.toString());
+		assertPeersFound();
+
+		int offset= fDocument.get().indexOf("if");
+		fDocument.replace(offset, 0, "/*");
+		assertPeersFound();
+		fDocument.replace(offset, 2, "");
+		assertPeersFound();
+
+		offset= fDocument.get().indexOf("m(x");
+		fDocument.replace(offset, 0, "\"");
+		assertPeersFound();
+		fDocument.replace(offset, 1, "{ (");
+		assertPeersFound();
+
+		fDocument.replace(0, 0, "/* ) */ [");
+		assertPeersFound();
+		fDocument.set("");
+		assertPeersFound();
+	}
+
+	private void assertPeersFound() throws BadLocationException {
+		char[][] peers= { { '(', ')' }, { '{', '}' }, { '[', ']' } };
+		for (char[] pair : peers) {
+			for (int pos= 0; pos < fDocument.getLength(); pos++) {
+				assertEquals("opening peer of " + pos, findPeerByScan(pos, pair[0], pair[1], false), fHeuristicScanner.findOpeningPeer(pos, pair[0], pair[1]));
+				assertEquals("closing peer of " + pos, findPeerByScan(pos, pair[0], pair[1], true), fHeuristicScanner.findClosingPeer(pos, pair[0], pair[1]));
+			}
+		}
+	}
+
+	private int findPeerByScan(int start, char openingPeer, char closingPeer, boolean forward) throws BadLocationException {
+		int depth= 1;
+		for (int pos= start; pos >= 0 && pos < fDocument.getLength(); pos+= forward ? 1 : -1) {
+			if (!IDocument.DEFAULT_CONTENT_TYPE.equals(TextUtilities.getContentType(fDocument, IJavaPartitions.JAVA_PARTITIONING, pos, false)))
+				continue;
+			char ch= fDocument.getChar(pos);
+			if (ch == (forward ? openingPeer : closingPeer)) {
+				depth++;
+			} else if (ch == (forward ? closingPeer : openingPeer)) {
+				depth--;
+				if (depth == 0)
+					return pos;
+			}
+		}
+		return JavaHeuristicScanner.NOT_FOUND;
+	}
 }
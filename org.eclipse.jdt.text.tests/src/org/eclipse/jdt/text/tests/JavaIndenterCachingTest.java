@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.rules.FastPartitioner;
+
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+
+import org.eclipse.jdt.internal.ui.text.FastJavaPartitionScanner;
+import org.eclipse.jdt.internal.ui.text.JavaHeuristicScanner;
+import org.eclipse.jdt.internal.ui.text.JavaIndenter;
+
+/**
+ * Checks that a {@link JavaIndenter} that caches scan results across lines, as used by the indent
+ * action, computes the same indentation as a new indenter for every line.
+ */
+public class JavaIndenterCachingTest {
+
+	private static final String[] CORPUS= {
+		"package p;\n" +
+		"import java.io.*;\n" +
+		"public class A {\n" +
+		"int a;\n" +
+		"int b;\n" +
+		"void m() throws IOException {\n" +
+		"try (InputStream in= new FileInputStream(\"f\");\n" +
+		"OutputStream out= new FileOutputStream(\"g\");\n" +
+		"Reader r= null) {\n" +
+		"in.read();\n" +
+		"out.write(1);\n" +
+		"}\n" +
+		"for (int i= 0;\n" +
+		"i < 10;\n" +
+		"i++) {\n" +
+		"a++;\n" +
+		"}\n" +
+		"try {\n" +
+		"b++;\n" +
+		"} finally {\n" +
+		"a--;\n" +
+		"}\n" +
+		"if (a > b)\n" +
+		"a= b;\n" +
+		"else\n" +
+		"b= a;\n" +
+		"}\n" +
+		"}\n",
+
+		"package p;\n" +
+		"enum E {\n" +
+		"A, B;\n" +
+		"int f;\n" +
+		"E() {\n" +
+		"f= 1;\n" +
+		"}\n" +
+		"}\n" +
+		"class B {\n" +
+		"String s= \"try (;\";\n" +
+		"// try (\n" +
+		"int c= 1;\n" +
+		"/* try ( */\n" +
+		"int d= 2;\n" +
+		"int[] e= {\n" +
+		"1,\n" +
+		"2 };\n" +
+		"void m(int x) {\n" +
+		"switch (x) {\n" +
+		"case 1:\n" +
+		"c++;\n" +
+		"break;\n" +
+		"default:\n" +
+		"d++;\n" +
+		"}\n" +
+		"}\n" +
+		"}\n",
+
+		"package p;\n" +
+		"class C {\n" +
+		"void m() throws Exception {\n" +
+		"try (AutoCloseable a= null; AutoCloseable b= null) {\n" +
+		"int x= 1;\n" +
+		"int y= 2;\n" +
+		"}\n" +
+		"try (AutoCloseable a= null;\n" +
+		") {\n" +
+		"}\n" +
+		"}\n" +
+		"}\n",
+	};
+
+	private static IDocument createDocument(String content) {
+		Document document= new Document(content);
+		String[] types= new String[] {
+			IJavaPartitions.JAVA_DOC,
+			IJavaPartitions.JAVA_MULTI_LINE_COMMENT,
+			IJavaPartitions.JAVA_SINGLE_LINE_COMMENT,
+			IJavaPartitions.JAVA_STRING,
+			IJavaPartitions.JAVA_CHARACTER,
+			IDocument.DEFAULT_CONTENT_TYPE
+		};
+		FastPartitioner partitioner= new FastPartitioner(new FastJavaPartitionScanner(), types);
+		partitioner.connect(document);
+		document.setDocumentPartitioner(IJavaPartitions.JAVA_PARTITIONING, partitioner);
+		return document;
+	}
+
+	private static String createLargeClass() {
+		StringBuilder buf= new StringBuilder();
+		buf.append("class Large {\n");
+		for (int i= 0; i < 500; i++) {
+			buf.append("int f").append(i).append(";\n");
+		}
+		buf.append("void m() throws Exception {\n");
+		for (int i= 0; i < 500; i++) {
+			if (i % 50 == 0)
+				buf.append("try (AutoCloseable c").append(i).append("= null;\n");
+			else if (i % 50 == 1)
+				buf.append("AutoCloseable d").append(i).append("= null) {\n}\n");
+			else
+				buf.append("f").append(i).append("++;\n");
+		}
+		buf.append("}\n}\n");
+		return buf.toString();
+	}
+
+	private static void replaceIndentation(IDocument document, int line, String indent) throws BadLocationException {
+		IRegion region= document.getLineInformation(line);
+		int offset= region.getOffset();
+		int end= offset;
+		while (end < offset + region.getLength() && Character.isWhitespace(document.getChar(end))) {
+			end++;
+		}
+		document.replace(offset, end - offset, indent);
+	}
+
+	private static void assertSameIndentation(String content) throws BadLocationException {
+		IDocument expectedDocument= createDocument(content);
+		IDocument document= createDocument(content);
+		JavaIndenter indenter= new JavaIndenter(document, new JavaHeuristicScanner(document));
+		indenter.startCaching();
+		try {
+			for (int line= 0; line < document.getNumberOfLines(); line++) {
+				int expectedOffset= expectedDocument.getLineOffset(line);
+				StringBuffer expected= new JavaIndenter(expectedDocument, new JavaHeuristicScanner(expectedDocument)).computeIndentation(expectedOffset);
+				StringBuffer actual= indenter.computeIndentation(document.getLineOffset(line));
+				String expectedIndent= expected == null ? "" : expected.toString();
+				assertEquals("line " + line, expectedIndent, actual == null ? "" : actual.toString());
+
+				// both documents change like during the indent action
+				replaceIndentation(expectedDocument, line, expectedIndent);
+				replaceIndentation(document, line, expectedIndent);
+			}
+		} finally {
+			indenter.stopCaching();
+		}
+		assertEquals(expectedDocument.get(), document.get());
+	}
+
+	@Test
+	public void testCorpus() throws Exception {
+		for (String content : CORPUS) {
+			assertSameIndentation(content);
+		}
+	}
+
+	@Test
+	public void testLargeClass() throws Exception {
+		assertSameIndentation(createLargeClass());
+	}
+
+	@Test
+	public void testDocumentChange() throws Exception {
+		IDocument document= createDocument(CORPUS[0]);
+		JavaIndenter indenter= new JavaIndenter(document, new JavaHeuristicScanner(document));
+		indenter.startCaching();
+		try {
+			int line= document.getNumberOfLines() - 3;
+			indenter.computeIndentation(document.getLineOffset(line));
+
+			// open a resource specification in front of the cached semicolons
+			int offset= document.get().indexOf("in.read();");
+			document.replace(offset, 0, "try (");
+
+			IDocument expectedDocument= createDocument(document.get());
+			StringBuffer expected= new JavaIndenter(expectedDocument, new JavaHeuristicScanner(expectedDocument)).computeIndentation(expectedDocument.getLineOffset(line));
+			StringBuffer actual= indenter.computeIndentation(document.getLineOffset(line));
+			assertEquals(String.valueOf(expected), String.valueOf(actual));
+		} finally {
+			indenter.stopCaching();
+		}
+	}
+}
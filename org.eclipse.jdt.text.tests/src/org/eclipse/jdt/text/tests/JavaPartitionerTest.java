@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,6 +34,8 @@ import org.eclipse.jface.text.TypedRegion;
 import org.eclipse.jdt.ui.text.IJavaPartitions;
 import org.eclipse.jdt.ui.text.JavaTextTools;
 
+import org.eclipse.jdt.internal.ui.text.JavaPartitionMapCache;
+
 public class JavaPartitionerTest {
 	private JavaTextTools fTextTools;
 	private Document fDocument;
@@ -775,6 +777,47 @@ public class JavaPartitionerTest {
 		}
 	}
 
+	@Test
+	public void testRestoredPartitioning() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		while (buf.length() < JavaPartitionMapCache.MIN_DOCUMENT_LENGTH)
+			buf.append("xxx\n/*xxx*/\nxxx\n/**xxx*/\nxxx \"x\" 'x' // x\n");
+		String content= buf.toString();
+
+		Document scanned= new Document(content);
+		IDocumentPartitioner partitioner= fTextTools.createDocumentPartitioner();
+		partitioner.connect(scanned);
+		scanned.setDocumentPartitioner(partitioner);
+		ITypedRegion[] expectation= scanned.computePartitioning(0, scanned.getLength());
+		partitioner.disconnect();
+
+		long hits= JavaPartitionMapCache.getDefault().getHitCount();
+		Document restored= new Document(content);
+		partitioner= fTextTools.createDocumentPartitioner();
+		partitioner.connect(restored);
+		restored.setDocumentPartitioner(partitioner);
+		assertEquals(hits + 1, JavaPartitionMapCache.getDefault().getHitCount());
+		checkPartitioning(expectation, restored.computePartitioning(0, restored.getLength()));
+
+		// file buffers set the content after connecting the partitioner
+		Document opened= new Document();
+		IDocumentPartitioner openedPartitioner= fTextTools.createDocumentPartitioner();
+		openedPartitioner.connect(opened);
+		opened.setDocumentPartitioner(openedPartitioner);
+		opened.set(content);
+		checkPartitioning(expectation, opened.computePartitioning(0, opened.getLength()));
+		assertEquals(hits + 2, JavaPartitionMapCache.getDefault().getHitCount());
+		openedPartitioner.disconnect();
+
+		// the restored partitioning is updated like a scanned one
+		restored.replace(0, 0, "/*");
+		ITypedRegion[] result= restored.computePartitioning(0, restored.getLength());
+		assertEquals(IJavaPartitions.JAVA_MULTI_LINE_COMMENT, result[0].getType());
+		assertEquals(0, result[0].getOffset());
+		assertEquals(13, result[0].getLength());
+		partitioner.disconnect();
+	}
+
 	@Test
 	public void testEditing3() {
 		try {
@@ -32,6 +32,7 @@ import org.junit.runners.Suite;
 @Suite.SuiteClasses({
 	CompilationUnitDocumentProviderTest.class,
 	JavaHeuristicScannerTest.class,
+	JavaIndenterCachingTest.class,
 	JavaAutoIndentStrategyTest.class,
 	JavaBreakIteratorTest.class,
 	JavaParameterListValidatorTest.class,
@@ -17,7 +17,9 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.After;
 import org.junit.Before;
@@ -316,6 +318,51 @@ public class ChainCompletionTest {
 		assertProposalsExist(expected, proposals);
 	}
 
+	@Test
+	public void testCompletionWithLongerPrefixInSession() throws Exception {
+		StringBuffer buf= new StringBuffer();
+		buf.append("package test;\n" +
+				"\n" +
+				"import java.io.File;\n" +
+				"\n" +
+				"public class A {\n" +
+				"  public B b = new B();\n" +
+				"  public class B {\n" +
+				"    public File findMember = new File(\"\");\n" +
+				"    public File findMethod() {\n" +
+				"      return null;\n" +
+				"    }\n" +
+				"  }\n" +
+				"  public static void mainMethod () {\n" +
+				"    A a = new A();\n" +
+				"    File c = $\n" +
+				"  }\n" +
+				"}");
+
+		int completionIndex= getCompletionIndex(buf);
+		ICompilationUnit cu= getCompilationUnit(pkg, buf, "A.java");
+		List<String> expected= Arrays.asList(
+				"a.b.findMethod() - 3 elements",
+				"a.b.findMember - 3 elements");
+
+		ChainCompletionProposalComputer comp= new ChainCompletionProposalComputer();
+		comp.sessionStarted();
+		try {
+			assertProposalsExist(expected, computeCompletionProposals(comp, cu, completionIndex));
+
+			// the chains of the previous search are reused for the longer prefix
+			cu.getBuffer().replace(completionIndex, 0, "a");
+			List<ICompletionProposal> proposals= computeCompletionProposals(comp, cu, completionIndex + 1);
+			assertProposalsExist(expected, proposals);
+			assertEquals(getDisplayStrings(computeCompletionProposals(cu, completionIndex + 1)), getDisplayStrings(proposals));
+
+			cu.getBuffer().replace(completionIndex + 1, 0, "x");
+			assertEquals(Collections.emptyList(), computeCompletionProposals(comp, cu, completionIndex + 2));
+		} finally {
+			comp.sessionEnded();
+		}
+	}
+
 	@Test
 	public void testCompletionOnMemberInMethodWithPrefix() throws Exception {
 		StringBuffer buf= new StringBuffer();
@@ -674,8 +721,10 @@ public class ChainCompletionTest {
 	}
 
 	private List<ICompletionProposal> computeCompletionProposals(ICompilationUnit cu, int completionIndex) throws Exception {
-		ChainCompletionProposalComputer comp= new ChainCompletionProposalComputer();
+		return computeCompletionProposals(new ChainCompletionProposalComputer(), cu, completionIndex);
+	}
 
+	private List<ICompletionProposal> computeCompletionProposals(ChainCompletionProposalComputer comp, ICompilationUnit cu, int completionIndex) throws Exception {
 		IEditorPart editor= EditorUtility.openInEditor(cu);
 		ITextViewer viewer= new TextViewer(editor.getSite().getShell(), SWT.NONE);
 		viewer.setDocument(new Document(cu.getSource()));
@@ -693,6 +742,10 @@ public class ChainCompletionTest {
 		}
 	}
 
+	private List<String> getDisplayStrings(List<ICompletionProposal> proposals) {
+		return proposals.stream().map(ICompletionProposal::getDisplayString).collect(Collectors.toList());
+	}
+
 	private void assertProposalsExist(List<String> expected, List<ICompletionProposal> proposals) {
 		for (String propDisplay : expected) {
 			assertTrue(proposals.stream().anyMatch(p -> propDisplay.equals(p.getDisplayString())));
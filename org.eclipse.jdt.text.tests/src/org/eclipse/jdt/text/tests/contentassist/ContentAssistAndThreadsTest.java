@@ -11,6 +11,7 @@
 package org.eclipse.jdt.text.tests.contentassist;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
@@ -53,6 +54,8 @@ import org.eclipse.jdt.ui.text.IJavaPartitions;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.javaeditor.JavaEditor;
+import org.eclipse.jdt.internal.ui.text.java.CompletionProposalCategory;
+import org.eclipse.jdt.internal.ui.text.java.CompletionProposalComputerRegistry;
 import org.eclipse.jdt.internal.ui.text.java.JavaCompletionProcessor;
 
 public class ContentAssistAndThreadsTest extends AbstractCompletionTest {
@@ -131,6 +134,35 @@ public class ContentAssistAndThreadsTest extends AbstractCompletionTest {
 		assertTrue("UI was frozen for " + thread.getMaxDuration(), thread.getMaxDuration() < 1000);
 	}
 
+	@Test
+	public void testComputerTimeIsRecorded() throws Exception {
+		IJavaProject fJProject1= JavaProjectHelper.createJavaProject("TestProject1", "bin");
+		JavaProjectHelper.addRTJar(fJProject1);
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack1= sourceFolder.createPackageFragment("test1", false, null);
+		ICompilationUnit cu= pack1.createCompilationUnit("Blah.java", LongCompletionProposalComputer.CONTENT_TRIGGER_STRING, true, new NullProgressMonitor());
+		JavaEditor part= (JavaEditor) JavaUI.openInEditor(cu);
+		ContentAssistant assistant= new ContentAssistant();
+		assistant.setDocumentPartitioning(IJavaPartitions.JAVA_PARTITIONING);
+		JavaCompletionProcessor javaProcessor= new JavaCompletionProcessor(part, assistant, getContentType());
+
+		String computerId= "org.eclipse.jdt.text.tests.LongCompletionProposalComputer";
+		CompletionProposalCategory category= null;
+		for (CompletionProposalCategory cat : CompletionProposalComputerRegistry.getDefault().getProposalCategories()) {
+			if ("org.eclipse.jdt.ui.javaAllProposalCategory".equals(cat.getId())) {
+				category= cat;
+			}
+		}
+		assertNotNull(category);
+		long invocations= category.getInvocationCount(computerId);
+
+		javaProcessor.computeCompletionProposals(part.getViewer(), 0);
+
+		assertEquals(invocations + 1, category.getInvocationCount(computerId));
+		assertTrue("max time: " + category.getMaxInvocationTime(computerId), category.getMaxInvocationTime(computerId) >= 900);
+		assertTrue(category.getTotalInvocationTime(computerId) >= category.getMaxInvocationTime(computerId));
+	}
+
 	private Table findCompletionSelectionControl(Widget control) {
 		if (control instanceof Table) {
 			return (Table)control;
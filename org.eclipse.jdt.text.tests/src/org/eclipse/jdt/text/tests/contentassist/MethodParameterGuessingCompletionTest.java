@@ -45,6 +45,12 @@ public class MethodParameterGuessingCompletionTest extends AbstractCompletionTes
 		assertMethodBodyProposal("fList.", "add(int", "fList.add(|foo|, obj);");
 	}
 
+	@Test
+	public void testMethodWithParamNameMatch() throws Exception {
+		addLocalVariables("Object element= null;\n");
+		assertMethodBodyProposal("fList.", "add(int", "fList.add(|foo|, element);");
+	}
+
 	@Test
 	public void testInsertMethodWithParam1() throws Exception {
 		assertMethodBodyProposal("fList.|bar", "add(O", "fList.add(|obj|)bar");
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.performance;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.rules.FastPartitioner;
+
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+
+import org.eclipse.jdt.internal.ui.actions.IndentAction;
+import org.eclipse.jdt.internal.ui.text.FastJavaPartitionScanner;
+
+/**
+ * Measures indenting a large compilation unit whose lines have no indentation.
+ *
+ * @since 3.31
+ */
+public class IndentActionPerformanceTest extends TextPerformanceTestCase {
+
+	private static final Class<IndentActionPerformanceTest> THIS= IndentActionPerformanceTest.class;
+
+	private static final int WARM_UP_RUNS= 3;
+
+	private static final int MEASURED_RUNS= 5;
+
+	private static final int METHODS= 500;
+
+	public static Test suite() {
+		return new PerformanceTestSetup(new TestSuite(THIS));
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		setWarmUpRuns(WARM_UP_RUNS);
+		setMeasuredRuns(MEASURED_RUNS);
+	}
+
+	public void testIndentLargeFile() throws Exception {
+		String content= createContent();
+		measure(getNullPerformanceMeter(), getWarmUpRuns(), content);
+		measure(createPerformanceMeter(), getMeasuredRuns(), content);
+		commitAllMeasurements();
+		assertAllPerformance();
+	}
+
+	private void measure(PerformanceMeter performanceMeter, int runs, String content) throws BadLocationException {
+		for (int i= 0; i < runs; i++) {
+			IDocument document= createDocument(content);
+			performanceMeter.start();
+			IndentAction.indent(document, null);
+			performanceMeter.stop();
+			assertFalse(content.equals(document.get()));
+		}
+	}
+
+	private static String createContent() {
+		StringBuilder buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("import java.io.*;\n");
+		buf.append("public class Large {\n");
+		for (int i= 0; i < METHODS; i++) {
+			buf.append("private int field").append(i).append(";\n");
+		}
+		for (int i= 0; i < METHODS; i++) {
+			buf.append("void method").append(i).append("() throws IOException {\n");
+			buf.append("try (InputStream in= new FileInputStream(\"f\")) {\n");
+			buf.append("field").append(i).append("= in.read();\n");
+			buf.append("}\n");
+			buf.append("for (int i= 0; i < field").append(i).append("; i++) {\n");
+			buf.append("field").append(i).append("--;\n");
+			buf.append("}\n");
+			buf.append("}\n");
+		}
+		buf.append("}\n");
+		return buf.toString();
+	}
+
+	private static IDocument createDocument(String content) {
+		Document document= new Document(content);
+		String[] types= new String[] {
+			IJavaPartitions.JAVA_DOC,
+			IJavaPartitions.JAVA_MULTI_LINE_COMMENT,
+			IJavaPartitions.JAVA_SINGLE_LINE_COMMENT,
+			IJavaPartitions.JAVA_STRING,
+			IJavaPartitions.JAVA_CHARACTER,
+			IDocument.DEFAULT_CONTENT_TYPE
+		};
+		FastPartitioner partitioner= new FastPartitioner(new FastJavaPartitionScanner(), types);
+		partitioner.connect(document);
+		document.setDocumentPartitioner(IJavaPartitions.JAVA_PARTITIONING, partitioner);
+		return document;
+	}
+}
@@ -43,6 +43,8 @@ public class PerformanceTestSuite extends TestSuite {
 		addTest(SaveTextEditorTest.suite());
 		addTest(SaveJavaEditorTest.suite());
 		addTest(JavaFormatterTest.suite());
+		addTest(IndentActionPerformanceTest.suite());
+		addTest(ReportProblemsPerformanceTest.suite());
 		addTest(JavaExpandSelectionTest.suite());
 		addTest(ConvertLineDelimitersProjectTest.suite());
 		addTest(JavaFormatterProjectTest.suite());
@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.text.tests.performance;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+import org.eclipse.test.performance.PerformanceMeter;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.IAnnotationModel;
+
+import org.eclipse.ui.texteditor.AbstractTextEditor;
+
+import org.eclipse.jdt.core.IProblemRequestor;
+import org.eclipse.jdt.core.compiler.IProblem;
+
+import org.eclipse.jdt.internal.ui.javaeditor.CompilationUnitDocumentProvider.ProblemAnnotation;
+import org.eclipse.jdt.internal.ui.text.java.IProblemRequestorExtension;
+
+/**
+ * Measures reporting the temporary problems of a reconcile to the annotation model of a Java
+ * editor, for a file with thousands of warnings that do not change between reconciles.
+ *
+ * @since 3.31
+ */
+public class ReportProblemsPerformanceTest extends TextPerformanceTestCase {
+
+	private static final Class<ReportProblemsPerformanceTest> THIS= ReportProblemsPerformanceTest.class;
+
+	private static final String FILE= PerformanceTestSetup.STYLED_TEXT;
+
+	private static final int WARM_UP_RUNS= 3;
+
+	private static final int MEASURED_RUNS= 20;
+
+	private static final int PROBLEMS= 3000;
+
+	private AbstractTextEditor fEditor;
+
+	private IAnnotationModel fModel;
+
+	private List<IProblem> fProblems;
+
+	/**
+	 * A warning at a fixed position.
+	 */
+	private static class Warning implements IProblem {
+
+		private final int fStart;
+		private final int fEnd;
+		private final int fLine;
+
+		Warning(int start, int end, int line) {
+			fStart= start;
+			fEnd= end;
+			fLine= line;
+		}
+
+		@Override
+		public String[] getArguments() {
+			return new String[] { "List" };
+		}
+
+		@Override
+		public int getID() {
+			return IProblem.RawTypeReference;
+		}
+
+		@Override
+		public String getMessage() {
+			return "List is a raw type. References to generic type List<E> should be parameterized";
+		}
+
+		@Override
+		public char[] getOriginatingFileName() {
+			return FILE.toCharArray();
+		}
+
+		@Override
+		public int getSourceEnd() {
+			return fEnd;
+		}
+
+		@Override
+		public int getSourceLineNumber() {
+			return fLine;
+		}
+
+		@Override
+		public int getSourceStart() {
+			return fStart;
+		}
+
+		@Override
+		public boolean isError() {
+			return false;
+		}
+
+		@Override
+		public boolean isWarning() {
+			return true;
+		}
+
+		@Override
+		public void setSourceEnd(int sourceEnd) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void setSourceLineNumber(int lineNumber) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void setSourceStart(int sourceStart) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	public static Test suite() {
+		return new PerformanceTestSetup(new TestSuite(THIS));
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		setWarmUpRuns(WARM_UP_RUNS);
+		setMeasuredRuns(MEASURED_RUNS);
+
+		fEditor= (AbstractTextEditor) EditorTestHelper.openInEditor(ResourceTestHelper.findFile(FILE), true);
+		EditorTestHelper.joinBackgroundActivities(fEditor);
+		fModel= fEditor.getDocumentProvider().getAnnotationModel(fEditor.getEditorInput());
+		((IProblemRequestorExtension) fModel).setIsHandlingTemporaryProblems(true);
+
+		IDocument document= EditorTestHelper.getDocument(fEditor);
+		int lines= document.getNumberOfLines();
+		fProblems= new ArrayList<>(PROBLEMS);
+		for (int i= 0; i < PROBLEMS; i++) {
+			int line= i * lines / PROBLEMS;
+			int offset= document.getLineOffset(line);
+			int length= Math.max(1, document.getLineLength(line) / 2);
+			fProblems.add(new Warning(offset, offset + length - 1, line + 1));
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		super.tearDown();
+		EditorTestHelper.closeAllEditors();
+	}
+
+	public void testReportUnchangedProblems() throws Exception {
+		measure(getNullPerformanceMeter(), getWarmUpRuns());
+		measure(createPerformanceMeter(), getMeasuredRuns());
+		commitAllMeasurements();
+		assertAllPerformance();
+		assertEquals(PROBLEMS, countProblemAnnotations());
+	}
+
+	private void measure(PerformanceMeter performanceMeter, int runs) {
+		IProblemRequestor requestor= (IProblemRequestor) fModel;
+		for (int i= 0; i < runs; i++) {
+			performanceMeter.start();
+			requestor.beginReporting();
+			for (IProblem problem : fProblems) {
+				requestor.acceptProblem(problem);
+			}
+			requestor.endReporting();
+			EditorTestHelper.runEventQueue(fEditor);
+			performanceMeter.stop();
+		}
+	}
+
+	private int countProblemAnnotations() {
+		int count= 0;
+		Iterator<Annotation> iterator= fModel.getAnnotationIterator();
+		while (iterator.hasNext()) {
+			if (iterator.next() instanceof ProblemAnnotation)
+				count++;
+		}
+		return count;
+	}
+}
@@ -14,12 +14,17 @@
 package org.eclipse.jdt.ui.tests.refactoring;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Set;
 
 import org.junit.Test;
 
+import org.eclipse.jdt.core.ICompilationUnit;
+
 import org.eclipse.jdt.internal.corext.refactoring.rename.RefactoringScanner;
 import org.eclipse.jdt.internal.corext.refactoring.rename.RefactoringScanner.TextMatch;
 
@@ -113,4 +118,29 @@ public class RefactoringScannerTests extends GenericRefactoringTest {
 				new Position(38, 20),
 		});
 	}
+
+	@Test
+	public void testCommentAndStringWords() throws Exception{
+		String text= getFileContents(getRefactoringPath() + "B.java");
+		ICompilationUnit cu= createCU(rts.getPackageP(), "B.java", text);
+		try {
+			Set<String> words= RefactoringScanner.getCommentAndStringWords(cu);
+			assertTrue(words.contains("TestPattern"));
+			assertTrue(words.contains("TestTestPattern"));
+			assertTrue(words.contains("TestPatternMatching"));
+			assertTrue(words.contains("eclipse"));
+			assertFalse(words.contains("f1"));
+			assertFalse(words.contains("g2"));
+		} finally {
+			cu.delete(true, null);
+		}
+	}
+
+	@Test
+	public void testIsWord() throws Exception{
+		assertTrue(RefactoringScanner.isWord("TestPattern"));
+		assertTrue(RefactoringScanner.isWord("_x1"));
+		assertFalse(RefactoringScanner.isWord("a$b"));
+		assertFalse(RefactoringScanner.isWord(""));
+	}
 }
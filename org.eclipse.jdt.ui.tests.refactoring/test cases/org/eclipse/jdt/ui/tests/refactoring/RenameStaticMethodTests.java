@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,15 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.refactoring;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -25,6 +29,8 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 
 import org.eclipse.ltk.core.refactoring.RefactoringCore;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.RefactoringStatusEntry;
+import org.eclipse.ltk.core.refactoring.participants.RenameRefactoring;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IMethod;
@@ -35,6 +41,7 @@ import org.eclipse.jdt.core.refactoring.IJavaRefactorings;
 import org.eclipse.jdt.core.refactoring.descriptors.RenameJavaElementDescriptor;
 
 import org.eclipse.jdt.internal.core.refactoring.descriptors.RefactoringSignatureDescriptorFactory;
+import org.eclipse.jdt.internal.corext.refactoring.rename.RenameMethodProcessor;
 
 import org.eclipse.jdt.ui.tests.refactoring.rules.RefactoringTestSetup;
 
@@ -288,4 +295,57 @@ public class RenameStaticMethodTests extends GenericRefactoringTest {
 		helperDelegate();
 	}
 
+	private IMethod createBatchTestCUs(String clashingCU) throws Exception {
+		IPackageFragment pack= getPackageP();
+		ICompilationUnit cuA= pack.createCompilationUnit("A.java", "package p;\npublic class A {\n    public static void m(String s) {\n    }\n}\n", true, null);
+		for (int i= 0; i < RenameMethodProcessor.WORKING_COPY_BATCH_SIZE + 10; i++) {
+			pack.createCompilationUnit("B" + i + ".java", "package p;\nclass B" + i + " {\n    void f() {\n        A.m(\"\");\n    }\n}\n", true, null);
+		}
+		pack.createCompilationUnit("C.java", clashingCU, true, null);
+		return cuA.getType("A").getMethod("m", new String[] { "QString;" });
+	}
+
+	private static RenameJavaElementDescriptor createRenameDescriptor(IMethod method, String newName) {
+		RenameJavaElementDescriptor descriptor= RefactoringSignatureDescriptorFactory.createRenameJavaElementDescriptor(IJavaRefactorings.RENAME_METHOD);
+		descriptor.setJavaElement(method);
+		descriptor.setNewName(newName);
+		descriptor.setUpdateReferences(true);
+		return descriptor;
+	}
+
+	private static List<String> checkRename(IMethod method, String newName, int batchSize) throws Exception {
+		RefactoringStatus status= new RefactoringStatus();
+		RenameRefactoring refactoring= (RenameRefactoring) createRenameDescriptor(method, newName).createRefactoring(status);
+		assertTrue(status.isOK());
+		((RenameMethodProcessor) refactoring.getProcessor()).setWorkingCopyBatchSize(batchSize);
+		status= refactoring.checkAllConditions(new NullProgressMonitor());
+		List<String> entries= new ArrayList<>();
+		for (RefactoringStatusEntry entry : status.getEntries()) {
+			entries.add(entry.getSeverity() + " " + entry.getMessage());
+		}
+		return entries;
+	}
+
+	@Test
+	public void testBatchedShadowingAnalysis() throws Exception {
+		// after the rename, the call in C binds to C.k(Object) instead of the statically imported A.k(String)
+		IMethod method= createBatchTestCUs("package p;\nimport static p.A.m;\nclass C {\n    static void k(Object o) {\n    }\n    void f() {\n        m(\"\");\n    }\n}\n");
+		List<String> single= checkRename(method, "k", Integer.MAX_VALUE);
+		List<String> batched= checkRename(method, "k", RenameMethodProcessor.WORKING_COPY_BATCH_SIZE);
+		assertFalse(single.isEmpty());
+		assertEquals(single, batched);
+	}
+
+	@Test
+	public void testBatchedRename() throws Exception {
+		IMethod method= createBatchTestCUs("package p;\nclass C {\n    static void k(Object o) {\n    }\n    void f() {\n        A.m(\"\");\n    }\n}\n");
+		List<String> single= checkRename(method, "k", Integer.MAX_VALUE);
+		List<String> batched= checkRename(method, "k", RenameMethodProcessor.WORKING_COPY_BATCH_SIZE);
+		assertTrue(single.isEmpty());
+		assertEquals(single, batched);
+
+		assertNull("was supposed to pass", performRefactoring(createRenameDescriptor(method, "k")));
+		ICompilationUnit last= getPackageP().getCompilationUnit("B" + (RenameMethodProcessor.WORKING_COPY_BATCH_SIZE + 9) + ".java");
+		assertTrue(last.getSource().contains("A.k(\"\");"));
+	}
 }
@@ -24,7 +24,8 @@ import org.junit.runners.Suite;
 	org.eclipse.jdt.ui.tests.refactoring.extensions.AllTests.class,
 	org.eclipse.jdt.ui.tests.refactoring.changes.AllTests.class,
 	org.eclipse.jdt.ui.tests.refactoring.ccp.AllTests.class,
-	org.eclipse.jdt.ui.tests.refactoring.typeconstraints.AllTests.class
+	org.eclipse.jdt.ui.tests.refactoring.typeconstraints.AllTests.class,
+	org.eclipse.jdt.ui.tests.refactoring.benchmark.AllTests.class
 })
 public class AllAllRefactoringTests {
 }
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring.benchmark;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+/**
+ * The tests of the benchmark infrastructure. The benchmarks themselves are run by the
+ * <code>benchmarks</code> profile, see {@link ManipulationBenchmarks}.
+ */
+@RunWith(Suite.class)
+@Suite.SuiteClasses({
+	RegressionGateTests.class
+})
+public class AllTests {
+}
@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A local, file based history of benchmark results. Every run appends one line per benchmark to a
+ * file of comma separated values, tagged with the commit that was measured, the time of the run
+ * and whether the run was rejected by the {@link RegressionGate}. Earlier runs that passed serve
+ * as the baseline of later ones, see {@link #getBaseline(String, String)}.
+ */
+public final class BenchmarkHistory {
+
+	/** The header of history files. */
+	public static final String CSV_HEADER= "commit,timestamp," + BenchmarkResult.CSV_HEADER + ",status";
+
+	private static final String PASSED= "passed";
+
+	private static final String REJECTED= "rejected";
+
+	/**
+	 * The summary of a recorded benchmark result.
+	 */
+	public static final class Entry {
+		private final String fCommit;
+		private final long fTimestamp;
+		private final String fName;
+		private final int fSampleCount;
+		private final double fMean;
+		private final double fMedian;
+		private final double fStandardDeviation;
+		private final long fMinimum;
+		private final long fAllocatedBytes;
+		private final long fInvocations;
+		private final boolean fRejected;
+
+		public Entry(String commit, long timestamp, String name, int sampleCount, double mean, double median, double standardDeviation, long minimum,
+				long allocatedBytes, long invocations) {
+			this(commit, timestamp, name, sampleCount, mean, median, standardDeviation, minimum, allocatedBytes, invocations, false);
+		}
+
+		public Entry(String commit, long timestamp, String name, int sampleCount, double mean, double median, double standardDeviation, long minimum,
+				long allocatedBytes, long invocations, boolean rejected) {
+			fCommit= commit;
+			fTimestamp= timestamp;
+			fName= name;
+			fSampleCount= sampleCount;
+			fMean= mean;
+			fMedian= median;
+			fStandardDeviation= standardDeviation;
+			fMinimum= minimum;
+			fAllocatedBytes= allocatedBytes;
+			fInvocations= invocations;
+			fRejected= rejected;
+		}
+
+		/**
+		 * Creates the entry of a result.
+		 *
+		 * @param commit the measured commit
+		 * @param timestamp the time of the run in milliseconds
+		 * @param result the result
+		 * @return the entry
+		 */
+		public static Entry of(String commit, long timestamp, BenchmarkResult result) {
+			return new Entry(commit, timestamp, result.getName(), result.getSampleCount(), result.getMean(), result.getMedian(),
+					result.getStandardDeviation(), result.getMinimum(), result.getAllocatedBytes(), result.getInvocations());
+		}
+
+		public String getCommit() {
+			return fCommit;
+		}
+
+		public long getTimestamp() {
+			return fTimestamp;
+		}
+
+		public String getName() {
+			return fName;
+		}
+
+		public int getSampleCount() {
+			return fSampleCount;
+		}
+
+		public double getMean() {
+			return fMean;
+		}
+
+		public double getMedian() {
+			return fMedian;
+		}
+
+		public double getStandardDeviation() {
+			return fStandardDeviation;
+		}
+
+		public long getMinimum() {
+			return fMinimum;
+		}
+
+		public long getAllocatedBytes() {
+			return fAllocatedBytes;
+		}
+
+		public long getInvocations() {
+			return fInvocations;
+		}
+
+		/**
+		 * Tells whether the run of this entry failed the regression gate. Rejected entries are
+		 * never used as baseline, otherwise re-running a regressed build would let it pass.
+		 *
+		 * @return <code>true</code> if the run regressed
+		 */
+		public boolean isRejected() {
+			return fRejected;
+		}
+
+		Entry reject() {
+			return new Entry(fCommit, fTimestamp, fName, fSampleCount, fMean, fMedian, fStandardDeviation, fMinimum, fAllocatedBytes, fInvocations, true);
+		}
+
+		String toCSV() {
+			return fCommit + ',' + fTimestamp + ',' + fName + ',' + fSampleCount + ',' + Math.round(fMean) + ',' + Math.round(fMedian) + ','
+					+ Math.round(fStandardDeviation) + ',' + fMinimum + ',' + fAllocatedBytes + ',' + fInvocations + ',' + (fRejected ? REJECTED : PASSED);
+		}
+
+		static Entry parse(String line) {
+			String[] values= line.split(",");
+			if (values.length < 9)
+				throw new IllegalArgumentException("Malformed history line: " + line);
+			long invocations= values.length > 9 ? Long.parseLong(values[9]) : -1;
+			boolean rejected= values.length > 10 && REJECTED.equals(values[10]);
+			return new Entry(values[0], Long.parseLong(values[1]), values[2], Integer.parseInt(values[3]), Double.parseDouble(values[4]),
+					Double.parseDouble(values[5]), Double.parseDouble(values[6]), Long.parseLong(values[7]), Long.parseLong(values[8]), invocations, rejected);
+		}
+	}
+
+	private final File fFile;
+
+	private final List<Entry> fEntries= new ArrayList<>();
+
+	private BenchmarkHistory(File file) {
+		fFile= file;
+	}
+
+	/**
+	 * Reads the history from the given file. The history is empty if the file does not exist.
+	 *
+	 * @param file the history file
+	 * @return the history
+	 * @throws IOException if the file cannot be read
+	 */
+	public static BenchmarkHistory load(File file) throws IOException {
+		BenchmarkHistory history= new BenchmarkHistory(file);
+		if (file.isFile()) {
+			for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+				if (!line.isEmpty() && !line.startsWith("commit,"))
+					history.fEntries.add(Entry.parse(line));
+			}
+		}
+		return history;
+	}
+
+	/**
+	 * Returns all entries in the order in which they have been recorded.
+	 *
+	 * @return the entries
+	 */
+	public List<Entry> getEntries() {
+		return Collections.unmodifiableList(fEntries);
+	}
+
+	/**
+	 * Returns the baseline for a run of the given commit: the latest entry of every benchmark of the
+	 * given baseline commit or, if no baseline commit is given, the latest passed entry of every
+	 * benchmark that has been recorded for another commit. Benchmarks that are missing in the most
+	 * recent run are thereby still compared with their latest passed result.
+	 *
+	 * @param commit the measured commit
+	 * @param baselineCommit the commit to compare with, or <code>null</code>
+	 * @return the baseline entries by benchmark name, empty if there is no baseline
+	 */
+	public Map<String, Entry> getBaseline(String commit, String baselineCommit) {
+		Map<String, Entry> entries= new LinkedHashMap<>();
+		for (Entry entry : fEntries) {
+			boolean matches= baselineCommit != null
+					? entry.getCommit().equals(baselineCommit)
+					: !entry.isRejected() && !entry.getCommit().equals(commit);
+			if (matches)
+				entries.put(entry.getName(), entry);
+		}
+		return entries;
+	}
+
+	/**
+	 * Appends the given entries to the history and its file.
+	 *
+	 * @param entries the entries
+	 * @throws IOException if the file cannot be written
+	 */
+	public void append(List<Entry> entries) throws IOException {
+		append(entries, false);
+	}
+
+	/**
+	 * Appends the given entries to the history and its file.
+	 *
+	 * @param entries the entries
+	 * @param rejected <code>true</code> if the run failed the regression gate, its entries are
+	 *            then never used as baseline
+	 * @throws IOException if the file cannot be written
+	 */
+	public void append(List<Entry> entries, boolean rejected) throws IOException {
+		List<Entry> recorded= entries;
+		if (rejected) {
+			recorded= new ArrayList<>(entries.size());
+			for (Entry entry : entries) {
+				recorded.add(entry.reject());
+			}
+		}
+		File parent= fFile.getParentFile();
+		if (parent != null)
+			parent.mkdirs();
+		boolean header= !fFile.isFile() || fFile.length() == 0;
+		try (BufferedWriter writer= Files.newBufferedWriter(fFile.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+			if (header) {
+				writer.write(CSV_HEADER);
+				writer.newLine();
+			}
+			for (Entry entry : recorded) {
+				writer.write(entry.toCSV());
+				writer.newLine();
+			}
+		}
+		fEntries.addAll(recorded);
+	}
+}
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The measurements of one benchmark: the elapsed time of every measured invocation, the average
+ * number of bytes allocated by an invocation and, if the benchmark is probed, the average number
+ * of counted calls made by an invocation.
+ */
+public final class BenchmarkResult {
+
+	/** The header of the result files written by {@link #write(List, File)}. */
+	public static final String CSV_HEADER= "benchmark,samples,mean_ns,median_ns,stddev_ns,min_ns,allocated_bytes,invocations";
+
+	private final String fName;
+	private final long[] fSamples;
+	private final long fAllocatedBytes;
+	private final long fInvocations;
+
+	/**
+	 * Creates a result.
+	 *
+	 * @param name the name of the benchmark
+	 * @param samples the elapsed time of each measured invocation in nanoseconds
+	 * @param allocatedBytes the average number of bytes allocated by an invocation, or
+	 *            <code>-1</code> if allocations cannot be measured
+	 */
+	public BenchmarkResult(String name, long[] samples, long allocatedBytes) {
+		this(name, samples, allocatedBytes, -1);
+	}
+
+	/**
+	 * Creates a result of a probed benchmark.
+	 *
+	 * @param name the name of the benchmark
+	 * @param samples the elapsed time of each measured invocation in nanoseconds
+	 * @param allocatedBytes the average number of bytes allocated by an invocation, or
+	 *            <code>-1</code> if allocations cannot be measured
+	 * @param invocations the average number of calls counted by the probe during an invocation,
+	 *            or <code>-1</code> if the benchmark is not probed
+	 */
+	public BenchmarkResult(String name, long[] samples, long allocatedBytes, long invocations) {
+		fName= name;
+		fSamples= samples.clone();
+		fAllocatedBytes= allocatedBytes;
+		fInvocations= invocations;
+	}
+
+	public String getName() {
+		return fName;
+	}
+
+	public int getSampleCount() {
+		return fSamples.length;
+	}
+
+	public long getAllocatedBytes() {
+		return fAllocatedBytes;
+	}
+
+	public long getInvocations() {
+		return fInvocations;
+	}
+
+	public double getMean() {
+		double sum= 0;
+		for (long sample : fSamples) {
+			sum+= sample;
+		}
+		return fSamples.length == 0 ? 0 : sum / fSamples.length;
+	}
+
+	public double getMedian() {
+		if (fSamples.length == 0)
+			return 0;
+		long[] sorted= fSamples.clone();
+		Arrays.sort(sorted);
+		int middle= sorted.length / 2;
+		return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+	}
+
+	public double getStandardDeviation() {
+		if (fSamples.length < 2)
+			return 0;
+		double mean= getMean();
+		double sum= 0;
+		for (long sample : fSamples) {
+			sum+= (sample - mean) * (sample - mean);
+		}
+		return Math.sqrt(sum / (fSamples.length - 1));
+	}
+
+	public long getMinimum() {
+		return fSamples.length == 0 ? 0 : Arrays.stream(fSamples).min().getAsLong();
+	}
+
+	/**
+	 * Returns the result as a line of comma separated values, see {@link #CSV_HEADER}.
+	 *
+	 * @return the line without line delimiter
+	 */
+	public String toCSV() {
+		return fName + ',' + fSamples.length + ',' + Math.round(getMean()) + ',' + Math.round(getMedian()) + ','
+				+ Math.round(getStandardDeviation()) + ',' + getMinimum() + ',' + fAllocatedBytes + ',' + fInvocations;
+	}
+
+	@Override
+	public String toString() {
+		String result= String.format("%s: %.3f ms/op (median %.3f ms, stddev %.3f ms, %d samples), %d bytes/op",
+				fName, getMean() / 1e6, getMedian() / 1e6, getStandardDeviation() / 1e6, Integer.valueOf(fSamples.length), Long.valueOf(fAllocatedBytes));
+		return fInvocations < 0 ? result : result + ", " + fInvocations + " invocations/op";
+	}
+
+	/**
+	 * Writes the given results as comma separated values with a header line.
+	 *
+	 * @param results the results
+	 * @param file the file to write, parent directories are created if necessary
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void write(List<BenchmarkResult> results, File file) throws IOException {
+		File parent= file.getParentFile();
+		if (parent != null)
+			parent.mkdirs();
+		try (BufferedWriter writer= Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			writer.write(CSV_HEADER);
+			writer.newLine();
+			for (BenchmarkResult result : results) {
+				writer.write(result.toCSV());
+				writer.newLine();
+			}
+		}
+	}
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+/**
+ * Runs benchmarks in the current thread without a workbench. An operation is invoked a number of
+ * times to warm up the JIT and the caches, then every further invocation is timed separately.
+ * <p>
+ * Allocations are measured with the thread allocation counters of the HotSpot management
+ * extension when the running VM provides them. Benchmarks can additionally be measured with a
+ * {@link Probe} that counts calls of interest, for example the misses of a cache.
+ * </p>
+ */
+public final class BenchmarkRunner {
+
+	/**
+	 * An operation that is measured.
+	 */
+	@FunctionalInterface
+	public interface Operation {
+		/**
+		 * Runs the operation once.
+		 *
+		 * @throws Exception if the operation fails, which fails the benchmark
+		 */
+		void run() throws Exception;
+	}
+
+	/**
+	 * A monotonic counter of calls made by the measured operation.
+	 */
+	@FunctionalInterface
+	public interface Probe {
+		/**
+		 * Returns the number of calls counted so far.
+		 *
+		 * @return the current count
+		 */
+		long getCount();
+	}
+
+	private static final ThreadMXBean fgThreadBean= ManagementFactory.getThreadMXBean();
+
+	private static final Method fgAllocatedBytesMethod= getAllocatedBytesMethod();
+
+	private BenchmarkRunner() {
+	}
+
+	/**
+	 * Measures the given operation.
+	 *
+	 * @param name the name of the benchmark
+	 * @param warmUps the number of invocations that are not measured
+	 * @param iterations the number of measured invocations
+	 * @param operation the operation
+	 * @return the result
+	 * @throws Exception if the operation fails
+	 */
+	public static BenchmarkResult measure(String name, int warmUps, int iterations, Operation operation) throws Exception {
+		return measure(name, warmUps, iterations, operation, null);
+	}
+
+	/**
+	 * Measures the given operation and the calls counted by a probe.
+	 *
+	 * @param name the name of the benchmark
+	 * @param warmUps the number of invocations that are not measured
+	 * @param iterations the number of measured invocations
+	 * @param operation the operation
+	 * @param probe the probe, or <code>null</code> to not count calls
+	 * @return the result
+	 * @throws Exception if the operation fails
+	 */
+	public static BenchmarkResult measure(String name, int warmUps, int iterations, Operation operation, Probe probe) throws Exception {
+		for (int i= 0; i < warmUps; i++) {
+			operation.run();
+		}
+		long[] samples= new long[iterations];
+		long countBefore= probe == null ? 0 : probe.getCount();
+		long allocatedBefore= getAllocatedBytes();
+		for (int i= 0; i < iterations; i++) {
+			long start= System.nanoTime();
+			operation.run();
+			samples[i]= System.nanoTime() - start;
+		}
+		long allocatedAfter= getAllocatedBytes();
+		long countAfter= probe == null ? 0 : probe.getCount();
+		long allocated= allocatedBefore < 0 || allocatedAfter < 0 || iterations == 0 ? -1 : (allocatedAfter - allocatedBefore) / iterations;
+		long invocations= probe == null || iterations == 0 ? -1 : (countAfter - countBefore) / iterations;
+		return new BenchmarkResult(name, samples, allocated, invocations);
+	}
+
+	private static Method getAllocatedBytesMethod() {
+		try {
+			Class<?> extension= Class.forName("com.sun.management.ThreadMXBean", false, ClassLoader.getSystemClassLoader());
+			if (!extension.isInstance(fgThreadBean))
+				return null;
+			return extension.getMethod("getThreadAllocatedBytes", long.class);
+		} catch (ReflectiveOperationException | LinkageError e) {
+			return null;
+		}
+	}
+
+	/*
+	 * Returns the number of bytes allocated by the current thread, or -1 if unknown.
+	 */
+	private static long getAllocatedBytes() {
+		if (fgAllocatedBytesMethod == null)
+			return -1;
+		try {
+			return ((Long) fgAllocatedBytesMethod.invoke(fgThreadBean, Long.valueOf(Thread.currentThread().getId()))).longValue();
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return -1;
+		}
+	}
+}
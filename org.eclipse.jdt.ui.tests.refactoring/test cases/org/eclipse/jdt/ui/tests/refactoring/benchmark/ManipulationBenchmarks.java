@@ -0,0 +1,452 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring.benchmark;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.swt.graphics.Color;
+import org.eclipse.swt.graphics.RGB;
+
+import org.eclipse.jface.preference.PreferenceStore;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.rules.IToken;
+
+import org.eclipse.ltk.core.refactoring.Change;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.participants.RenameRefactoring;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Block;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.MethodInvocation;
+import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
+import org.eclipse.jdt.core.dom.rewrite.ImportRewrite;
+import org.eclipse.jdt.core.dom.rewrite.ListRewrite;
+import org.eclipse.jdt.core.manipulation.ICleanUpFixCore;
+
+import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelCache;
+import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelComposerCore;
+import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelsCore;
+import org.eclipse.jdt.internal.corext.fix.CodeStyleFixCore;
+import org.eclipse.jdt.internal.corext.fix.VariableDeclarationFixCore;
+import org.eclipse.jdt.internal.corext.refactoring.generics.InferTypeArgumentsRefactoring;
+import org.eclipse.jdt.internal.corext.refactoring.rename.RenameTypeProcessor;
+import org.eclipse.jdt.internal.jarpackager.JarPackagerUtilCore;
+
+import org.eclipse.jdt.ui.text.IColorManager;
+
+import org.eclipse.jdt.internal.ui.text.java.JavaCodeScanner;
+
+import org.eclipse.jdt.ui.tests.refactoring.benchmark.BenchmarkHistory.Entry;
+
+/**
+ * Headless benchmarks of the hot paths of <code>org.eclipse.jdt.core.manipulation</code> and of
+ * the Java code scanner over a {@link SyntheticWorkspace}, and of unpacking a synthetic set of
+ * dependency archives as done by the runnable JAR export. The benchmarks need no workbench and
+ * are run by the
+ * <code>benchmarks</code> profile of this bundle:
+ *
+ * <pre>
+ * mvn verify -Pbenchmarks -pl org.eclipse.jdt.ui.tests.refactoring
+ * </pre>
+ *
+ * The results are printed and, if the system property {@value #RESULTS_PROPERTY} is set, written
+ * as comma separated values to the file <code>manipulation-benchmarks.csv</code> in that directory.
+ * <p>
+ * If the system property {@value #HISTORY_PROPERTY} names a file, the results are appended to
+ * that {@link BenchmarkHistory}, tagged with the commit given by {@value #COMMIT_PROPERTY}, and
+ * compared with the results of the commit given by {@value #BASELINE_PROPERTY} or else with the
+ * latest passed result of every benchmark. The run fails if a metric listed in
+ * {@value #GATE_PROPERTY} regresses by more than the relative threshold given by
+ * {@value #THRESHOLD_PROPERTY}, see {@link RegressionGate}. The results of a failed run are
+ * recorded as rejected and never become a baseline.
+ * </p>
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class ManipulationBenchmarks {
+
+	/** The system property with the directory for the result file. */
+	public static final String RESULTS_PROPERTY= "jdt.ui.benchmark.results";
+
+	/** The name of the result file. */
+	public static final String RESULTS_FILE= "manipulation-benchmarks.csv";
+
+	/** The system property with the history file, no history is kept if it is not set. */
+	public static final String HISTORY_PROPERTY= "jdt.ui.benchmark.history";
+
+	/** The system property with the measured commit, a unique run id is used if it is not set. */
+	public static final String COMMIT_PROPERTY= "jdt.ui.benchmark.commit";
+
+	/** The system property with the baseline commit, the latest passed results are used if it is not set. */
+	public static final String BASELINE_PROPERTY= "jdt.ui.benchmark.baseline";
+
+	/** The system property with the comma separated metrics that fail the run, all if not set. */
+	public static final String GATE_PROPERTY= "jdt.ui.benchmark.gate";
+
+	/** The system property with the tolerated relative growth of a metric, 0.1 if not set. */
+	public static final String THRESHOLD_PROPERTY= "jdt.ui.benchmark.threshold";
+
+	private static final int REPORTED_DELTAS= 10;
+
+	private static final long LABEL_FLAGS= JavaElementLabelsCore.ALL_DEFAULT | JavaElementLabelsCore.ALL_FULLY_QUALIFIED
+			| JavaElementLabelsCore.M_PARAMETER_NAMES | JavaElementLabelsCore.F_APP_TYPE_SIGNATURE | JavaElementLabelsCore.M_APP_RETURNTYPE;
+
+	private static final int PACKAGES= 10;
+
+	private static final int TYPES_PER_PACKAGE= 20;
+
+	private static final int WARM_UP_RUNS= 5;
+
+	private static final int MEASURED_RUNS= 20;
+
+	private static final int REFACTORING_WARM_UP_RUNS= 2;
+
+	private static final int REFACTORING_MEASURED_RUNS= 5;
+
+	private static final int DEPENDENCY_ARCHIVES= 20;
+
+	private static final int ENTRIES_PER_ARCHIVE= 250;
+
+	private static SyntheticWorkspace fgWorkspace;
+
+	private static final List<BenchmarkResult> fgResults= new ArrayList<>();
+
+	@BeforeClass
+	public static void setUpWorkspace() throws Exception {
+		fgWorkspace= new SyntheticWorkspace("BenchmarkProject", PACKAGES, TYPES_PER_PACKAGE);
+		JavaProjectHelper.performDummySearch();
+	}
+
+	@AfterClass
+	public static void tearDownWorkspace() throws Exception {
+		try {
+			for (BenchmarkResult result : fgResults) {
+				System.out.println(result);
+			}
+			String directory= System.getProperty(RESULTS_PROPERTY);
+			if (directory != null && !fgResults.isEmpty())
+				BenchmarkResult.write(fgResults, new File(directory, RESULTS_FILE));
+			String history= getProperty(HISTORY_PROPERTY, null);
+			if (history != null && !fgResults.isEmpty())
+				checkRegressions(new File(history));
+		} finally {
+			fgResults.clear();
+			if (fgWorkspace != null)
+				fgWorkspace.delete();
+			fgWorkspace= null;
+		}
+	}
+
+	/*
+	 * Returns the value of a system property, treating empty values like unset properties since
+	 * the build passes empty values for properties that are not configured.
+	 */
+	private static String getProperty(String key, String defaultValue) {
+		String value= System.getProperty(key);
+		return value == null || value.isBlank() ? defaultValue : value;
+	}
+
+	private static void checkRegressions(File file) throws Exception {
+		long timestamp= System.currentTimeMillis();
+		String commit= getProperty(COMMIT_PROPERTY, "run-" + timestamp);
+		List<Entry> entries= new ArrayList<>();
+		for (BenchmarkResult result : fgResults) {
+			entries.add(Entry.of(commit, timestamp, result));
+		}
+		BenchmarkHistory history= BenchmarkHistory.load(file);
+		Map<String, Entry> baseline= history.getBaseline(commit, getProperty(BASELINE_PROPERTY, null));
+		if (baseline.isEmpty()) {
+			history.append(entries);
+			System.out.println("No benchmark baseline in " + file + ", recorded " + commit);
+			return;
+		}
+		double threshold= Double.parseDouble(getProperty(THRESHOLD_PROPERTY, "0.1"));
+		RegressionGate gate= new RegressionGate(threshold, RegressionGate.parseMetrics(getProperty(GATE_PROPERTY, null)));
+		List<RegressionGate.Delta> deltas= gate.compare(baseline, entries);
+		boolean regressed= RegressionGate.hasRegression(deltas);
+		history.append(entries, regressed);
+		Set<String> baselineCommits= new TreeSet<>();
+		for (Entry entry : baseline.values()) {
+			baselineCommits.add(entry.getCommit());
+		}
+		String report= RegressionGate.report(deltas, REPORTED_DELTAS);
+		System.out.println("Benchmark changes of " + commit + " relative to " + String.join(", ", baselineCommits) + ":\n" + report);
+		if (regressed)
+			fail("Benchmarks regressed:\n" + report);
+	}
+
+	private static void measure(String name, int warmUps, int iterations, BenchmarkRunner.Operation operation) throws Exception {
+		fgResults.add(BenchmarkRunner.measure(name, warmUps, iterations, operation));
+	}
+
+	private static CompilationUnit createAST(ICompilationUnit cu) {
+		ASTParser parser= ASTParser.newParser(AST.getJLSLatest());
+		parser.setSource(cu);
+		parser.setResolveBindings(true);
+		return (CompilationUnit) parser.createAST(null);
+	}
+
+	private static ICompilationUnit getLastCompilationUnit() {
+		List<ICompilationUnit> cus= fgWorkspace.getCompilationUnits();
+		return cus.get(cus.size() - 1);
+	}
+
+	@Test
+	public void testASTRewrite() throws Exception {
+		CompilationUnit astRoot= createAST(getLastCompilationUnit());
+		measure("ASTRewrite", WARM_UP_RUNS, MEASURED_RUNS, () -> {
+			AST ast= astRoot.getAST();
+			ASTRewrite rewrite= ASTRewrite.create(ast);
+			astRoot.accept(new ASTVisitor() {
+				@Override
+				public boolean visit(MethodDeclaration node) {
+					ListRewrite statements= rewrite.getListRewrite(node.getBody(), Block.STATEMENTS_PROPERTY);
+					MethodInvocation invocation= ast.newMethodInvocation();
+					invocation.setName(ast.newSimpleName("hashCode"));
+					statements.insertFirst(ast.newExpressionStatement(invocation), null);
+					return false;
+				}
+			});
+			assertTrue(rewrite.rewriteAST().hasChildren());
+		});
+	}
+
+	@Test
+	public void testCleanUpFixCreation() throws Exception {
+		CompilationUnit astRoot= createAST(getLastCompilationUnit());
+		measure("CleanUpFixCreation", WARM_UP_RUNS, MEASURED_RUNS, () -> {
+			ICleanUpFixCore codeStyleFix= CodeStyleFixCore.createCleanUp(astRoot, true, false, false, false, true, false, false, false);
+			assertNotNull(codeStyleFix);
+			assertNotNull(codeStyleFix.createChange(null));
+			ICleanUpFixCore finalFix= VariableDeclarationFixCore.createCleanUp(astRoot, false, true, true);
+			assertNotNull(finalFix);
+			assertNotNull(finalFix.createChange(null));
+		});
+	}
+
+	@Test
+	public void testImportRewrite() throws Exception {
+		CompilationUnit astRoot= createAST(getLastCompilationUnit());
+		measure("ImportRewrite", WARM_UP_RUNS, MEASURED_RUNS, () -> {
+			ImportRewrite rewrite= ImportRewrite.create(astRoot, true);
+			rewrite.setImportOrder(new String[] { "java", "javax", "org", "com", "" });
+			for (int i= 1; i <= PACKAGES; i++) {
+				for (int j= 0; j < TYPES_PER_PACKAGE; j+= 4) {
+					rewrite.addImport("p" + i + '.' + SyntheticWorkspace.getTypeName(i, j));
+				}
+			}
+			assertTrue(rewrite.rewriteImports(null).hasChildren());
+		});
+	}
+
+	@Test
+	public void testInferTypeArguments() throws Exception {
+		IJavaElement[] elements= { fgWorkspace.getCompilationUnits().get(0).getParent() };
+		measure("InferTypeArguments", REFACTORING_WARM_UP_RUNS, REFACTORING_MEASURED_RUNS, () -> {
+			InferTypeArgumentsRefactoring refactoring= new InferTypeArgumentsRefactoring(elements);
+			RefactoringStatus status= refactoring.checkAllConditions(new NullProgressMonitor());
+			assertFalse(status.toString(), status.hasFatalError());
+			Change change= refactoring.createChange(new NullProgressMonitor());
+			assertNotNull(change);
+			change.dispose();
+		});
+	}
+
+	private static List<IMember> getMembers() throws Exception {
+		List<IMember> members= new ArrayList<>();
+		for (ICompilationUnit cu : fgWorkspace.getCompilationUnits()) {
+			for (IType type : cu.getTypes()) {
+				members.add(type);
+				members.addAll(List.of(type.getFields()));
+				members.addAll(List.of(type.getMethods()));
+			}
+		}
+		return members;
+	}
+
+	@Test
+	public void testCachedLabels() throws Exception {
+		List<IMember> members= getMembers();
+		JavaElementLabelCache cache= JavaElementLabelCache.getDefault();
+		// the misses of the warm cache count the labels that are composed again
+		fgResults.add(BenchmarkRunner.measure("CachedLabels", WARM_UP_RUNS, MEASURED_RUNS, () -> {
+			for (IMember member : members) {
+				JavaElementLabelsCore.getElementLabel(member, LABEL_FLAGS);
+			}
+		}, cache::getMissCount));
+	}
+
+	@Test
+	public void testJavaCodeScanner() throws Exception {
+		StringBuilder source= new StringBuilder();
+		for (ICompilationUnit cu : fgWorkspace.getCompilationUnits()) {
+			source.append(cu.getSource());
+		}
+		IDocument document= new Document(source.toString());
+		PreferenceStore store= new PreferenceStore();
+		store.setValue(JavaCore.COMPILER_SOURCE, JavaCore.latestSupportedJavaVersion());
+		// without a display the scanner creates tokens without colors, a color manager is never asked
+		IColorManager colorManager= new IColorManager() {
+			@Override
+			public Color getColor(String key) {
+				return null;
+			}
+
+			@Override
+			public Color getColor(RGB rgb) {
+				return null;
+			}
+
+			@Override
+			public void dispose() {
+			}
+		};
+		JavaCodeScanner scanner= new JavaCodeScanner(colorManager, store);
+		measure("JavaCodeScanner", WARM_UP_RUNS, MEASURED_RUNS, () -> {
+			scanner.setRange(document, 0, document.getLength());
+			int tokens= 0;
+			for (IToken token= scanner.nextToken(); !token.isEOF(); token= scanner.nextToken()) {
+				tokens++;
+			}
+			assertTrue(tokens > 0);
+		});
+	}
+
+	@Test
+	public void testLabelComposition() throws Exception {
+		List<IMember> members= getMembers();
+		measure("LabelComposition", WARM_UP_RUNS, MEASURED_RUNS, () -> {
+			// the composer is used directly, the shared label cache would hide its cost
+			StringBuffer buffer= new StringBuffer();
+			JavaElementLabelComposerCore composer= new JavaElementLabelComposerCore(buffer);
+			for (IMember member : members) {
+				buffer.setLength(0);
+				composer.appendElementLabel(member, LABEL_FLAGS);
+			}
+		});
+	}
+
+	@Test
+	public void testRenameType() throws Exception {
+		IType type= fgWorkspace.getBaseType();
+		measure("RenameType", REFACTORING_WARM_UP_RUNS, REFACTORING_MEASURED_RUNS, () -> {
+			RenameTypeProcessor processor= new RenameTypeProcessor(type);
+			processor.setNewElementName("RenamedBase");
+			processor.setUpdateReferences(true);
+			RenameRefactoring refactoring= new RenameRefactoring(processor);
+			RefactoringStatus status= refactoring.checkAllConditions(new NullProgressMonitor());
+			assertFalse(status.toString(), status.hasFatalError());
+			Change change= refactoring.createChange(new NullProgressMonitor());
+			assertNotNull(change);
+			change.dispose();
+		});
+	}
+
+	/*
+	 * Creates a synthetic dependency set: archives of deflated class-like entries whose content is
+	 * random but as redundant as real class files.
+	 */
+	private static List<File> createDependencyArchives(File directory) throws Exception {
+		Random random= new Random(42);
+		String[] words= { "java/lang/Object", "java/lang/String", "<init>", "Code", "LineNumberTable", "StackMapTable", "()V", "SourceFile" };
+		List<File> archives= new ArrayList<>();
+		for (int i= 0; i < DEPENDENCY_ARCHIVES; i++) {
+			File archive= new File(directory, "dependency" + i + ".jar");
+			try (ZipOutputStream out= new ZipOutputStream(new FileOutputStream(archive))) {
+				for (int j= 0; j < ENTRIES_PER_ARCHIVE; j++) {
+					out.putNextEntry(new ZipEntry("lib" + i + "/p" + j % 10 + "/Type" + j + ".class"));
+					StringBuilder content= new StringBuilder();
+					while (content.length() < 4096) {
+						content.append(words[random.nextInt(words.length)]).append(random.nextInt(100));
+					}
+					out.write(content.toString().getBytes(StandardCharsets.US_ASCII));
+					out.closeEntry();
+				}
+			}
+			archives.add(archive);
+		}
+		return archives;
+	}
+
+	@Test
+	public void testUnpackArchives() throws Exception {
+		File directory= Files.createTempDirectory("jdt-benchmark").toFile();
+		List<ZipFile> zipFiles= new ArrayList<>();
+		try {
+			for (File archive : createDependencyArchives(directory)) {
+				zipFiles.add(new ZipFile(archive));
+			}
+			measure("UnpackArchives", REFACTORING_WARM_UP_RUNS, REFACTORING_MEASURED_RUNS, () -> {
+				MultiStatus status= new MultiStatus("org.eclipse.jdt.ui.tests.refactoring", IStatus.OK, "", null);
+				Set<String> directories= new HashSet<>();
+				try (JarOutputStream out= new JarOutputStream(OutputStream.nullOutputStream())) {
+					for (ZipFile zipFile : zipFiles) {
+						JarPackagerUtilCore.writeArchive(zipFile, true, true, out, directories, status, new NullProgressMonitor());
+					}
+				}
+				assertTrue(status.toString(), status.isOK());
+			});
+		} finally {
+			for (ZipFile zipFile : zipFiles) {
+				zipFile.close();
+			}
+			for (File file : directory.listFiles()) {
+				file.delete();
+			}
+			directory.delete();
+		}
+	}
+}
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring.benchmark;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.ui.tests.refactoring.benchmark.BenchmarkHistory.Entry;
+
+/**
+ * Compares benchmark results with a baseline and decides whether they regressed.
+ * <p>
+ * A metric regresses if it grew by more than the relative threshold. Timings are noisy, so a
+ * timing additionally has to differ significantly: the statistic of Welch's t-test computed from
+ * the means and standard deviations of both runs has to exceed {@value #T_CRITICAL}. Allocations
+ * are nearly deterministic and are only compared with the threshold. Invocation counts are exact,
+ * every increase is a regression.
+ * </p>
+ */
+public final class RegressionGate {
+
+	/**
+	 * The metrics that can be compared.
+	 */
+	public enum Metric {
+		TIME, ALLOCATION, INVOCATIONS
+	}
+
+	/** The minimal t statistic of a significant change in timing. */
+	public static final double T_CRITICAL= 3.0;
+
+	/**
+	 * The change of one metric of one benchmark.
+	 */
+	public static final class Delta {
+		private final String fName;
+		private final Metric fMetric;
+		private final double fBaseline;
+		private final double fCurrent;
+		private final boolean fRegression;
+
+		Delta(String name, Metric metric, double baseline, double current, boolean regression) {
+			fName= name;
+			fMetric= metric;
+			fBaseline= baseline;
+			fCurrent= current;
+			fRegression= regression;
+		}
+
+		public String getName() {
+			return fName;
+		}
+
+		public Metric getMetric() {
+			return fMetric;
+		}
+
+		public double getBaseline() {
+			return fBaseline;
+		}
+
+		public double getCurrent() {
+			return fCurrent;
+		}
+
+		/**
+		 * Returns the relative change, positive if the metric grew.
+		 *
+		 * @return the change relative to the baseline, infinite if the baseline is 0
+		 */
+		public double getRelativeChange() {
+			if (fBaseline == 0)
+				return fCurrent == 0 ? 0 : Double.POSITIVE_INFINITY;
+			return (fCurrent - fBaseline) / fBaseline;
+		}
+
+		public boolean isRegression() {
+			return fRegression;
+		}
+
+		@Override
+		public String toString() {
+			String format= fMetric == Metric.TIME ? "%.3f ms" : fMetric == Metric.ALLOCATION ? "%.0f bytes" : "%.0f";
+			double scale= fMetric == Metric.TIME ? 1e6 : 1;
+			return String.format(Locale.ROOT, "%s %s: " + format + " -> " + format + " (%+.1f%%)%s", fName, fMetric.name().toLowerCase(Locale.ROOT),
+					Double.valueOf(fBaseline / scale), Double.valueOf(fCurrent / scale), Double.valueOf(getRelativeChange() * 100), fRegression ? " REGRESSION" : "");
+		}
+	}
+
+	private final double fThreshold;
+
+	private final Set<Metric> fMetrics;
+
+	/**
+	 * Creates a gate.
+	 *
+	 * @param threshold the relative growth that is tolerated, for example <code>0.1</code> for 10%
+	 * @param metrics the metrics that fail the gate, other metrics are only reported
+	 */
+	public RegressionGate(double threshold, Set<Metric> metrics) {
+		fThreshold= threshold;
+		fMetrics= metrics.isEmpty() ? EnumSet.noneOf(Metric.class) : EnumSet.copyOf(metrics);
+	}
+
+	/**
+	 * Parses a comma separated list of metric names, for example <code>time,allocation</code>.
+	 *
+	 * @param metrics the list, <code>null</code> for all metrics
+	 * @return the metrics
+	 */
+	public static Set<Metric> parseMetrics(String metrics) {
+		if (metrics == null)
+			return EnumSet.allOf(Metric.class);
+		Set<Metric> result= EnumSet.noneOf(Metric.class);
+		for (String metric : metrics.split(",")) {
+			if (!metric.isBlank())
+				result.add(Metric.valueOf(metric.trim().toUpperCase(Locale.ROOT)));
+		}
+		return result;
+	}
+
+	/**
+	 * Compares the current results with the baseline. Benchmarks without a baseline and metrics
+	 * that have not been measured in both runs are skipped.
+	 *
+	 * @param baseline the baseline entries by benchmark name
+	 * @param current the current entries
+	 * @return the changes, the biggest relative growth first
+	 */
+	public List<Delta> compare(Map<String, Entry> baseline, List<Entry> current) {
+		List<Delta> deltas= new ArrayList<>();
+		for (Entry entry : current) {
+			Entry base= baseline.get(entry.getName());
+			if (base == null)
+				continue;
+			double growth= entry.getMean() - base.getMean();
+			boolean slower= growth > base.getMean() * fThreshold && getTStatistic(base, entry) > T_CRITICAL;
+			deltas.add(new Delta(entry.getName(), Metric.TIME, base.getMean(), entry.getMean(), slower && fMetrics.contains(Metric.TIME)));
+			if (base.getAllocatedBytes() >= 0 && entry.getAllocatedBytes() >= 0) {
+				boolean allocates= entry.getAllocatedBytes() - base.getAllocatedBytes() > base.getAllocatedBytes() * fThreshold;
+				deltas.add(new Delta(entry.getName(), Metric.ALLOCATION, base.getAllocatedBytes(), entry.getAllocatedBytes(),
+						allocates && fMetrics.contains(Metric.ALLOCATION)));
+			}
+			if (base.getInvocations() >= 0 && entry.getInvocations() >= 0) {
+				boolean calls= entry.getInvocations() > base.getInvocations();
+				deltas.add(new Delta(entry.getName(), Metric.INVOCATIONS, base.getInvocations(), entry.getInvocations(),
+						calls && fMetrics.contains(Metric.INVOCATIONS)));
+			}
+		}
+		deltas.sort(Comparator.comparingDouble(Delta::getRelativeChange).reversed());
+		return deltas;
+	}
+
+	/**
+	 * Returns whether one of the changes is a regression.
+	 *
+	 * @param deltas the changes
+	 * @return <code>true</code> if the gate fails
+	 */
+	public static boolean hasRegression(List<Delta> deltas) {
+		return deltas.stream().anyMatch(Delta::isRegression);
+	}
+
+	/**
+	 * Creates a report of all regressions and of the biggest other changes.
+	 *
+	 * @param deltas the changes, the biggest first
+	 * @param max the maximal number of changes that are not regressions to report
+	 * @return the report, one change per line
+	 */
+	public static String report(List<Delta> deltas, int max) {
+		StringBuilder buf= new StringBuilder();
+		int reported= 0;
+		for (Delta delta : deltas) {
+			if (delta.isRegression() || reported++ < max)
+				buf.append(delta).append('\n');
+		}
+		return buf.toString();
+	}
+
+	/*
+	 * Welch's t statistic of the growth of the mean time, 0 if it cannot be computed.
+	 */
+	private static double getTStatistic(Entry base, Entry current) {
+		if (base.getSampleCount() == 0 || current.getSampleCount() == 0)
+			return 0;
+		double baseVariance= base.getStandardDeviation() * base.getStandardDeviation() / base.getSampleCount();
+		double currentVariance= current.getStandardDeviation() * current.getStandardDeviation() / current.getSampleCount();
+		double error= Math.sqrt(baseVariance + currentVariance);
+		double growth= current.getMean() - base.getMean();
+		if (error == 0)
+			return growth > 0 ? Double.POSITIVE_INFINITY : 0;
+		return growth / error;
+	}
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.eclipse.jdt.ui.tests.refactoring.benchmark.BenchmarkHistory.Entry;
+import org.eclipse.jdt.ui.tests.refactoring.benchmark.RegressionGate.Delta;
+import org.eclipse.jdt.ui.tests.refactoring.benchmark.RegressionGate.Metric;
+
+public class RegressionGateTests {
+
+	@Rule
+	public TemporaryFolder fFolder= new TemporaryFolder();
+
+	private static Entry entry(String commit, String name, double mean, double stddev, long allocated, long invocations) {
+		return new Entry(commit, 0, name, 20, mean, mean, stddev, (long) mean, allocated, invocations);
+	}
+
+	@Test
+	public void testSignificantSlowdownRegresses() throws Exception {
+		RegressionGate gate= new RegressionGate(0.1, RegressionGate.parseMetrics(null));
+		Map<String, Entry> baseline= Map.of("A", entry("c1", "A", 1000, 10, 100, -1));
+		List<Delta> deltas= gate.compare(baseline, List.of(entry("c2", "A", 1200, 10, 100, -1)));
+		assertEquals(2, deltas.size());
+		assertEquals(Metric.TIME, deltas.get(0).getMetric());
+		assertEquals(0.2, deltas.get(0).getRelativeChange(), 1e-9);
+		assertTrue(RegressionGate.hasRegression(deltas));
+	}
+
+	@Test
+	public void testNoisySlowdownPasses() throws Exception {
+		RegressionGate gate= new RegressionGate(0.1, RegressionGate.parseMetrics(null));
+		Map<String, Entry> baseline= Map.of("A", entry("c1", "A", 1000, 500, 100, -1));
+		List<Delta> deltas= gate.compare(baseline, List.of(entry("c2", "A", 1200, 500, 100, -1)));
+		assertFalse(RegressionGate.hasRegression(deltas));
+	}
+
+	@Test
+	public void testAllocationAndInvocations() throws Exception {
+		RegressionGate gate= new RegressionGate(0.1, EnumSet.of(Metric.INVOCATIONS));
+		Map<String, Entry> baseline= Map.of("A", entry("c1", "A", 1000, 10, 100, 0));
+		List<Delta> deltas= gate.compare(baseline, List.of(entry("c2", "A", 1000, 10, 200, 3)));
+		assertEquals(3, deltas.size());
+		Delta first= deltas.get(0);
+		assertEquals(Metric.INVOCATIONS, first.getMetric());
+		assertTrue(first.isRegression());
+		Delta second= deltas.get(1);
+		assertEquals(Metric.ALLOCATION, second.getMetric());
+		assertFalse(second.isRegression());
+		String report= RegressionGate.report(deltas, 0);
+		assertEquals(first + "\n", report);
+	}
+
+	@Test
+	public void testHistoryBaseline() throws Exception {
+		File file= new File(fFolder.getRoot(), "history/history.csv");
+		BenchmarkHistory history= BenchmarkHistory.load(file);
+		assertTrue(history.getBaseline("c1", null).isEmpty());
+		history.append(List.of(entry("c1", "A", 1000, 10, 100, -1), entry("c1", "B", 2000, 10, 100, 5)));
+		history.append(List.of(entry("c2", "A", 1100, 10, 100, -1)));
+
+		BenchmarkHistory loaded= BenchmarkHistory.load(file);
+		assertEquals(3, loaded.getEntries().size());
+		Entry b= loaded.getEntries().get(1);
+		assertEquals("B", b.getName());
+		assertEquals(2000, b.getMean(), 0);
+		assertEquals(5, b.getInvocations());
+
+		assertEquals("c2", loaded.getBaseline("c3", null).get("A").getCommit());
+		assertEquals("c1", loaded.getBaseline("c2", null).get("A").getCommit());
+		assertEquals(2, loaded.getBaseline("c3", "c1").size());
+	}
+
+	@Test
+	public void testBaselineFallsBackPerBenchmark() throws Exception {
+		File file= new File(fFolder.getRoot(), "history.csv");
+		BenchmarkHistory history= BenchmarkHistory.load(file);
+		history.append(List.of(entry("c1", "A", 1000, 10, 100, -1), entry("c1", "B", 2000, 10, 100, 5)));
+		history.append(List.of(entry("c2", "A", 1100, 10, 100, -1)));
+
+		Map<String, Entry> baseline= BenchmarkHistory.load(file).getBaseline("c3", null);
+		assertEquals(2, baseline.size());
+		assertEquals("c2", baseline.get("A").getCommit());
+		assertEquals("c1", baseline.get("B").getCommit());
+	}
+
+	@Test
+	public void testRejectedRunIsNoBaseline() throws Exception {
+		File file= new File(fFolder.getRoot(), "history.csv");
+		BenchmarkHistory history= BenchmarkHistory.load(file);
+		history.append(List.of(entry("c1", "A", 1000, 10, 100, -1)));
+		history.append(List.of(entry("c2", "A", 1500, 10, 100, -1)), true);
+
+		BenchmarkHistory loaded= BenchmarkHistory.load(file);
+		assertTrue(loaded.getEntries().get(1).isRejected());
+		assertFalse(loaded.getEntries().get(0).isRejected());
+
+		// re-running the regressed build still compares with the last passed run
+		RegressionGate gate= new RegressionGate(0.1, RegressionGate.parseMetrics(null));
+		Map<String, Entry> baseline= loaded.getBaseline("c3", null);
+		assertEquals("c1", baseline.get("A").getCommit());
+		assertTrue(RegressionGate.hasRegression(gate.compare(baseline, List.of(entry("c3", "A", 1500, 10, 100, -1)))));
+
+		// a pinned baseline is used as is
+		assertEquals("c2", loaded.getBaseline("c3", "c2").get("A").getCommit());
+	}
+}
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.refactoring.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+
+/**
+ * A generated Java project for benchmarks. Package <code>p0</code> contains the class
+ * <code>Base</code>, and each further package <code>p&lt;i&gt;</code> contains the classes
+ * <code>T&lt;i&gt;_&lt;j&gt;</code>. Every class extends <code>Base</code>, references the
+ * previous class of its package and uses a raw list, so that the project contains references to
+ * rename, code to clean up and type arguments to infer.
+ */
+public final class SyntheticWorkspace {
+
+	private final IJavaProject fProject;
+	private final IPackageFragmentRoot fSourceFolder;
+	private final List<ICompilationUnit> fCompilationUnits= new ArrayList<>();
+	private final IType fBaseType;
+
+	/**
+	 * Creates the project.
+	 *
+	 * @param name the name of the project
+	 * @param packages the number of packages besides <code>p0</code>
+	 * @param typesPerPackage the number of classes in each of these packages
+	 * @throws CoreException if the project cannot be created
+	 */
+	public SyntheticWorkspace(String name, int packages, int typesPerPackage) throws CoreException {
+		fProject= JavaProjectHelper.createJavaProject(name, "bin");
+		JavaProjectHelper.addRTJar18(fProject);
+		fSourceFolder= JavaProjectHelper.addSourceContainer(fProject, "src");
+
+		IPackageFragment basePackage= fSourceFolder.createPackageFragment("p0", true, null);
+		ICompilationUnit base= basePackage.createCompilationUnit("Base.java", createBase(), true, null);
+		fBaseType= base.getType("Base");
+
+		for (int i= 1; i <= packages; i++) {
+			IPackageFragment pack= fSourceFolder.createPackageFragment("p" + i, true, null);
+			for (int j= 0; j < typesPerPackage; j++) {
+				String typeName= getTypeName(i, j);
+				fCompilationUnits.add(pack.createCompilationUnit(typeName + ".java", createType(i, j), true, null));
+			}
+		}
+	}
+
+	public IJavaProject getProject() {
+		return fProject;
+	}
+
+	public IPackageFragmentRoot getSourceFolder() {
+		return fSourceFolder;
+	}
+
+	/**
+	 * Returns the compilation units of the generated classes, without <code>Base</code>.
+	 *
+	 * @return the compilation units
+	 */
+	public List<ICompilationUnit> getCompilationUnits() {
+		return fCompilationUnits;
+	}
+
+	public IType getBaseType() {
+		return fBaseType;
+	}
+
+	/**
+	 * Returns the simple name of a generated class.
+	 *
+	 * @param pack the number of the package
+	 * @param index the index of the class in the package
+	 * @return the name
+	 */
+	public static String getTypeName(int pack, int index) {
+		return "T" + pack + '_' + index;
+	}
+
+	/**
+	 * Deletes the project.
+	 *
+	 * @throws CoreException if the project cannot be deleted
+	 */
+	public void delete() throws CoreException {
+		if (fProject.exists())
+			JavaProjectHelper.delete(fProject);
+	}
+
+	private static String createBase() {
+		StringBuilder buf= new StringBuilder();
+		buf.append("package p0;\n");
+		buf.append("\n");
+		buf.append("public class Base {\n");
+		buf.append("    protected int fValue;\n");
+		buf.append("\n");
+		buf.append("    public int getValue() {\n");
+		buf.append("        return fValue;\n");
+		buf.append("    }\n");
+		buf.append("\n");
+		buf.append("    public void setValue(int value) {\n");
+		buf.append("        fValue= value;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		return buf.toString();
+	}
+
+	private static String createType(int pack, int index) {
+		String name= getTypeName(pack, index);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package p").append(pack).append(";\n");
+		buf.append("\n");
+		buf.append("import java.util.ArrayList;\n");
+		buf.append("import java.util.List;\n");
+		buf.append("\n");
+		buf.append("import p0.Base;\n");
+		buf.append("\n");
+		buf.append("public class ").append(name).append(" extends Base {\n");
+		buf.append("    private List fNames= new ArrayList();\n");
+		buf.append("    private int fCount;\n");
+		if (index > 0)
+			buf.append("    private ").append(getTypeName(pack, index - 1)).append(" fPrevious;\n");
+		buf.append("\n");
+		buf.append("    public void add(String name) {\n");
+		buf.append("        int length= name.length();\n");
+		buf.append("        fNames.add(name);\n");
+		buf.append("        fCount= fCount + length;\n");
+		buf.append("        setValue(fCount);\n");
+		buf.append("    }\n");
+		buf.append("\n");
+		buf.append("    public String get(int index) {\n");
+		buf.append("        String name= (String) fNames.get(index);\n");
+		buf.append("        return name;\n");
+		buf.append("    }\n");
+		buf.append("\n");
+		buf.append("    public Base copy(Base other) {\n");
+		buf.append("        Base base= new Base();\n");
+		buf.append("        base.setValue(other.getValue() + getValue());\n");
+		if (index > 0)
+			buf.append("        fPrevious= new ").append(getTypeName(pack, index - 1)).append("();\n");
+		buf.append("        return base;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		return buf.toString();
+	}
+}
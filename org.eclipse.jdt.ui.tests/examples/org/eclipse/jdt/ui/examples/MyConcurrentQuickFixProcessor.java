@@ -0,0 +1,68 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.examples;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.compiler.IProblem;
+
+import org.eclipse.jdt.ui.text.java.IInvocationContext;
+import org.eclipse.jdt.ui.text.java.IJavaCompletionProposal;
+import org.eclipse.jdt.ui.text.java.IProblemLocation;
+import org.eclipse.jdt.ui.text.java.IQuickFixProcessor;
+import org.eclipse.jdt.ui.text.java.correction.CUCorrectionProposal;
+
+/**
+ * A quick fix processor that is declared thread safe. It is active on files with the name C.java
+ * and remembers the thread it was last invoked on. Its proposals have no image, since images
+ * must not be created off the UI thread.
+ */
+public class MyConcurrentQuickFixProcessor implements IQuickFixProcessor {
+
+	private static volatile Thread fgLastThread;
+
+	public static Thread getLastThread() {
+		return fgLastThread;
+	}
+
+	@Override
+	public boolean hasCorrections(ICompilationUnit unit, int problemId) {
+		return (problemId == IProblem.NumericValueOutOfRange);
+	}
+
+	@Override
+	public IJavaCompletionProposal[] getCorrections(IInvocationContext context, IProblemLocation[] locations) throws CoreException {
+		fgLastThread= Thread.currentThread();
+		for (IProblemLocation location : locations) {
+			if (location.getProblemId() == IProblem.NumericValueOutOfRange) {
+				int offset= location.getOffset();
+				int length= location.getLength();
+				CUCorrectionProposal proposal= new CUCorrectionProposal("Change to 0", context.getCompilationUnit(), null, 5, null) {
+					@Override
+					protected void addEdits(IDocument document, TextEdit editRoot) throws CoreException {
+						editRoot.addChild(new ReplaceEdit(offset, length, "0"));
+					}
+				};
+				return new IJavaCompletionProposal[] { proposal };
+			}
+		}
+		return null;
+	}
+}
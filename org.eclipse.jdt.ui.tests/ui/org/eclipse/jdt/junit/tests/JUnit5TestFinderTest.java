@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.junit.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.junit.JUnitCore;
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.StringAsserts;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+
+import org.eclipse.jdt.internal.junit.launcher.ITestKind;
+import org.eclipse.jdt.internal.junit.launcher.JUnit5TestFinder;
+import org.eclipse.jdt.internal.junit.launcher.TestKindRegistry;
+
+
+public class JUnit5TestFinderTest {
+
+	private IJavaProject fProject;
+	private IPackageFragmentRoot fRoot;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= JavaProjectHelper.createJavaProject("TestProject", "bin");
+		JavaProjectHelper.addRTJar18(fProject);
+		JavaProjectHelper.addToClasspath(fProject, JavaCore.newContainerEntry(JUnitCore.JUNIT5_CONTAINER_PATH));
+		JavaProjectHelper.set18CompilerOptions(fProject);
+
+		fRoot= JavaProjectHelper.addSourceContainer(fProject, "src");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		JavaProjectHelper.delete(fProject);
+	}
+
+	@Test
+	public void testAnnotations() throws Exception {
+		IPackageFragment p= fRoot.createPackageFragment("p", true, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("import org.junit.jupiter.api.Test;\n");
+		buf.append("public class Test1 {\n");
+		buf.append("    @Test void testFoo() {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		p.createCompilationUnit("Test1.java", buf.toString(), false, null);
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("import org.junit.jupiter.api.Test;\n");
+		buf.append("public abstract class AbstractTest {\n");
+		buf.append("    @Test void testFoo() {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		p.createCompilationUnit("AbstractTest.java", buf.toString(), false, null);
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("public class Test2 extends AbstractTest {\n");
+		buf.append("}\n");
+		p.createCompilationUnit("Test2.java", buf.toString(), false, null);
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("import java.lang.annotation.Retention;\n");
+		buf.append("import java.lang.annotation.RetentionPolicy;\n");
+		buf.append("import org.junit.jupiter.api.Test;\n");
+		buf.append("@Retention(RetentionPolicy.RUNTIME)\n");
+		buf.append("@Test\n");
+		buf.append("public @interface MyTest {\n");
+		buf.append("}\n");
+		p.createCompilationUnit("MyTest.java", buf.toString(), false, null);
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("public class Test3 {\n");
+		buf.append("    @MyTest void testFoo() {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		p.createCompilationUnit("Test3.java", buf.toString(), false, null);
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("import org.junit.jupiter.api.Nested;\n");
+		buf.append("public class Test4 {\n");
+		buf.append("    @Nested class Inner {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		p.createCompilationUnit("Test4.java", buf.toString(), false, null);
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("public class NoTest {\n");
+		buf.append("    void testFoo() {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		p.createCompilationUnit("NoTest.java", buf.toString(), false, null);
+
+		String[] validTests= { "p.Test1", "p.Test2", "p.Test3", "p.Test4" };
+		assertTestFound(p, validTests);
+		assertTestFound(fRoot, validTests);
+		assertTestFound(fProject, validTests);
+	}
+
+	@Test
+	public void testChangedSupertype() throws Exception {
+		IPackageFragment p= fRoot.createPackageFragment("p", true, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("public class Base {\n");
+		buf.append("    void testFoo() {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		ICompilationUnit base= p.createCompilationUnit("Base.java", buf.toString(), false, null);
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("import org.junit.jupiter.api.Test;\n");
+		buf.append("public class Test1 extends Base {\n");
+		buf.append("    @Test void testBar() {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		p.createCompilationUnit("Test1.java", buf.toString(), false, null);
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("public class Test2 extends Base {\n");
+		buf.append("}\n");
+		p.createCompilationUnit("Test2.java", buf.toString(), false, null);
+
+		assertTestFound(p, new String[] { "p.Test1" });
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("import org.junit.jupiter.api.Test;\n");
+		buf.append("public class Base {\n");
+		buf.append("    @Test void testFoo() {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		base.getBuffer().setContents(buf.toString());
+		base.save(null, true);
+
+		// cached results of the subclasses must not be reused
+		assertTestFound(p, new String[] { "p.Base", "p.Test1", "p.Test2" });
+	}
+
+	@Test
+	public void testCacheDroppedOnProjectClose() throws Exception {
+		IPackageFragment p= fRoot.createPackageFragment("p", true, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("import org.junit.jupiter.api.Test;\n");
+		buf.append("public class Test1 {\n");
+		buf.append("    @Test void testFoo() {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		p.createCompilationUnit("Test1.java", buf.toString(), false, null);
+
+		buf= new StringBuilder();
+		buf.append("package p;\n");
+		buf.append("import org.junit.jupiter.api.Test;\n");
+		buf.append("public class Test2 {\n");
+		buf.append("    @Test void testBar() {\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		p.createCompilationUnit("Test2.java", buf.toString(), false, null);
+
+		int cachedBefore= getCachedTypeCount();
+		assertTestFound(p, new String[] { "p.Test1", "p.Test2" });
+		assertEquals(cachedBefore + 2, getCachedTypeCount());
+
+		fProject.getProject().close(null);
+		assertEquals(cachedBefore, getCachedTypeCount());
+
+		fProject.getProject().open(null);
+		assertTestFound(p, new String[] { "p.Test1", "p.Test2" });
+		assertEquals(cachedBefore + 2, getCachedTypeCount());
+	}
+
+	private static int getCachedTypeCount() throws Exception {
+		// the cache is internal to the test finders
+		Class<?> cacheClass= Class.forName("org.eclipse.jdt.internal.junit.launcher.TestTypeCache", true, JUnit5TestFinder.class.getClassLoader());
+		Method getDefault= cacheClass.getDeclaredMethod("getDefault");
+		getDefault.setAccessible(true);
+		Method size= cacheClass.getDeclaredMethod("size");
+		size.setAccessible(true);
+		return ((Integer) size.invoke(getDefault.invoke(null))).intValue();
+	}
+
+	private void assertTestFound(IJavaElement container, String[] expectedTypes) throws CoreException {
+		ITestKind testKind= TestKindRegistry.getContainerTestKind(container);
+		assertEquals(TestKindRegistry.JUNIT5_TEST_KIND_ID, testKind.getId());
+
+		HashSet<IType> set= new HashSet<>(Arrays.asList(JUnitCore.findTestTypes(container, null)));
+		HashSet<String> namesFound= new HashSet<>();
+		for (IType curr : set) {
+			namesFound.add(curr.getFullyQualifiedName('.'));
+		}
+		String[] actuals= namesFound.toArray(new String[namesFound.size()]);
+		StringAsserts.assertEqualStringsIgnoreOrder(actuals, expectedTypes);
+	}
+}
@@ -41,6 +41,7 @@ TestRunSessionSerializationTests4.class,
 JUnit3TestFinderTest.class,
 JUnit4TestFinderTest.class,
 JUnit4TestFinderTest16.class,
+JUnit5TestFinderTest.class,
 
 TestSorting.class
 /**
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import org.eclipse.jdt.internal.corext.dom.ASTCache;
+import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
+
+import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
+
+public class ASTCacheTest extends CoreTests {
+
+	@Rule
+	public ProjectTestSetup pts= new ProjectTestSetup();
+
+	private IJavaProject fJProject1;
+	private IPackageFragmentRoot fSourceFolder;
+
+	@Before
+	public void setUp() throws Exception {
+		fJProject1= pts.getProject();
+		fSourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		ASTCache.getDefault().clear();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ASTCache.getDefault().clear();
+		JavaProjectHelper.clear(fJProject1, pts.getDefaultClasspath());
+	}
+
+	private static CompilationUnit getAST(ICompilationUnit cu, boolean resolveBindings) {
+		return ASTCache.getDefault().getAST(cu, IASTSharedValues.SHARED_AST_LEVEL, resolveBindings, false, false, null);
+	}
+
+	@Test
+	public void testReuseForSameContent() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String str= """
+			package test1;
+			public class E {
+			    public void foo() {
+			    }
+			}
+			""";
+		ICompilationUnit cu= pack1.createCompilationUnit("E.java", str, false, null);
+
+		ASTCache cache= ASTCache.getDefault();
+		long hits= cache.getHitCount();
+		long misses= cache.getMissCount();
+
+		CompilationUnit ast1= getAST(cu, true);
+		assertNotNull(ast1);
+		CompilationUnit ast2= getAST(cu, true);
+		assertSame(ast1, ast2);
+		assertEquals(misses + 1, cache.getMissCount());
+		assertEquals(hits + 1, cache.getHitCount());
+
+		CompilationUnit ast3= getAST(cu, false);
+		assertNotSame(ast1, ast3);
+		assertEquals(misses + 2, cache.getMissCount());
+	}
+
+	@Test
+	public void testNoReuseAfterChange() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String str= """
+			package test1;
+			public class E {
+			    public void foo() {
+			    }
+			}
+			""";
+		ICompilationUnit cu= pack1.createCompilationUnit("E.java", str, false, null);
+
+		CompilationUnit ast1= getAST(cu, true);
+
+		cu.becomeWorkingCopy(null);
+		try {
+			cu.getBuffer().setContents(str.replace("foo", "bar"));
+			CompilationUnit ast2= getAST(cu, true);
+			assertNotSame(ast1, ast2);
+			assertSame(ast2, getAST(cu, true));
+		} finally {
+			cu.discardWorkingCopy();
+		}
+	}
+
+	@Test
+	public void testFlushOnSignatureChangeOnDisk() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		String str= """
+			package test1;
+			public class E {
+			    public void foo() {
+			    }
+			}
+			""";
+		ICompilationUnit cuE= pack1.createCompilationUnit("E.java", str, false, null);
+		String str2= """
+			package test1;
+			public class F {
+			    void bar(E e) {
+			        e.foo();
+			    }
+			}
+			""";
+		ICompilationUnit cuF= pack1.createCompilationUnit("F.java", str2, false, null);
+
+		CompilationUnit ast1= getAST(cuF, true);
+		assertSame(ast1, getAST(cuF, true));
+
+		IFile file= (IFile) cuE.getResource();
+		String changed= str.replace("public void foo()", "public int foo(int i)");
+		file.setContents(new ByteArrayInputStream(changed.getBytes(file.getCharset())), IResource.FORCE, null);
+
+		CompilationUnit ast2= getAST(cuF, true);
+		assertNotSame(ast1, ast2);
+	}
+}
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.ui.tests.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 
 import org.junit.After;
@@ -30,6 +31,11 @@ import org.eclipse.core.runtime.OperationCanceledException;
 
 import org.eclipse.text.edits.ReplaceEdit;
 
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+
+import org.eclipse.ui.texteditor.ITextEditor;
+
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.CreateChangeOperation;
 import org.eclipse.ltk.core.refactoring.PerformChangeOperation;
@@ -47,6 +53,9 @@ import org.eclipse.jdt.core.refactoring.CompilationUnitChange;
 import org.eclipse.jdt.ui.JavaUI;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 
+import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.ASTProvider;
+
 
 /**
  * Tests the AST provider.
@@ -141,6 +150,31 @@ public class ASTProviderTest extends CoreTests {
 		cu.getBuffer().save(null, true);
 	}
 
+	@Test
+	public void testReconciledASTHasDocumentStamp() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E1 {\n");
+		buf.append("}\n");
+		final ICompilationUnit cu= pack1.createCompilationUnit("E1.java", buf.toString(), false, null);
+
+		ITextEditor editor= (ITextEditor) JavaUI.openInEditor(cu);
+		try {
+			IDocument document= editor.getDocumentProvider().getDocument(editor.getEditorInput());
+			document.replace(buf.indexOf("}"), 0, "  int a;\n");
+
+			// the change is reconciled before the AST is returned
+			CompilationUnit ast= SharedASTProviderCore.getAST(cu, SharedASTProviderCore.WAIT_ACTIVE_ONLY, null);
+			assertNotNull(ast);
+			long stamp= ((IDocumentExtension4) document).getModificationStamp();
+			assertNotEquals(IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP, stamp);
+			assertEquals(stamp, ASTProvider.getDocumentStamp(ast));
+		} finally {
+			JavaPlugin.getActivePage().closeAllEditors(false);
+		}
+	}
+
 	private static String getNormalizeNumber(int number) {
 		if (number < 10) {
 			return "000" + number;
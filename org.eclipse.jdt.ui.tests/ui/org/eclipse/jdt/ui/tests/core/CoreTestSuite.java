@@ -48,6 +48,7 @@ MethodOverrideTest1d8.class,
 NameProposerTest.class,
 OverrideTest.class,
 PartialASTTest.class,
+ASTCacheTest.class,
 ScopeAnalyzerTest.class,
 TemplateStoreTest.class,
 TypeHierarchyTest.class,
@@ -48,6 +48,7 @@ import org.eclipse.jdt.core.Signature;
 import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
 import org.eclipse.jdt.core.manipulation.OrganizeImportsOperation;
 import org.eclipse.jdt.core.manipulation.OrganizeImportsOperation.IChooseImportQuery;
+import org.eclipse.jdt.core.manipulation.OrganizeImportsOperation.TypeNameCache;
 import org.eclipse.jdt.core.search.TypeNameMatch;
 
 import org.eclipse.jdt.ui.JavaUI;
@@ -463,6 +464,60 @@ public class ImportOrganizeTest extends CoreTests {
 		assertEqualString(cu.getSource(), buf.toString());
 	}
 
+	@Test
+	public void testSharedTypeNameCache() throws Exception {
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+
+		IPackageFragment pack1= sourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class C extends Vector {\n");
+		buf.append("}\n");
+		ICompilationUnit cu1= pack1.createCompilationUnit("C.java", buf.toString(), false, null);
+
+		buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class D {\n");
+		buf.append("    Vector v;\n");
+		buf.append("    ArrayList l;\n");
+		buf.append("}\n");
+		ICompilationUnit cu2= pack1.createCompilationUnit("D.java", buf.toString(), false, null);
+
+		String[] order= new String[0];
+		IChooseImportQuery query= createQuery("C", new String[] {}, new int[] {});
+		TypeNameCache typeNameCache= new TypeNameCache();
+
+		OrganizeImportsOperation op= createOperation(cu1, order, 99, false, true, true, query);
+		op.setTypeNameCache(typeNameCache);
+		op.run(null);
+
+		// Vector is found in the cache, ArrayList is searched
+		op= createOperation(cu2, order, 99, false, true, true, query);
+		op.setTypeNameCache(typeNameCache);
+		op.run(null);
+
+		buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("\n");
+		buf.append("import java.util.Vector;\n");
+		buf.append("\n");
+		buf.append("public class C extends Vector {\n");
+		buf.append("}\n");
+		assertEqualString(cu1.getSource(), buf.toString());
+
+		buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("\n");
+		buf.append("import java.util.ArrayList;\n");
+		buf.append("import java.util.Vector;\n");
+		buf.append("\n");
+		buf.append("public class D {\n");
+		buf.append("    Vector v;\n");
+		buf.append("    ArrayList l;\n");
+		buf.append("}\n");
+		assertEqualString(cu2.getSource(), buf.toString());
+	}
+
 	@Test
 	public void testReplaceImports() throws Exception {
 		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
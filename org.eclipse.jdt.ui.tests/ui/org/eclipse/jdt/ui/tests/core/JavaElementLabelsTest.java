@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.core;
 
+import static org.junit.Assert.assertTrue;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -34,6 +36,8 @@ import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeParameter;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelCache;
+
 import org.eclipse.jdt.ui.JavaElementLabels;
 import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
@@ -670,4 +674,35 @@ public class JavaElementLabelsTest extends CoreTests {
 		lab= JavaElementLabels.getTextLabel(foo2, JavaElementLabels.ALL_DEFAULT | JavaElementLabels.ALL_FULLY_QUALIFIED | JavaElementLabels.M_PARAMETER_ANNOTATIONS);
 		assertEqualString(lab, "org.test.Annotations.foo2(@Ann(value=\"\", cl=Annotations.class, ints={1, 2, -19}, ch='\\u0000', sh=32767, r=@Retention(value=RetentionPolicy.SOURCE)) String)");
 	}
+
+	@Test
+	public void testCachedLabelInvalidatedOnChange() throws Exception {
+		IPackageFragmentRoot sourceFolder= JavaProjectHelper.addSourceContainer(fJProject1, "src");
+		IPackageFragment pack1= sourceFolder.createPackageFragment("org.test", false, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package org.test;\n");
+		buf.append("public class Cached {\n");
+		buf.append("    void foo(int count) { }\n");
+		buf.append("}\n");
+		String content= buf.toString();
+		ICompilationUnit cu= pack1.createCompilationUnit("Cached.java", content, false, null);
+
+		IJavaElement foo= cu.getElementAt(content.indexOf("foo"));
+		long flags= JavaElementLabels.M_PARAMETER_TYPES | JavaElementLabels.M_PARAMETER_NAMES;
+		assertEqualString(JavaElementLabels.getTextLabel(foo, flags), "foo(int count)");
+
+		JavaElementLabelCache cache= JavaElementLabelCache.getDefault();
+		long hits= cache.getHitCount();
+		assertEqualString(JavaElementLabels.getTextLabel(foo, flags), "foo(int count)");
+		assertTrue(cache.getHitCount() > hits);
+
+		cu.becomeWorkingCopy(null);
+		try {
+			cu.getBuffer().replace(content.indexOf("count"), "count".length(), "size");
+			cu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+			assertEqualString(JavaElementLabels.getTextLabel(foo, flags), "foo(int size)");
+		} finally {
+			cu.discardWorkingCopy();
+		}
+	}
 }
@@ -38,6 +38,7 @@ import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.ISourceReference;
 import org.eclipse.jdt.core.IType;
@@ -266,5 +267,70 @@ public class JavadocHoverTests extends CoreTests {
 		}
 	}
 
+	@Test
+	public void testInheritedDocAfterSupertypeChange() throws Exception {
+		String superSource=
+				"package p;\n" +
+				"public interface Super {\n" +
+				"  /**\n" +
+				"   * First description.\n" +
+				"   */\n" +
+				"  void foo();\n" +
+				"}\n";
+		ICompilationUnit superCu= getWorkingCopy("/TestSetupProject/src/p/Super.java", superSource, null);
+		String source=
+				"package p;\n" +
+				"public class Sub implements Super {\n" +
+				"  /**\n" +
+				"   * {@inheritDoc}\n" +
+				"   */\n" +
+				"  public void foo() {\n" +
+				"  }\n" +
+				"}\n";
+		ICompilationUnit cu= getWorkingCopy("/TestSetupProject/src/p/Sub.java", source, null);
+
+		IMethod method= cu.getType("Sub").getMethod("foo", new String[0]);
+		assertTrue(getHoverHtml(cu, method).contains("First description."));
+		// the rendering is cached
+		assertTrue(getHoverHtml(cu, method).contains("First description."));
+
+		superCu.getBuffer().setContents(superSource.replace("First", "Second"));
+		superCu.reconcile(ICompilationUnit.NO_AST, false, null, null);
+
+		String actualHtmlContent= getHoverHtml(cu, method);
+		assertTrue(actualHtmlContent, actualHtmlContent.contains("Second description."));
+	}
+
+	@Test
+	public void testDocOfOtherWorkingCopyOwner() throws Exception {
+		String source=
+				"package p;\n" +
+				"public class Owned {\n" +
+				"  /**\n" +
+				"   * Primary description.\n" +
+				"   */\n" +
+				"  public void foo() {\n" +
+				"  }\n" +
+				"}\n";
+		ICompilationUnit cu= getWorkingCopy("/TestSetupProject/src/p/Owned.java", source, null);
+		IMethod method= cu.getType("Owned").getMethod("foo", new String[0]);
+		assertTrue(getHoverHtml(cu, method).contains("Primary description."));
+
+		ICompilationUnit otherCu= getWorkingCopy("/TestSetupProject/src/p/Owned.java", source.replace("Primary", "Other"), new WorkingCopyOwner() {});
+		try {
+			IMethod otherMethod= otherCu.getType("Owned").getMethod("foo", new String[0]);
+			String actualHtmlContent= getHoverHtml(otherCu, otherMethod);
+			assertTrue(actualHtmlContent, actualHtmlContent.contains("Other description."));
+			assertTrue(getHoverHtml(cu, method).contains("Primary description."));
+		} finally {
+			otherCu.discardWorkingCopy();
+		}
+	}
+
+	private static String getHoverHtml(ICompilationUnit cu, IMethod method) throws JavaModelException {
+		ISourceRange range= method.getNameRange();
+		JavadocBrowserInformationControlInput hoverInfo= JavadocHover.getHoverInfo(new IJavaElement[] { method }, cu, new Region(range.getOffset(), range.getLength()), null);
+		return hoverInfo.getHtml();
+	}
 }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2020 IBM Corporation and others.
+ * Copyright (c) 2008, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.jdt.ui.tests.jarexport;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -160,6 +161,96 @@ public class PlainJarExportTests {
 		assertEquals(expected.toString(), entries.toString());
 	}
 
+	@Test
+	public void exportIncremental() throws Exception {
+		JarPackageData data= createJarPackageData();
+
+		data.setElements(new Object[] { fCU });
+		data.setExportClassFiles(true);
+		data.setIncrementalExport(true);
+
+		long mainCrc;
+		long innerCrc;
+		try (ZipFile jar= createArchive(data)) {
+			mainCrc= jar.getEntry("org/eclipse/jdt/ui/test/Main.class").getCrc();
+			innerCrc= jar.getEntry("org/eclipse/jdt/ui/test/Main$MainInner.class").getCrc();
+		}
+
+		StringBuilder buf= new StringBuilder();
+		buf.append("package org.eclipse.jdt.ui.test;\n");
+		buf.append("public class Main {\n");
+		buf.append("    public class MainInner {\n");
+		buf.append("    }\n");
+		buf.append("    public static void main(String[] args) {\n");
+		buf.append("        new Main().hashCode();\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		fCU.getBuffer().setContents(buf.toString());
+		fCU.save(null, true);
+
+		ArrayList<String> entries;
+		try (ZipFile jar= createArchive(data)) {
+			entries= getSortedEntries(jar);
+			assertNotEquals(mainCrc, jar.getEntry("org/eclipse/jdt/ui/test/Main.class").getCrc());
+			assertEquals(innerCrc, jar.getEntry("org/eclipse/jdt/ui/test/Main$MainInner.class").getCrc());
+		}
+		List<String> expected= Arrays.asList("META-INF/MANIFEST.MF\n", "org/eclipse/jdt/ui/test/Main$MainInner.class\n", "org/eclipse/jdt/ui/test/Main.class\n");
+		assertEquals(expected.toString(), entries.toString());
+	}
+
+	@Test
+	public void exportIncrementalMatchesFullExport() throws Exception {
+		assertIncrementalMatchesFullExport(false);
+	}
+
+	@Test
+	public void exportIncrementalMatchesFullExportWithDirectories() throws Exception {
+		assertIncrementalMatchesFullExport(true);
+	}
+
+	private void assertIncrementalMatchesFullExport(boolean directoryEntries) throws Exception {
+		IPackageFragment removed= fMainRoot.createPackageFragment("org.eclipse.jdt.ui.removed", true, null);
+		removed.createCompilationUnit("Removed.java", "package org.eclipse.jdt.ui.removed;\npublic class Removed {\n}\n", true, null);
+
+		JarPackageData data= createJarPackageData();
+		data.setElements(new Object[] { fMainRoot });
+		data.setExportClassFiles(true);
+		data.setIncludeDirectoryEntries(directoryEntries);
+		data.setIncrementalExport(true);
+		createArchive(data).close();
+
+		removed.delete(true, null);
+		IPackageFragment added= fMainRoot.createPackageFragment("org.eclipse.jdt.ui.added.sub", true, null);
+		added.createCompilationUnit("Added.java", "package org.eclipse.jdt.ui.added.sub;\npublic class Added {\n}\n", true, null);
+
+		ArrayList<String> incremental;
+		try (ZipFile jar= createArchive(data)) {
+			incremental= getSortedEntriesWithCrc(jar);
+		}
+
+		JarPackageData full= createJarPackageData();
+		full.setJarLocation(ResourcesPlugin.getWorkspace().getRoot().getLocation().append(getName() + "-full.jar"));
+		full.setElements(new Object[] { fMainRoot });
+		full.setExportClassFiles(true);
+		full.setIncludeDirectoryEntries(directoryEntries);
+		ArrayList<String> expected;
+		try (ZipFile jar= createArchive(full)) {
+			expected= getSortedEntriesWithCrc(jar);
+		}
+		assertEquals(expected.toString(), incremental.toString());
+		assertTrue(incremental.toString().contains("org/eclipse/jdt/ui/added/sub/Added.class"));
+	}
+
+	private static ArrayList<String> getSortedEntriesWithCrc(ZipFile jar) {
+		ArrayList<String> entries= new ArrayList<>();
+		for (Enumeration<? extends ZipEntry> entriesEnum= jar.entries(); entriesEnum.hasMoreElements(); ) {
+			ZipEntry entry= entriesEnum.nextElement();
+			entries.add(entry.getName() + " " + entry.getCrc() + "\n");
+		}
+		Collections.sort(entries);
+		return entries;
+	}
+
 	private JarPackageData createJarPackageData() {
 		JarPackageData data= new JarPackageData();
 		data.setJarLocation(ResourcesPlugin.getWorkspace().getRoot().getLocation().append(getName() + ".jar"));
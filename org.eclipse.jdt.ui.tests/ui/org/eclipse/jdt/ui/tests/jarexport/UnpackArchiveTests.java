@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.jarexport;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jdt.internal.jarpackager.JarPackagerUtilCore;
+
+/**
+ * Tests unpacking a synthetic set of dependency archives into one JAR, as done by the runnable
+ * JAR export with the "extract required libraries" option.
+ */
+public class UnpackArchiveTests {
+
+	private static final int ARCHIVE_COUNT= 20;
+	private static final int ENTRY_COUNT= 200;
+
+	private File fTempDir;
+
+	@Before
+	public void setUp() throws Exception {
+		fTempDir= Files.createTempDirectory("unpackArchiveTests").toFile();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		File[] files= fTempDir.listFiles();
+		if (files != null) {
+			for (File file : files) {
+				file.delete();
+			}
+		}
+		fTempDir.delete();
+	}
+
+	private File createArchive(int index, Map<String, byte[]> expected, Random random) throws Exception {
+		File file= new File(fTempDir, "dependency" + index + ".jar");
+		try (ZipOutputStream out= new ZipOutputStream(new FileOutputStream(file))) {
+			addEntry(out, "META-INF/MANIFEST.MF", "Manifest-Version: 1.0\n".getBytes(), false);
+			for (int i= 0; i < ENTRY_COUNT; i++) {
+				String name= "p" + index + "/Entry" + i + ".class";
+				// one large entry per archive that is not read ahead
+				byte[] content= new byte[i == 0 ? 2 * 1024 * 1024 : random.nextInt(8192)];
+				for (int j= 0; j < content.length; j++) {
+					content[j]= (byte) (j % 64 == 0 ? random.nextInt() : j);
+				}
+				addEntry(out, name, content, i % 3 == 0);
+				expected.put(name, content);
+			}
+			addEntry(out, "shared/Duplicate.txt", ("from " + index).getBytes(), false);
+			expected.putIfAbsent("shared/Duplicate.txt", ("from " + index).getBytes());
+			addEntry(out, "../outside.txt", new byte[1], false);
+		}
+		return file;
+	}
+
+	private static void addEntry(ZipOutputStream out, String name, byte[] content, boolean stored) throws Exception {
+		ZipEntry entry= new ZipEntry(name);
+		if (stored) {
+			CRC32 crc= new CRC32();
+			crc.update(content);
+			entry.setMethod(ZipEntry.STORED);
+			entry.setSize(content.length);
+			entry.setCrc(crc.getValue());
+		}
+		out.putNextEntry(entry);
+		out.write(content);
+		out.closeEntry();
+	}
+
+	private void unpack(boolean compressed) throws Exception {
+		Random random= new Random(42);
+		Map<String, byte[]> expected= new LinkedHashMap<>();
+		List<File> archives= new ArrayList<>();
+		for (int i= 0; i < ARCHIVE_COUNT; i++) {
+			archives.add(createArchive(i, expected, random));
+		}
+
+		File target= new File(fTempDir, "target.jar");
+		MultiStatus status= new MultiStatus("org.eclipse.jdt.ui.tests", 0, "", null);
+		Set<String> directories= new HashSet<>();
+		try (JarOutputStream out= new JarOutputStream(new FileOutputStream(target))) {
+			for (File archive : archives) {
+				try (ZipFile zipFile= new ZipFile(archive)) {
+					JarPackagerUtilCore.writeArchive(zipFile, true, compressed, out, directories, status, new NullProgressMonitor());
+				}
+			}
+		}
+
+		// one invalid path per archive, duplicates except for the first archive
+		int invalidPaths= 0;
+		int duplicates= 0;
+		for (IStatus child : status.getChildren()) {
+			if (child.getMessage().startsWith("Invalid path")) {
+				invalidPaths++;
+			} else if (child.getMessage().startsWith("duplicate entry:")) {
+				duplicates++;
+			}
+		}
+		assertEquals(ARCHIVE_COUNT, invalidPaths);
+		assertEquals(ARCHIVE_COUNT - 1, duplicates);
+
+		try (ZipFile result= new ZipFile(target)) {
+			List<String> names= new ArrayList<>();
+			result.stream().filter(e -> !e.isDirectory()).forEach(e -> names.add(e.getName()));
+			assertEquals(new ArrayList<>(expected.keySet()), names);
+			for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+				ZipEntry zipEntry= result.getEntry(entry.getKey());
+				assertNotNull(entry.getKey(), zipEntry);
+				assertEquals(entry.getKey(), compressed ? ZipEntry.DEFLATED : ZipEntry.STORED, zipEntry.getMethod());
+				try (InputStream in= result.getInputStream(zipEntry)) {
+					assertArrayEquals(entry.getKey(), entry.getValue(), in.readAllBytes());
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testUnpackCompressed() throws Exception {
+		unpack(true);
+	}
+
+	@Test
+	public void testUnpackStored() throws Exception {
+		unpack(false);
+	}
+}
@@ -54,6 +54,7 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 
+import org.eclipse.jdt.internal.ui.packageview.PackageExplorerContentProvider;
 import org.eclipse.jdt.internal.ui.util.CoreUtility;
 
 
@@ -292,6 +293,31 @@ public class ContentProviderTests3{
 		assertEquals("No refreshes", 0, fMyPart.getRefreshedObject().size()); //$NON-NLS-1$
 	}
 
+	@Test
+	public void testCoalescePendingRefreshes() throws Exception {
+		PackageExplorerContentProvider provider= (PackageExplorerContentProvider) fProvider;
+		long requested= provider.getRequestedRefreshCount();
+		long coalesced= provider.getCoalescedRefreshCount();
+
+		//send the deltas from a background thread, so that the refreshes are pending
+		IElementChangedListener listener= (IElementChangedListener) fProvider;
+		IJavaElementDelta cuDelta= TestDelta.createCUDelta(new ICompilationUnit[] { fCU2, fCU3 }, fPack6, IJavaElementDelta.REMOVED);
+		IJavaElementDelta packageDelta= TestDelta.createDelta(fPack4, IJavaElementDelta.REMOVED);
+		Thread thread= new Thread(() -> {
+			listener.elementChanged(new ElementChangedEvent(cuDelta, ElementChangedEvent.POST_CHANGE));
+			listener.elementChanged(new ElementChangedEvent(packageDelta, ElementChangedEvent.POST_CHANGE));
+		});
+		thread.start();
+		thread.join();
+		provider.runPendingUpdates();
+
+		// the refresh of the package is covered by the refresh of the source folder
+		assertEquals("Single refresh", 1, fMyPart.getRefreshedObject().size()); //$NON-NLS-1$
+		assertTrue("Correct Refresh", fMyPart.wasObjectRefreshed(fRoot1)); //$NON-NLS-1$
+		assertEquals(requested + 2, provider.getRequestedRefreshCount());
+		assertEquals(coalesced + 1, provider.getCoalescedRefreshCount());
+	}
+
 
 	/*
 	 * @see TestCase#setUp()
@@ -11124,4 +11124,57 @@ public class AssistQuickFixTest extends QuickFixTest {
 		assertProposalPreviewEquals(expectation.toString(), "Convert to static import (replace all occurrences)", proposals);
 	}
 
+	@Test
+	public void testAddElseBlock() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E {\n");
+		buf.append("    public void foo(boolean b) {\n");
+		buf.append("        if (b) {\n");
+		buf.append("            foo(false);\n");
+		buf.append("        }\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		ICompilationUnit cu= pack1.createCompilationUnit("E.java", buf.toString(), false, null);
+
+		int offset= buf.toString().indexOf("if (b)");
+		AssistContext context= getCorrectionContext(cu, offset, 0);
+		List<IJavaCompletionProposal> proposals= collectAssists(context, false);
+		assertCorrectLabels(proposals);
+
+		buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E {\n");
+		buf.append("    public void foo(boolean b) {\n");
+		buf.append("        if (b) {\n");
+		buf.append("            foo(false);\n");
+		buf.append("        } else {\n");
+		buf.append("        }\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		assertProposalPreviewEquals(buf.toString(), CorrectionMessages.QuickAssistProcessor_addelseblock_description, proposals);
+	}
+
+	@Test
+	public void testHasAssistsDeadlineExceeded() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class E {\n");
+		buf.append("    public void foo() {\n");
+		buf.append("        getClass();\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		ICompilationUnit cu= pack1.createCompilationUnit("E.java", buf.toString(), false, null);
+
+		int offset= buf.toString().indexOf("getClass()");
+		AssistContext context= getCorrectionContext(cu, offset, 0);
+		assertTrue(new QuickAssistProcessor().hasAssists(context));
+
+		context.setTimeout(-1);
+		assertTrue(context.isDeadlineExceeded());
+		assertFalse(new QuickAssistProcessor().hasAssists(context));
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.ui.tests.quickfix;
 
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
 import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.List;
@@ -34,11 +39,14 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.formatter.DefaultCodeFormatterConstants;
 
+import org.eclipse.jdt.ui.examples.MyConcurrentQuickFixProcessor;
 import org.eclipse.jdt.ui.tests.core.rules.ProjectTestSetup;
 import org.eclipse.jdt.ui.text.java.IJavaCompletionProposal;
 import org.eclipse.jdt.ui.text.java.correction.CUCorrectionProposal;
 
 import org.eclipse.jdt.internal.ui.text.correction.AssistContext;
+import org.eclipse.jdt.internal.ui.text.correction.ContributedProcessorDescriptor;
+import org.eclipse.jdt.internal.ui.text.correction.JavaCorrectionProcessor;
 
 public class ContributedQuickFixTest extends QuickFixTest {
 
@@ -153,5 +161,70 @@ public class ContributedQuickFixTest extends QuickFixTest {
 		assertNumberOfProposals(proposals, 0);
 	}
 
+	@Test
+	public void testContributedQuickFixLatencyRecorded() throws Exception {
+		ContributedProcessorDescriptor descriptor= JavaCorrectionProcessor.getCorrectionProcessor("org.eclipse.jdt.ui.examples.MyQuickFixProcessor");
+		assertNotNull(descriptor);
+		long invocations= descriptor.getInvocationCount();
+
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class A {\n");
+		buf.append("    public int foo() {\n");
+		buf.append("        return 99999999999999999;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		ICompilationUnit cu= pack1.createCompilationUnit("A.java", buf.toString(), false, null);
+
+		CompilationUnit astRoot= getASTRoot(cu);
+		collectCorrections(cu, astRoot);
+
+		assertTrue(descriptor.getInvocationCount() > invocations);
+		assertTrue(descriptor.getMaxInvocationTime() <= descriptor.getTotalInvocationTime());
+	}
+
+	@Test
+	public void testContributedQuickFixConcurrent() throws Exception {
+		IPackageFragment pack1= fSourceFolder.createPackageFragment("test1", false, null);
+		StringBuilder buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class C {\n");
+		buf.append("    public int foo() {\n");
+		buf.append("        return 99999999999999999;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		ICompilationUnit cu= pack1.createCompilationUnit("C.java", buf.toString(), false, null);
+
+		CompilationUnit astRoot= getASTRoot(cu);
+		ArrayList<IJavaCompletionProposal> proposals;
+		System.setProperty("org.eclipse.jdt.ui.concurrentQuickFixProcessors", "true");
+		try {
+			proposals= collectCorrections(cu, astRoot);
+		} finally {
+			System.clearProperty("org.eclipse.jdt.ui.concurrentQuickFixProcessors");
+		}
+
+		assertNotSame(Thread.currentThread(), MyConcurrentQuickFixProcessor.getLastThread());
+		assertNumberOfProposals(proposals, 1);
+
+		CUCorrectionProposal proposal= (CUCorrectionProposal) proposals.get(0);
+		String preview1= getPreviewContent(proposal);
+
+		buf= new StringBuilder();
+		buf.append("package test1;\n");
+		buf.append("public class C {\n");
+		buf.append("    public int foo() {\n");
+		buf.append("        return 0;\n");
+		buf.append("    }\n");
+		buf.append("}\n");
+		String expected1= buf.toString();
+
+		assertEqualStringsIgnoreOrder(new String[] { preview1 }, new String[] { expected1 });
+
+		collectCorrections(cu, astRoot);
+		assertSame(Thread.currentThread(), MyConcurrentQuickFixProcessor.getLastThread());
+	}
+
 
 }
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.ui.tests.views;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.BitSet;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.jdt.testplugin.JavaProjectHelper;
+import org.eclipse.jdt.testplugin.JavaTestPlugin;
+
+import org.eclipse.core.runtime.Path;
+
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import org.eclipse.jdt.bcoview.asm.DecompiledClass;
+import org.eclipse.jdt.bcoview.asm.DecompilerHelper;
+import org.eclipse.jdt.bcoview.asm.DecompilerOptions;
+import org.eclipse.jdt.bcoview.preferences.BCOConstants;
+
+public class DecompiledClassTest {
+
+	private IJavaProject fProject1;
+	private IJavaProject fProject2;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject1= JavaProjectHelper.createJavaProject("DecompiledClassTest1", "bin");
+		fProject2= JavaProjectHelper.createJavaProject("DecompiledClassTest2", "bin");
+		DecompilerHelper.clearCache();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		DecompilerHelper.clearCache();
+		JavaProjectHelper.delete(fProject1);
+		JavaProjectHelper.delete(fProject2);
+	}
+
+	@Test
+	public void testJavaElementOfSharedClass() throws Exception {
+		IClassFile classFile1= getFooClassFile(fProject1);
+		IClassFile classFile2= getFooClassFile(fProject2);
+		assertArrayEquals(classFile1.getBytes(), classFile2.getBytes());
+
+		BitSet modes= new BitSet();
+		modes.set(BCOConstants.F_SHOW_LINE_INFO);
+		DecompiledClass decompiledClass1= DecompilerHelper.getDecompiledClass(classFile1.getBytes(), new DecompilerOptions(null, null, modes));
+		DecompiledClass decompiledClass2= DecompilerHelper.getDecompiledClass(classFile2.getBytes(), new DecompilerOptions(null, null, modes));
+		assertSame(decompiledClass1, decompiledClass2);
+
+		int line= getFirstMethodLine(decompiledClass1);
+		IJavaElement element1= decompiledClass1.getJavaElement(line, classFile1);
+		assertTrue(element1 instanceof IMethod);
+		assertEquals(classFile1, element1.getAncestor(IJavaElement.CLASS_FILE));
+
+		// the same decompiled class must resolve the method in the requesting class file
+		IJavaElement element2= decompiledClass2.getJavaElement(line, classFile2);
+		assertTrue(element2 instanceof IMethod);
+		assertEquals(classFile2, element2.getAncestor(IJavaElement.CLASS_FILE));
+
+		assertSame(element1, decompiledClass1.getJavaElement(line, classFile1));
+	}
+
+	private static IClassFile getFooClassFile(IJavaProject project) throws Exception {
+		File lib= JavaTestPlugin.getDefault().getFileInPlugin(JavaProjectHelper.MYLIB);
+		assertNotNull("lib does not exist", lib);
+		IPackageFragmentRoot root= JavaProjectHelper.addLibraryWithImport(project, Path.fromOSString(lib.getPath()), null, null);
+		IClassFile classFile= root.getPackageFragment("mylib").getClassFile("Foo.class");
+		assertTrue(classFile.exists());
+		return classFile;
+	}
+
+	private static int getFirstMethodLine(DecompiledClass decompiledClass) {
+		int lines= decompiledClass.getTextTable().length;
+		for (int line= 0; line < lines; line++) {
+			if (decompiledClass.getMethod(line) != null) {
+				return line;
+			}
+		}
+		throw new AssertionError("no method found");
+	}
+}
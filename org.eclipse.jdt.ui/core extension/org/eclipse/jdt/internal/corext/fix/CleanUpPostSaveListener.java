@@ -107,6 +107,7 @@ import org.eclipse.jdt.internal.ui.actions.ActionUtil;
 import org.eclipse.jdt.internal.ui.dialogs.OptionalMessageDialog;
 import org.eclipse.jdt.internal.ui.fix.IMultiLineCleanUp.MultiLineCleanUpContext;
 import org.eclipse.jdt.internal.ui.fix.MapCleanUpOptions;
+import org.eclipse.jdt.internal.ui.javaeditor.ASTProvider;
 import org.eclipse.jdt.internal.ui.javaeditor.saveparticipant.IPostSaveListener;
 import org.eclipse.jdt.internal.ui.javaeditor.saveparticipant.SaveParticipantPreferenceConfigurationConstants;
 import org.eclipse.jdt.internal.ui.preferences.BulletListBlock;
@@ -579,11 +580,12 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 		return false;
 	}
 
-	private CompilationUnit createAst(ICompilationUnit unit, Map<String, String> cleanUpOptions, IProgressMonitor monitor) {
+	private CompilationUnit createAst(ICompilationUnit unit, Map<String, String> cleanUpOptions, IProgressMonitor monitor) throws CoreException {
 		IJavaProject project= unit.getJavaProject();
 		if (compatibleOptions(project, cleanUpOptions)) {
-			CompilationUnit ast= SharedASTProviderCore.getAST(unit, SharedASTProviderCore.WAIT_NO, monitor);
-			if (ast != null)
+			// for the active editor, a pending reconcile is run now instead of parsing the same content twice
+			CompilationUnit ast= SharedASTProviderCore.getAST(unit, SharedASTProviderCore.WAIT_ACTIVE_ONLY, monitor);
+			if (ast != null && isUpToDate(ast, unit))
 				return ast;
 		}
 
@@ -597,6 +599,16 @@ public class CleanUpPostSaveListener implements IPostSaveListener {
 		return (CompilationUnit)parser.createAST(monitor);
 	}
 
+	/*
+	 * Tells whether the shared AST has been created from the current content of the document.
+	 */
+	private boolean isUpToDate(CompilationUnit ast, ICompilationUnit unit) throws CoreException {
+		long astStamp= ASTProvider.getDocumentStamp(ast);
+		if (astStamp == IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP)
+			return true; // not created by the reconciler but from the current content of the working copy
+		return astStamp == getDocumentStamp((IFile)unit.getResource(), new NullProgressMonitor());
+	}
+
 	private boolean compatibleOptions(IJavaProject project, Map<String, String> cleanUpOptions) {
 		if (cleanUpOptions.isEmpty())
 			return true;
@@ -171,8 +171,14 @@ public class IndentAction extends TextEditorAction {
 					final boolean multiLine= nLines > 1;
 					boolean hasChanged= false;
 					TextBlockInfo textBlockInfo= new TextBlockInfo(-1, -1);
-					for (int i= 0; i < nLines; i++) {
-						hasChanged |= indentLine(document, firstLine + i, offset, indenter, scanner, multiLine, textBlockInfo);
+					if (multiLine)
+						indenter.startCaching();
+					try {
+						for (int i= 0; i < nLines; i++) {
+							hasChanged |= indentLine(document, firstLine + i, offset, indenter, scanner, multiLine, textBlockInfo);
+						}
+					} finally {
+						indenter.stopCaching();
 					}
 
 					// update caret position: move to new position when indenting just one line
@@ -292,19 +298,24 @@ public class IndentAction extends TextEditorAction {
 		TextBlockInfo textBlockInfo= new TextBlockInfo(-1, -1);
 
 		int shift= 0;
-		for (int i= 0; i < numberOfLines; i++) {
-			ReplaceData data= computeReplaceData(document, firstLine + i, indenter, scanner, numberOfLines > 1, false, textBlockInfo, project);
-
-			int replaceLength= data.end - data.offset;
-			String currentIndent= document.get(data.offset, replaceLength);
-
-			// only change the document if it is a real change
-			if (!data.indent.equals(currentIndent)) {
-				edits.add(new ReplaceEdit(data.offset + shift, replaceLength, data.indent));
-				//We need to change the document, the indenter depends on it.
-				document.replace(data.offset, replaceLength, data.indent);
-				shift-= data.indent.length() - replaceLength;
+		indenter.startCaching();
+		try {
+			for (int i= 0; i < numberOfLines; i++) {
+				ReplaceData data= computeReplaceData(document, firstLine + i, indenter, scanner, numberOfLines > 1, false, textBlockInfo, project);
+
+				int replaceLength= data.end - data.offset;
+				String currentIndent= document.get(data.offset, replaceLength);
+
+				// only change the document if it is a real change
+				if (!data.indent.equals(currentIndent)) {
+					edits.add(new ReplaceEdit(data.offset + shift, replaceLength, data.indent));
+					//We need to change the document, the indenter depends on it.
+					document.replace(data.offset, replaceLength, data.indent);
+					shift-= data.indent.length() - replaceLength;
+				}
 			}
+		} finally {
+			indenter.stopCaching();
 		}
 
 		if (edits.isEmpty())
@@ -23,6 +23,7 @@ import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.manipulation.OrganizeImportsOperation.TypeNameCache;
 
 import org.eclipse.jdt.internal.corext.codemanipulation.CodeGenerationSettings;
 import org.eclipse.jdt.internal.corext.fix.CleanUpConstants;
@@ -38,6 +39,7 @@ public class ImportsCleanUp extends AbstractCleanUp {
 
 	private CodeGenerationSettings fCodeGeneratorSettings;
 	private RefactoringStatus fStatus;
+	private TypeNameCache fTypeNameCache;
 
 	public ImportsCleanUp(Map<String, String> options) {
 		super(options);
@@ -60,7 +62,7 @@ public class ImportsCleanUp extends AbstractCleanUp {
     		return null;
 
 		return ImportsFix.createCleanUp(compilationUnit, fCodeGeneratorSettings,
-				isEnabled(CleanUpConstants.ORGANIZE_IMPORTS), fStatus);
+				isEnabled(CleanUpConstants.ORGANIZE_IMPORTS), fStatus, fTypeNameCache);
 	}
 
     @Override
@@ -69,6 +71,8 @@ public class ImportsCleanUp extends AbstractCleanUp {
 		if (isEnabled(CleanUpConstants.ORGANIZE_IMPORTS)) {
     		fCodeGeneratorSettings= JavaPreferencesSettings.getCodeGenerationSettings(project);
     		fStatus= new RefactoringStatus();
+    		// the units of the project share the results of their type name searches
+    		fTypeNameCache= new TypeNameCache();
 		}
 
 		return super.checkPreConditions(project, compilationUnits, monitor);
@@ -77,6 +81,7 @@ public class ImportsCleanUp extends AbstractCleanUp {
     @Override
 	public RefactoringStatus checkPostConditions(IProgressMonitor monitor) throws CoreException {
     	fCodeGeneratorSettings= null;
+    	fTypeNameCache= null;
     	try {
 	    	if (fStatus == null || fStatus.isOK()) {
 	    		return super.checkPostConditions(monitor);
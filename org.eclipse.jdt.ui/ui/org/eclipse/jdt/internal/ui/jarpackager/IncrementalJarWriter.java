@@ -0,0 +1,300 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.jarpackager;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.core.filesystem.EFS;
+import org.eclipse.core.filesystem.IFileInfo;
+
+import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
+import org.eclipse.jdt.internal.corext.util.Messages;
+
+import org.eclipse.jdt.ui.jarpackager.JarPackageData;
+
+/**
+ * Updates an existing JAR file in place instead of recreating it. Entries whose content has
+ * not changed are left alone, and their compressed data is copied as is by the zip file system
+ * when the archive is written. Changed and new entries are written, and entries that are no
+ * longer exported are removed.
+ *
+ * @see JarPackageData#isIncrementalExport()
+ * @since 3.31
+ */
+public class IncrementalJarWriter {
+
+	private static final String MANIFEST_NAME= "META-INF/MANIFEST.MF"; //$NON-NLS-1$
+
+	private final JarPackageData fJarPackage;
+
+	private final FileSystem fFileSystem;
+
+	private final Set<String> fExportedEntries= new HashSet<>();
+
+	/**
+	 * Tells whether directory entries have been created for new entries although the JAR must
+	 * not contain directory entries.
+	 */
+	private boolean fHasSurplusDirectories;
+
+	/**
+	 * Tells whether the JAR described by the given JAR package can be updated incrementally.
+	 * This is not the case if the JAR does not exist yet, or if its manifest, comment,
+	 * compression, directory entries or refactoring history would change, since these are only
+	 * written when the JAR is created.
+	 *
+	 * @param jarPackage the JAR specification
+	 * @return <code>true</code> if the existing JAR can be updated
+	 */
+	public static boolean canUpdate(JarPackageData jarPackage) {
+		if (!jarPackage.isIncrementalExport() || jarPackage.isRefactoringAware())
+			return false;
+		File file= jarPackage.getAbsoluteJarLocation().toFile();
+		if (!file.isFile() || !file.canWrite())
+			return false;
+
+		try (ZipFile zipFile= new ZipFile(file)) {
+			if (!Objects.equals(jarPackage.getComment(), zipFile.getComment()))
+				return false;
+			if (!isManifestUnchanged(jarPackage, zipFile))
+				return false;
+			int method= jarPackage.isCompressed() ? ZipEntry.DEFLATED : ZipEntry.STORED;
+			boolean hasDirectoryEntries= false;
+			boolean hasNestedEntries= false;
+			for (Enumeration<? extends ZipEntry> entries= zipFile.entries(); entries.hasMoreElements();) {
+				ZipEntry entry= entries.nextElement();
+				if (entry.isDirectory()) {
+					hasDirectoryEntries= true;
+				} else if (!MANIFEST_NAME.equals(entry.getName())) {
+					if (entry.getMethod() != method)
+						return false;
+					if (entry.getName().indexOf('/') != -1)
+						hasNestedEntries= true;
+				}
+			}
+			if (jarPackage.areDirectoryEntriesIncluded())
+				return hasDirectoryEntries || !hasNestedEntries;
+			return !hasDirectoryEntries;
+		} catch (IOException | CoreException e) {
+			return false;
+		}
+	}
+
+	private static boolean isManifestUnchanged(JarPackageData jarPackage, ZipFile zipFile) throws IOException, CoreException {
+		ZipEntry entry= zipFile.getEntry(MANIFEST_NAME);
+		if (!jarPackage.usesManifest() || !jarPackage.areGeneratedFilesExported())
+			return entry == null;
+		if (entry == null)
+			return false;
+		Manifest manifest= jarPackage.getManifestProvider().create(jarPackage);
+		ByteArrayOutputStream expected= new ByteArrayOutputStream();
+		manifest.write(expected);
+		try (InputStream stream= zipFile.getInputStream(entry)) {
+			return Arrays.equals(expected.toByteArray(), stream.readAllBytes());
+		}
+	}
+
+	/**
+	 * Opens the existing JAR for updating.
+	 *
+	 * @param jarPackage the JAR specification
+	 * @param parent the shell used to ask for permission to overwrite the JAR, or
+	 *            <code>null</code> if no dialog should be shown
+	 * @throws CoreException if the JAR cannot be opened
+	 */
+	public IncrementalJarWriter(JarPackageData jarPackage, Shell parent) throws CoreException {
+		Assert.isNotNull(jarPackage, "The JAR specification is null"); //$NON-NLS-1$
+		fJarPackage= jarPackage;
+		Assert.isTrue(fJarPackage.isValid(), "The JAR package specification is invalid"); //$NON-NLS-1$
+		if (!fJarPackage.allowOverwrite() && (parent == null || !JarPackagerUtil.askForOverwritePermission(parent, fJarPackage.getAbsoluteJarLocation(), true)))
+			throw new OperationCanceledException("Cannot update JAR with path: " + fJarPackage.getAbsoluteJarLocation()); //$NON-NLS-1$
+
+		Map<String, String> env= new HashMap<>();
+		env.put("compressionMethod", fJarPackage.isCompressed() ? "DEFLATED" : "STORED"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		try {
+			fFileSystem= FileSystems.newFileSystem(fJarPackage.getAbsoluteJarLocation().toFile().toPath(), env);
+		} catch (IOException ex) {
+			throw JarPackagerUtil.createCoreException(ex.getLocalizedMessage(), ex);
+		}
+	}
+
+	/**
+	 * Writes the passed resource to the JAR if its content differs from the existing entry.
+	 *
+	 * @param resource the file to be written
+	 * @param destinationPath the path for the file inside the archive
+	 * @throws CoreException if the resource cannot be read or the entry cannot be written
+	 */
+	public void write(IFile resource, IPath destinationPath) throws CoreException {
+		String name= destinationPath.toString().replace(File.separatorChar, '/');
+		fExportedEntries.add(name);
+		Path entry= fFileSystem.getPath(name);
+		try {
+			byte[] content;
+			try (InputStream stream= resource.getContents(false)) {
+				content= stream.readAllBytes();
+			}
+			if (Files.isRegularFile(entry) && isUnchanged(entry, content))
+				return;
+
+			Path parent= entry.getParent();
+			if (parent != null && !Files.isDirectory(parent)) {
+				// the zip file system only adds entries to existing directories, and writes them as entries
+				Files.createDirectories(parent);
+				if (!fJarPackage.areDirectoryEntriesIncluded())
+					fHasSurplusDirectories= true;
+			}
+			Files.write(entry, content);
+
+			long lastModified= System.currentTimeMillis();
+			URI locationURI= resource.getLocationURI();
+			if (locationURI != null) {
+				IFileInfo info= EFS.getStore(locationURI).fetchInfo();
+				if (info.exists())
+					lastModified= info.getLastModified();
+			}
+			Files.setLastModifiedTime(entry, FileTime.fromMillis(lastModified));
+		} catch (IOException ex) {
+			String message= null;
+			if (ex.getLocalizedMessage() != null)
+				message= Messages.format(JarPackagerMessages.JarWriter_writeProblemWithMessage, new Object[] {BasicElementLabels.getPathLabel(resource.getFullPath(), false), ex.getLocalizedMessage()});
+			else
+				message= Messages.format(JarPackagerMessages.JarWriter_writeProblem, BasicElementLabels.getPathLabel(resource.getFullPath(), false));
+			throw JarPackagerUtil.createCoreException(message, ex);
+		}
+	}
+
+	private static boolean isUnchanged(Path entry, byte[] content) throws IOException {
+		Map<String, Object> attributes= Files.readAttributes(entry, "zip:size,crc"); //$NON-NLS-1$
+		if (((Long) attributes.get("size")).longValue() != content.length) //$NON-NLS-1$
+			return false;
+		CRC32 crc= new CRC32();
+		crc.update(content);
+		return ((Long) attributes.get("crc")).longValue() == crc.getValue(); //$NON-NLS-1$
+	}
+
+	/**
+	 * Removes the entries that have not been exported and writes the archive. The archive is
+	 * only rewritten if an entry has been added, replaced or removed. If directories had to be
+	 * created for new entries but the JAR must not contain directory entries, it is copied once
+	 * more without them.
+	 *
+	 * @throws CoreException if the archive cannot be written
+	 */
+	public void close() throws CoreException {
+		try {
+			try {
+				removeStaleEntries();
+			} finally {
+				fFileSystem.close();
+			}
+			if (fHasSurplusDirectories)
+				removeDirectoryEntries();
+		} catch (IOException ex) {
+			throw JarPackagerUtil.createCoreException(ex.getLocalizedMessage(), ex);
+		}
+		JarPackagerUtil.refreshContainingFolder(fJarPackage.getAbsoluteJarLocation());
+	}
+
+	private void removeStaleEntries() throws IOException {
+		List<Path> stale= new ArrayList<>();
+		List<Path> directories= new ArrayList<>();
+		Path root= fFileSystem.getPath("/"); //$NON-NLS-1$
+		try (Stream<Path> paths= Files.walk(root)) {
+			paths.forEach(path -> {
+				if (Files.isDirectory(path)) {
+					if (!path.equals(root))
+						directories.add(path);
+					return;
+				}
+				String name= path.toString().substring(1);
+				if (!MANIFEST_NAME.equals(name) && !fExportedEntries.contains(name))
+					stale.add(path);
+			});
+		}
+		for (Path path : stale) {
+			Files.delete(path);
+		}
+		// remove the directories of deleted packages, children are visited after their parents
+		for (int i= directories.size() - 1; i >= 0; i--) {
+			Path directory= directories.get(i);
+			try (Stream<Path> children= Files.list(directory)) {
+				if (children.findAny().isPresent())
+					continue;
+			}
+			Files.delete(directory);
+		}
+	}
+
+	private void removeDirectoryEntries() throws IOException {
+		File file= fJarPackage.getAbsoluteJarLocation().toFile();
+		File temp= new File(file.getParentFile(), file.getName() + ".tmp"); //$NON-NLS-1$
+		try (ZipFile zipFile= new ZipFile(file); JarOutputStream out= new JarOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+			if (zipFile.getComment() != null)
+				out.setComment(zipFile.getComment());
+			for (Enumeration<? extends ZipEntry> entries= zipFile.entries(); entries.hasMoreElements();) {
+				ZipEntry entry= entries.nextElement();
+				if (entry.isDirectory())
+					continue;
+				ZipEntry copy= new ZipEntry(entry);
+				copy.setCompressedSize(-1);
+				out.putNextEntry(copy);
+				try (InputStream stream= zipFile.getInputStream(entry)) {
+					stream.transferTo(out);
+				}
+				out.closeEntry();
+			}
+		} catch (IOException ex) {
+			temp.delete();
+			throw ex;
+		}
+		Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+}
@@ -305,6 +305,8 @@ public final class JarPackagerMessages extends NLS {
 
 	public static String JarPackageWizardPage_includeDirectoryEntries_text;
 
+	public static String JarPackageWizardPage_incrementalExport_text;
+
 	public static String JarPackageWizardPage_info_relativeExportDestination;
 
 	public static String JarPackageWizardPage_no_refactorings_selected;
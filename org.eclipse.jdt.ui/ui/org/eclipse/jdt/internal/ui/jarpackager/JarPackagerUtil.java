@@ -40,6 +40,7 @@ import org.eclipse.core.runtime.Status;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
 
@@ -298,4 +299,32 @@ public final class JarPackagerUtil {
 			throw new CoreException(new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, e.getLocalizedMessage(), e));
 		}
 	}
+
+	/**
+	 * Refreshes the workspace folder that contains the given file, if the file is located
+	 * inside a project in the workspace.
+	 *
+	 * @param location the absolute location of the file in the local file system
+	 *
+	 * @since 3.31
+	 */
+	public static void refreshContainingFolder(IPath location) {
+		for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+			// The Jar is always put into the local file system. So it can only be
+			// part of a project if the project is local as well. So using getLocation
+			// is currently save here.
+			IPath projectLocation= project.getLocation();
+			if (projectLocation != null && projectLocation.isPrefixOf(location)) {
+				try {
+					IPath folderPath= location.removeFirstSegments(projectLocation.segmentCount()).removeLastSegments(1);
+					IResource containingFolder= project.findMember(folderPath);
+					if (containingFolder != null && containingFolder.isAccessible())
+						containingFolder.refreshLocal(IResource.DEPTH_ONE, null);
+				} catch (CoreException ex) {
+					// don't refresh the folder but log the problem
+					JavaPlugin.log(ex);
+				}
+			}
+		}
+	}
 }
\ No newline at end of file
@@ -40,6 +40,7 @@ public class PlainJarBuilder extends JarBuilder {
 
 	private JarPackageData fJarPackage;
 	private JarWriter3 fJarWriter;
+	private IncrementalJarWriter fIncrementalJarWriter;
 
 	@Override
 	public String getId() {
@@ -55,12 +56,18 @@ public class PlainJarBuilder extends JarBuilder {
 	public void open(JarPackageData jarPackage, Shell displayShell, MultiStatus statusMsg) throws CoreException {
 		super.open(jarPackage, displayShell, statusMsg);
 		fJarPackage= jarPackage;
-		fJarWriter= new JarWriter3(fJarPackage, displayShell);
+		if (IncrementalJarWriter.canUpdate(fJarPackage))
+			fIncrementalJarWriter= new IncrementalJarWriter(fJarPackage, displayShell);
+		else
+			fJarWriter= new JarWriter3(fJarPackage, displayShell);
 	}
 
 	@Override
 	public void writeFile(IFile resource, IPath destinationPath) throws CoreException {
-		fJarWriter.write(resource, destinationPath);
+		if (fIncrementalJarWriter != null)
+			fIncrementalJarWriter.write(resource, destinationPath);
+		else
+			fJarWriter.write(resource, destinationPath);
 	}
 
 	@Override
@@ -73,6 +80,9 @@ public class PlainJarBuilder extends JarBuilder {
 		if (fJarWriter != null) {
 			fJarWriter.close();
 		}
+		if (fIncrementalJarWriter != null) {
+			fIncrementalJarWriter.close();
+		}
 	}
 
 }
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.javaeditor;
 
+import org.eclipse.jface.text.IDocumentExtension4;
+
 import org.eclipse.ui.IPartListener2;
 import org.eclipse.ui.IWindowListener;
 import org.eclipse.ui.IWorkbenchPart;
@@ -42,6 +44,14 @@ public final class ASTProvider implements IASTSharedValues {
 
 	private static final CoreASTProvider INSTANCE= CoreASTProvider.getInstance();
 
+	/**
+	 * Name of the property of a reconciled shared AST that holds the modification stamp of the
+	 * editor's document the AST was created from, as a {@link Long}.
+	 *
+	 * @since 3.31
+	 */
+	public static final String DOCUMENT_STAMP_PROPERTY= "org.eclipse.jdt.ui.documentStamp"; //$NON-NLS-1$
+
 	/**
 	 * Internal activation listener.
 	 *
@@ -235,6 +245,21 @@ public final class ASTProvider implements IASTSharedValues {
 		}
 	}
 
+	/**
+	 * Returns the modification stamp of the document the given shared AST was created from.
+	 *
+	 * @param ast the compilation unit AST
+	 * @return the modification stamp or {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP} if
+	 *         it is not known, e.g. because the AST was not created by the editor's reconciler
+	 * @since 3.31
+	 */
+	public static long getDocumentStamp(CompilationUnit ast) {
+		Object stamp= ast.getProperty(DOCUMENT_STAMP_PROPERTY);
+		if (stamp instanceof Long)
+			return ((Long) stamp).longValue();
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
 	/**
 	 * Returns whether the given compilation unit AST is
 	 * cached by this AST provided.
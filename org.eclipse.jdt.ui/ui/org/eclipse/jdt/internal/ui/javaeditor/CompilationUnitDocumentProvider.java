@@ -20,11 +20,15 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.graphics.GC;
@@ -529,6 +533,43 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
 			List<IProblem> fReportedProblems;
 		}
 
+		/**
+		 * Identifies the problem of a generated annotation by its id, severity, message, arguments
+		 * and current position. Problems that are reported again keep their annotation.
+		 */
+		private static final class ProblemKey {
+			private final int fId;
+			private final String fType;
+			private final String fMessage;
+			private final String[] fArguments;
+			private final int fOffset;
+			private final int fLength;
+
+			ProblemKey(ProblemAnnotation annotation, Position position) {
+				fId= annotation.getId();
+				fType= annotation.getType();
+				fMessage= annotation.getText();
+				fArguments= annotation.getArguments();
+				fOffset= position.getOffset();
+				fLength= position.getLength();
+			}
+
+			@Override
+			public int hashCode() {
+				return Objects.hash(Integer.valueOf(fId), fMessage, Integer.valueOf(fOffset), Integer.valueOf(fLength));
+			}
+
+			@Override
+			public boolean equals(Object obj) {
+				if (!(obj instanceof ProblemKey))
+					return false;
+				ProblemKey other= (ProblemKey) obj;
+				return fId == other.fId && fOffset == other.fOffset && fLength == other.fLength
+						&& Objects.equals(fType, other.fType) && Objects.equals(fMessage, other.fMessage)
+						&& Arrays.equals(fArguments, other.fArguments);
+			}
+		}
+
 		private ThreadLocal<ProblemRequestorState> fProblemRequestorState= new ThreadLocal<>();
 		private int fStateCount= 0;
 
@@ -671,6 +712,12 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
 
 		/**
 		 * Signals the end of problem reporting.
+		 * <p>
+		 * The annotations of problems that were already reported are kept, only the annotations of
+		 * new problems are added and the ones of problems that are gone are removed. The model
+		 * event only contains these changes, which avoids repainting all annotations of files with
+		 * many problems on each reconcile.
+		 * </p>
 		 *
 		 * @param reportedProblems the problems to report
 		 */
@@ -687,11 +734,15 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
 				fPreviouslyOverlaid= fCurrentlyOverlaid;
 				fCurrentlyOverlaid= new ArrayList<>();
 
-				if (fGeneratedAnnotations.size() > 0) {
-					temporaryProblemsChanged= true;
-					removeAnnotations(fGeneratedAnnotations, false, true);
-					fGeneratedAnnotations.clear();
+				Map<ProblemKey, List<ProblemAnnotation>> previousAnnotations= new HashMap<>();
+				for (ProblemAnnotation annotation : fGeneratedAnnotations) {
+					Position position= getPosition(annotation);
+					if (position != null && !position.isDeleted())
+						previousAnnotations.computeIfAbsent(new ProblemKey(annotation, position), k -> new ArrayList<>(1)).add(annotation);
 				}
+				List<ProblemAnnotation> previouslyGenerated= new ArrayList<>(fGeneratedAnnotations);
+				Set<ProblemAnnotation> keptAnnotations= new HashSet<>();
+				fGeneratedAnnotations.clear();
 
 				if (reportedProblems != null && reportedProblems.size() > 0) {
 
@@ -707,8 +758,18 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
 						Position position= createPositionFromProblem(problem);
 						if (position != null) {
 
+							ProblemAnnotation annotation= new ProblemAnnotation(problem, fCompilationUnit);
+							List<ProblemAnnotation> previous= previousAnnotations.get(new ProblemKey(annotation, position));
+							if (previous != null && !previous.isEmpty()) {
+								ProblemAnnotation previousAnnotation= previous.remove(previous.size() - 1);
+								if (overlayMarkers(getPosition(previousAnnotation), previousAnnotation))
+									temporaryProblemsChanged= true;
+								fGeneratedAnnotations.add(previousAnnotation);
+								keptAnnotations.add(previousAnnotation);
+								continue;
+							}
+
 							try {
-								ProblemAnnotation annotation= new ProblemAnnotation(problem, fCompilationUnit);
 								overlayMarkers(position, annotation);
 								addAnnotation(annotation, position, false);
 								fGeneratedAnnotations.add(annotation);
@@ -721,7 +782,14 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
 					}
 				}
 
-				removeMarkerOverlays(isCanceled);
+				if (keptAnnotations.size() < previouslyGenerated.size()) {
+					previouslyGenerated.removeAll(keptAnnotations);
+					removeAnnotations(previouslyGenerated, false, true);
+					temporaryProblemsChanged= true;
+				}
+
+				if (removeMarkerOverlays(isCanceled))
+					temporaryProblemsChanged= true;
 				fPreviouslyOverlaid= null;
 			}
 
@@ -729,16 +797,31 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
 				fireModelChanged();
 		}
 
-		private void removeMarkerOverlays(boolean isCanceled) {
+		/*
+		 * Returns whether the overlay of a Java marker annotation has been removed.
+		 */
+		private boolean removeMarkerOverlays(boolean isCanceled) {
 			if (isCanceled) {
 				fCurrentlyOverlaid.addAll(fPreviouslyOverlaid);
-			} else if (fPreviouslyOverlaid != null) {
+			} else if (fPreviouslyOverlaid != null && !fPreviouslyOverlaid.isEmpty()) {
 				Iterator<JavaMarkerAnnotation> e= fPreviouslyOverlaid.iterator();
 				while (e.hasNext()) {
 					JavaMarkerAnnotation annotation= e.next();
 					annotation.setOverlay(null);
+					annotationChanged(annotation);
 				}
+				return true;
 			}
+			return false;
+		}
+
+		/*
+		 * Adds the annotation to the changed annotations of the next model event.
+		 */
+		private void annotationChanged(Annotation annotation) {
+			Position position= getPosition(annotation);
+			if (position != null)
+				modifyAnnotationPosition(annotation, position, false);
 		}
 
 		/**
@@ -746,19 +829,31 @@ public class CompilationUnitDocumentProvider extends TextFileDocumentProvider im
 		 *
 		 * @param annotation the Java marker annotation to attach a problem annotation to
 		 * @param problemAnnotation the problem annotation
+		 * @return <code>true</code> if the annotation was not overlaid before
 		 */
-		private void setOverlay(JavaMarkerAnnotation annotation, ProblemAnnotation problemAnnotation) {
+		private boolean setOverlay(JavaMarkerAnnotation annotation, ProblemAnnotation problemAnnotation) {
 			if (annotation.isProblem()) {
+				boolean hadOverlay= annotation.hasOverlay();
 				annotation.setOverlay(problemAnnotation);
-				fPreviouslyOverlaid.remove(annotation);
 				fCurrentlyOverlaid.add(annotation);
+				if (!fPreviouslyOverlaid.remove(annotation) || !hadOverlay) {
+					annotationChanged(annotation);
+					return true;
+				}
 			}
+			return false;
 		}
 
-		private void overlayMarkers(Position position, ProblemAnnotation problemAnnotation) {
+		/*
+		 * Returns whether a Java marker annotation has been overlaid that was not overlaid before.
+		 */
+		private boolean overlayMarkers(Position position, ProblemAnnotation problemAnnotation) {
+			boolean changed= false;
 			for (JavaMarkerAnnotation annotation : getJavaMarkerAnnotations(position)) {
-				setOverlay(annotation, problemAnnotation);
+				if (setOverlay(annotation, problemAnnotation))
+					changed= true;
 			}
+			return changed;
 		}
 
 		/**
@@ -16,8 +16,9 @@ package org.eclipse.jdt.internal.ui.packageview;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
@@ -83,6 +84,12 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	protected static final int GRANT_PARENT= 1 << 1;
 	protected static final int PROJECT= 1 << 2;
 
+	/**
+	 * The minimal time in milliseconds between two batches of pending updates, so that the
+	 * updates of many deltas in a row are coalesced and the UI thread stays responsive.
+	 */
+	private static final int UPDATE_INTERVAL= 100;
+
 	private TreeViewer fViewer;
 	private Object fInput;
 	private boolean fIsFlatLayout;
@@ -93,6 +100,34 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 
 	private UIJob fUpdateJob;
 
+	private volatile long fLastUpdateTime;
+
+	private long fRequestedRefreshes;
+	private long fCoalescedRefreshes;
+	private long fUpdateBatches;
+
+	/**
+	 * A refresh of an element, posted by {@link #postRefresh(List, boolean, Collection)}. Refreshes
+	 * are recognized before the updates are run so that refreshes covered by a refresh of the same
+	 * element or an ancestor are only run once.
+	 */
+	private final class RefreshRequest implements Runnable {
+		private final Object fElement;
+		private final boolean fUpdateLabels;
+
+		RefreshRequest(Object element, boolean updateLabels) {
+			fElement= element;
+			fUpdateLabels= updateLabels;
+		}
+
+		@Override
+		public void run() {
+			if (fElement == null || fViewer.testFindItems(fElement).length > 0) {
+				fViewer.refresh(fElement, fUpdateLabels);
+			}
+		}
+	}
+
 	/**
 	 * We use a cache to know whether a package has a single child for the hierarchical representation.
 	 * This avoids looping over all packages for each call to
@@ -184,7 +219,8 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 			};
 			fUpdateJob.setSystem(true);
 		}
-		fUpdateJob.schedule();
+		long delay= fLastUpdateTime + UPDATE_INTERVAL - System.currentTimeMillis();
+		fUpdateJob.schedule(Math.max(0, Math.min(delay, UPDATE_INTERVAL)));
 	}
 
 	/**
@@ -200,15 +236,113 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 			Control control = fViewer.getControl();
 			if (control != null && !control.isDisposed()) {
 				runUpdates(pendingUpdates);
+				fLastUpdateTime= System.currentTimeMillis();
 			}
 		}
 	}
 
 	private void runUpdates(Collection<Runnable> runnables) {
-		Iterator<Runnable> runnableIterator = runnables.iterator();
-		while (runnableIterator.hasNext()){
-			runnableIterator.next().run();
+		for (Runnable runnable : coalesceRefreshes(runnables)) {
+			runnable.run();
+		}
+	}
+
+	/*
+	 * Removes the refreshes that are covered by another refresh of the same element or of an
+	 * ancestor, either one that runs later or one that runs earlier without other updates in
+	 * between. Must be called in the display thread.
+	 */
+	private List<Runnable> coalesceRefreshes(Collection<Runnable> runnables) {
+		List<Runnable> result= new ArrayList<>(runnables);
+		int requested= 0;
+		int coalesced= 0;
+
+		Map<Object, Boolean> refreshedLater= new HashMap<>();
+		for (int i= result.size() - 1; i >= 0; i--) {
+			Runnable runnable= result.get(i);
+			if (runnable instanceof RefreshRequest) {
+				requested++;
+				RefreshRequest request= (RefreshRequest) runnable;
+				if (isRefreshCovered(request, refreshedLater)) {
+					result.set(i, null);
+					coalesced++;
+				} else {
+					refreshedLater.merge(request.fElement, Boolean.valueOf(request.fUpdateLabels), Boolean::logicalOr);
+				}
+			}
+		}
+
+		Map<Object, Boolean> refreshedEarlier= new HashMap<>();
+		for (int i= 0; i < result.size(); i++) {
+			Runnable runnable= result.get(i);
+			if (runnable instanceof RefreshRequest) {
+				RefreshRequest request= (RefreshRequest) runnable;
+				if (isRefreshCovered(request, refreshedEarlier)) {
+					result.set(i, null);
+					coalesced++;
+				} else {
+					refreshedEarlier.merge(request.fElement, Boolean.valueOf(request.fUpdateLabels), Boolean::logicalOr);
+				}
+			} else if (runnable != null) {
+				refreshedEarlier.clear();
+			}
+		}
+
+		if (coalesced > 0) {
+			result.removeIf(runnable -> runnable == null);
 		}
+		synchronized (this) {
+			fRequestedRefreshes+= requested;
+			fCoalescedRefreshes+= coalesced;
+			fUpdateBatches++;
+		}
+		return result;
+	}
+
+	/*
+	 * Tells whether the element of the request or one of its ancestors is refreshed, with labels
+	 * if the request updates labels. The structural parents are used, so a refresh of a working
+	 * set never covers the refresh of an element that can appear in several working sets.
+	 */
+	private boolean isRefreshCovered(RefreshRequest request, Map<Object, Boolean> refreshed) {
+		if (refreshed.isEmpty())
+			return false;
+		Object element= request.fElement;
+		do {
+			Boolean updateLabels= refreshed.get(element);
+			if (updateLabels != null && (updateLabels.booleanValue() || !request.fUpdateLabels))
+				return true;
+			element= element == null ? null : internalGetParent(element);
+		} while (element != null);
+		return false;
+	}
+
+	/**
+	 * Returns the number of element refreshes that have been requested by deltas.
+	 *
+	 * @return the number of requested refreshes
+	 */
+	public synchronized long getRequestedRefreshCount() {
+		return fRequestedRefreshes;
+	}
+
+	/**
+	 * Returns the number of requested element refreshes that have not been run because a
+	 * refresh of the same element or of an ancestor was pending.
+	 *
+	 * @return the number of coalesced refreshes
+	 */
+	public synchronized long getCoalescedRefreshCount() {
+		return fCoalescedRefreshes;
+	}
+
+	/**
+	 * Returns the number of batches of updates that have been run in the display thread.
+	 *
+	 * @return the number of update batches
+	 */
+	public synchronized long getUpdateBatchCount() {
+		return fUpdateBatches;
 	}
 
 
@@ -949,13 +1083,9 @@ public class PackageExplorerContentProvider extends StandardJavaElementContentPr
 	}
 
 	protected void postRefresh(final List<Object> toRefresh, final boolean updateLabels, Collection<Runnable> runnables) {
-		runnables.add(() -> {
-			for (Object element : toRefresh.toArray()) {
-				if (element == null || fViewer.testFindItems(element).length > 0) {
-					fViewer.refresh(element, updateLabels);
-				}
-			}
-		});
+		for (Object element : toRefresh) {
+			runnables.add(new RefreshRequest(element, updateLabels));
+		}
 	}
 
 	protected void postAdd(final Object parent, final Object element, Collection<Runnable> runnables) {
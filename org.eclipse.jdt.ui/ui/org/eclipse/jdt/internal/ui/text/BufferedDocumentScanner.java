@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2006 IBM Corporation and others.
+ * Copyright (c) 2000, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -49,6 +49,13 @@ public final class BufferedDocumentScanner implements ICharacterScanner {
 	/** The offset of the scanner within the buffer. */
 	private int fOffset;
 
+	/** <code>true</code> if the scanner hashes the characters it reads. */
+	private boolean fHashing;
+	/** The 64 bit FNV-1a hash of the characters of the range before {@link #fHashEnd}. */
+	private long fHash;
+	/** The end offset of the hashed characters, <code>-1</code> if the hash is not valid. */
+	private int fHashEnd= -1;
+
 
 	/**
 	 * Creates a new buffered document scanner.
@@ -80,6 +87,51 @@ public final class BufferedDocumentScanner implements ICharacterScanner {
 			content.getChars(0, fBufferLength, fBuffer, 0);
 		} catch (BadLocationException e) {
 		}
+
+		if (fHashEnd >= fBufferOffset) {
+			// the buffer contents are hashed once while the scanner moves forward
+			long hash= fHash;
+			for (int i= fHashEnd - fBufferOffset; i < fBufferLength; i++) {
+				hash^= fBuffer[i];
+				hash*= 0x100000001b3L;
+			}
+			fHash= hash;
+			fHashEnd= Math.max(fHashEnd, fBufferOffset + fBufferLength);
+		} else {
+			fHashEnd= -1;
+		}
+	}
+
+	/**
+	 * Sets whether the scanner computes a hash of the characters it reads while scanning the
+	 * ranges set afterwards. The hash covers the characters from the start of the range up to
+	 * {@link #getHashEnd()}, each of them is hashed once when it is first read into the buffer.
+	 *
+	 * @param hashing <code>true</code> to hash the read characters
+	 */
+	public void setHashing(boolean hashing) {
+		fHashing= hashing;
+		fHashEnd= -1;
+	}
+
+	/**
+	 * Returns the 64 bit FNV-1a hash of the characters of the range before {@link #getHashEnd()}.
+	 *
+	 * @return the hash of the read characters
+	 */
+	public long getHash() {
+		return fHash;
+	}
+
+	/**
+	 * Returns the document offset up to which the characters of the range are included in the
+	 * hash.
+	 *
+	 * @return the end offset of the hashed characters, or <code>-1</code> if the scanner does not
+	 *         hash the characters it reads
+	 */
+	public int getHashEnd() {
+		return fHashEnd;
 	}
 
 	/**
@@ -100,6 +152,10 @@ public final class BufferedDocumentScanner implements ICharacterScanner {
 		for (int i= 0; i < delimiters.length; i++)
 			fDelimiters[i]= delimiters[i].toCharArray();
 
+		if (fHashing) {
+			fHash= 0xcbf29ce484222325L;
+			fHashEnd= offset;
+		}
 		updateBuffer(offset);
 		fOffset= 0;
 	}
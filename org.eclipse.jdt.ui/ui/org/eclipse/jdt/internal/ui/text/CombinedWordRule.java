@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -48,12 +48,36 @@ public class CombinedWordRule implements IRule {
 
 	/**
 	 * Word matcher, that associates matched words with tokens.
+	 * <p>
+	 * Words are looked up in a collision free hash table over their characters, so that matching
+	 * a scanned word neither allocates nor compares more than one candidate.
+	 * </p>
 	 */
 	public static class WordMatcher {
 
+		/** The maximal number of bits of the lookup table index */
+		private static final int MAX_TABLE_BITS= 16;
+		/** The number of hash multipliers tried for each table size */
+		private static final int MULTIPLIER_ATTEMPTS= 256;
+
 		/** The table of predefined words and token for this matcher */
 		private Map<CharacterBuffer, IToken> fWords= new HashMap<>();
 
+		/** The words of the lookup table, <code>null</code> if the table has to be built */
+		private char[][] fTableWords;
+		/** The tokens of the lookup table */
+		private IToken[] fTableTokens;
+		/** The multiplier of the hash function of the lookup table */
+		private int fMultiplier;
+		/** The shift of the hash function of the lookup table */
+		private int fShift;
+		/** <code>true</code> if no collision free table exists and the map has to be used */
+		private boolean fUseMap;
+		/** The length of the shortest word */
+		private int fMinLength= Integer.MAX_VALUE;
+		/** The length of the longest word */
+		private int fMaxLength= 0;
+
 		/**
 		 * Adds a word and the token to be returned if it is detected.
 		 *
@@ -65,6 +89,9 @@ public class CombinedWordRule implements IRule {
 			Assert.isNotNull(token);
 
 			fWords.put(new CharacterBuffer(word), token);
+			fMinLength= Math.min(fMinLength, word.length());
+			fMaxLength= Math.max(fMaxLength, word.length());
+			fTableWords= null;
 		}
 
 		/**
@@ -75,7 +102,7 @@ public class CombinedWordRule implements IRule {
 		 * @return the token or <code>null</code> if none is associated by this matcher
 		 */
 		public IToken evaluate(ICharacterScanner scanner, CharacterBuffer word) {
-			IToken token= fWords.get(word);
+			IToken token= lookup(word);
 			if (token != null)
 				return token;
 			return Token.UNDEFINED;
@@ -86,6 +113,63 @@ public class CombinedWordRule implements IRule {
 		 */
 		public void clearWords() {
 			fWords.clear();
+			fMinLength= Integer.MAX_VALUE;
+			fMaxLength= 0;
+			fTableWords= null;
+		}
+
+		private IToken lookup(CharacterBuffer word) {
+			int length= word.length();
+			if (length < fMinLength || length > fMaxLength)
+				return null;
+			if (fTableWords == null)
+				buildTable();
+			if (fUseMap)
+				return fWords.get(word);
+			int index= (word.hashCode() * fMultiplier) >>> fShift;
+			char[] candidate= fTableWords[index];
+			if (candidate == null || !word.equals(candidate))
+				return null;
+			return fTableTokens[index];
+		}
+
+		/**
+		 * Builds the smallest collision free table that can be found with multiplicative hashing,
+		 * falling back to the map for word sets without one.
+		 */
+		private void buildTable() {
+			int bits= 1;
+			while (1 << bits < 2 * fWords.size())
+				bits++;
+			for (; bits <= MAX_TABLE_BITS; bits++) {
+				int multiplier= 0x9E3779B9;
+				for (int attempt= 0; attempt < MULTIPLIER_ATTEMPTS; attempt++, multiplier+= 0x7F4A7C16) {
+					if (fillTable(bits, multiplier | 1))
+						return;
+				}
+			}
+			fTableWords= new char[0][];
+			fTableTokens= null;
+			fUseMap= true;
+		}
+
+		private boolean fillTable(int bits, int multiplier) {
+			int shift= Integer.SIZE - bits;
+			char[][] words= new char[1 << bits][];
+			IToken[] tokens= new IToken[1 << bits];
+			for (Map.Entry<CharacterBuffer, IToken> entry : fWords.entrySet()) {
+				int index= (entry.getKey().hashCode() * multiplier) >>> shift;
+				if (words[index] != null)
+					return false;
+				words[index]= entry.getKey().toString().toCharArray();
+				tokens[index]= entry.getValue();
+			}
+			fTableWords= words;
+			fTableTokens= tokens;
+			fMultiplier= multiplier;
+			fShift= shift;
+			fUseMap= false;
+			return true;
 		}
 	}
 
@@ -211,6 +295,23 @@ public class CombinedWordRule implements IRule {
 			return true;
 		}
 
+		/**
+		 * Is the content equal to the given characters?
+		 *
+		 * @param chars the characters
+		 * @return <code>true</code> iff the content is the same character sequence as in the array
+		 * @since 3.31
+		 */
+		public boolean equals(char[] chars) {
+			int length= chars.length;
+			if (length != fLength)
+				return false;
+			for (int i= 0; i < length; i++)
+				if (chars[i] != fContent[i])
+					return false;
+			return true;
+		}
+
 		/**
 		 * Is the content equal to the given string?
 		 *
@@ -350,8 +451,9 @@ public class CombinedWordRule implements IRule {
 				} while (c != ICharacterScanner.EOF && fDetector.isWordPart((char) c));
 				scanner.unread();
 
-				for (WordMatcher matcher : fMatchers) {
-					IToken token= matcher.evaluate(scanner, fBuffer);
+				// indexed loop, this runs for every word of the scanned text
+				for (int i= 0, n= fMatchers.size(); i < n; i++) {
+					IToken token= fMatchers.get(i).evaluate(scanner, fBuffer);
 					if (!token.isUndefined())
 						return token;
 				}
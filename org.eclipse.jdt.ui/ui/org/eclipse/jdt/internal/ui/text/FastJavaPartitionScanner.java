@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -91,6 +91,11 @@ public class FastJavaPartitionScanner implements IPartitionTokenScanner, IJavaPa
 
 	private IJavaProject fJavaProject;
 
+	/** The partitions to return instead of scanning, see {@link #replay(JavaPartitionMapCache.PartitionMap)}. */
+	private JavaPartitionMapCache.PartitionMap fReplay;
+	/** The index of the next replayed partition. */
+	private int fReplayIndex;
+
 	private final IToken[] fTokens= new IToken[] {
 		new Token(null),
 		new Token(JAVA_SINGLE_LINE_COMMENT),
@@ -120,6 +125,9 @@ public class FastJavaPartitionScanner implements IPartitionTokenScanner, IJavaPa
 	@Override
 	public IToken nextToken() {
 
+		if (fReplay != null)
+			return nextReplayedToken();
+
 		// emulate JavaPartitionScanner
 		if (fEmulate) {
 			if (fJavaOffset != -1 && fTokenOffset + fTokenLength != fJavaOffset + fJavaLength) {
@@ -688,7 +696,62 @@ public class FastJavaPartitionScanner implements IPartitionTokenScanner, IJavaPa
 		}
 	}
 
-	private static int getState(String contentType) {
+	/**
+	 * Makes the scan of the next full range return the given partitions instead of scanning the
+	 * document. Only the partitions are returned, not the default partitions between them.
+	 *
+	 * @param map the partitions of the document that will be scanned
+	 */
+	void replay(JavaPartitionMapCache.PartitionMap map) {
+		fReplay= map;
+		fReplayIndex= 0;
+	}
+
+	/**
+	 * Sets whether the scanner hashes the document content while scanning the ranges set
+	 * afterwards.
+	 *
+	 * @param hashing <code>true</code> to hash the scanned content
+	 * @see BufferedDocumentScanner#setHashing(boolean)
+	 */
+	void setHashing(boolean hashing) {
+		fScanner.setHashing(hashing);
+	}
+
+	/**
+	 * Returns the hash of the content that has been scanned since the range was set.
+	 *
+	 * @return the hash of the scanned content
+	 * @see BufferedDocumentScanner#getHash()
+	 */
+	long getHash() {
+		return fScanner.getHash();
+	}
+
+	/**
+	 * Returns the document offset up to which the content is included in the hash.
+	 *
+	 * @return the end offset of the hashed content, or <code>-1</code> if the scanner does not
+	 *         hash the content
+	 * @see BufferedDocumentScanner#getHashEnd()
+	 */
+	int getHashEnd() {
+		return fScanner.getHashEnd();
+	}
+
+	private IToken nextReplayedToken() {
+		if (fReplayIndex == fReplay.size()) {
+			fReplay= null;
+			fTokenOffset+= fTokenLength;
+			fTokenLength= 0;
+			return Token.EOF;
+		}
+		fTokenOffset= fReplay.getOffset(fReplayIndex);
+		fTokenLength= fReplay.getLength(fReplayIndex);
+		return fTokens[fReplay.getState(fReplayIndex++)];
+	}
+
+	static int getState(String contentType) {
 
 		if (contentType == null)
 			return JAVA;
@@ -716,6 +779,7 @@ public class FastJavaPartitionScanner implements IPartitionTokenScanner, IJavaPa
 	 */
 	@Override
 	public void setPartialRange(IDocument document, int offset, int length, String contentType, int partitionOffset) {
+		fReplay= null;
 		fCurrentDocument= document;
 		fScanner.setRange(document, offset, length);
 		fTokenOffset= partitionOffset;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2020 IBM Corporation and others.
+ * Copyright (c) 2019, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,11 @@ package org.eclipse.jdt.internal.ui.text;
 
 import org.eclipse.jface.text.BadPositionCategoryException;
 import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.TypedPosition;
 import org.eclipse.jface.text.rules.FastPartitioner;
 import org.eclipse.jface.text.rules.IPartitionTokenScanner;
 
@@ -24,14 +28,68 @@ public class FastJavaPartitioner extends FastPartitioner {
 
 	private boolean fIsTextBlockSupported= false;
 
+	/** <code>true</code> if the current document change replaces the whole content */
+	private boolean fIsContentReplaced= false;
+
 	public FastJavaPartitioner(IPartitionTokenScanner scanner, String[] legalContentTypes) {
 		super(scanner, legalContentTypes);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * The partitioning of large documents is restored from the {@link JavaPartitionMapCache} if
+	 * the same content has been partitioned before in this session, for example when a file is
+	 * opened again. Otherwise the document is scanned, the scan computes the hash under which the
+	 * partitioning is cached.
+	 * </p>
+	 */
 	@Override
 	protected void initialize() {
-		super.initialize();
-		fIsTextBlockSupported= isTextBlockSupported();
+		boolean textBlockSupported= isTextBlockSupported();
+		int length= fDocument.getLength();
+		if (fScanner instanceof FastJavaPartitionScanner && length >= JavaPartitionMapCache.MIN_DOCUMENT_LENGTH) {
+			FastJavaPartitionScanner scanner= (FastJavaPartitionScanner) fScanner;
+			JavaPartitionMapCache.PartitionMap map= JavaPartitionMapCache.getDefault().get(fDocument, textBlockSupported);
+			if (map != null) {
+				scanner.replay(map);
+				try {
+					super.initialize();
+				} finally {
+					scanner.replay(null);
+				}
+			} else {
+				scanner.setHashing(true);
+				try {
+					super.initialize();
+					if (scanner.getHashEnd() == length)
+						storePartitionMap(new JavaPartitionMapCache.Key(scanner.getHash(), length, textBlockSupported));
+				} finally {
+					scanner.setHashing(false);
+				}
+			}
+		} else {
+			super.initialize();
+		}
+		fIsTextBlockSupported= textBlockSupported;
+	}
+
+	private void storePartitionMap(JavaPartitionMapCache.Key key) {
+		Position[] positions;
+		try {
+			positions= fDocument.getPositions(getManagingPositionCategories()[0]);
+		} catch (BadPositionCategoryException e) {
+			return;
+		}
+		int[] offsets= new int[positions.length];
+		int[] lengths= new int[positions.length];
+		byte[] states= new byte[positions.length];
+		for (int i= 0; i < positions.length; i++) {
+			offsets[i]= positions[i].getOffset();
+			lengths[i]= positions[i].getLength();
+			states[i]= (byte) FastJavaPartitionScanner.getState(((TypedPosition) positions[i]).getType());
+		}
+		JavaPartitionMapCache.getDefault().put(key, new JavaPartitionMapCache.PartitionMap(offsets, lengths, states));
 	}
 
 	public void resetPositionCache() {
@@ -45,6 +103,21 @@ public class FastJavaPartitioner extends FastPartitioner {
 			clearManagingPositionCategory();
 			connect(fDocument, false);
 		}
+		fIsContentReplaced= e.getOffset() == 0 && e.getLength() == fDocument.getLength() && getActiveRewriteSession() == null;
+	}
+
+	@Override
+	public IRegion documentChanged2(DocumentEvent e) {
+		boolean contentReplaced= fIsContentReplaced;
+		fIsContentReplaced= false;
+		if (contentReplaced && fScanner instanceof FastJavaPartitionScanner && fDocument.getLength() >= JavaPartitionMapCache.MIN_DOCUMENT_LENGTH) {
+			// file buffers set the content after connecting, partition it like a newly
+			// connected document so that the partitioning can be restored from the cache
+			clearManagingPositionCategory();
+			connect(fDocument, true);
+			return new Region(0, fDocument.getLength());
+		}
+		return super.documentChanged2(e);
 	}
 
 	@Override
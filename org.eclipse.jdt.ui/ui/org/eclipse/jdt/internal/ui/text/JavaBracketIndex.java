@@ -0,0 +1,323 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.DocumentPartitioningChangedEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension3;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IDocumentPartitioningListener;
+import org.eclipse.jface.text.IDocumentPartitioningListenerExtension2;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TextUtilities;
+
+import org.eclipse.jdt.ui.text.IJavaPartitions;
+
+/**
+ * Index of the parentheses, brackets and braces in the default partition of a document with
+ * the Java partitioning. The index allows {@link JavaHeuristicScanner} to find the peer of a
+ * bracket with a binary search instead of scanning the document character by character.
+ * <p>
+ * For each kind of bracket, the index stores the bracket positions together with the nesting
+ * level after each bracket. The opening peer of a position is the bracket after the last
+ * preceding entry with one level less, and the closing peer is the first following entry with
+ * one level less than the level in front of the position.
+ * </p>
+ * <p>
+ * The index always covers a prefix of the document and is extended on demand. Document changes
+ * and partitioning changes discard the entries at and after the changed offset, since the
+ * partitions of the text in front of a change are not affected by it.
+ * </p>
+ *
+ * @since 3.31
+ */
+final class JavaBracketIndex implements IDocumentListener, IDocumentPartitioningListener, IDocumentPartitioningListenerExtension2 {
+
+	/** The minimal number of characters that are indexed at once when searching forward. */
+	private static final int CHUNK_SIZE= 4096;
+
+	private static final String OPENING_PEERS= "({["; //$NON-NLS-1$
+	private static final String CLOSING_PEERS= ")}]"; //$NON-NLS-1$
+
+	private static final Map<IDocument, JavaBracketIndex> fgIndexes= new WeakHashMap<>();
+
+	/**
+	 * Growable array of <code>int</code>s.
+	 */
+	private static final class IntList {
+		private int[] fValues= new int[8];
+		private int fSize;
+
+		void add(int value) {
+			if (fSize == fValues.length)
+				fValues= Arrays.copyOf(fValues, fSize * 2);
+			fValues[fSize++]= value;
+		}
+
+		int get(int i) {
+			return fValues[i];
+		}
+
+		int size() {
+			return fSize;
+		}
+
+		void removeLast() {
+			fSize--;
+		}
+
+		/*
+		 * Returns the index of the first value >= key, the values must be sorted.
+		 */
+		int ceiling(int key) {
+			int low= 0;
+			int high= fSize;
+			while (low < high) {
+				int mid= (low + high) >>> 1;
+				if (fValues[mid] < key)
+					low= mid + 1;
+				else
+					high= mid;
+			}
+			return low;
+		}
+	}
+
+	/**
+	 * The indexed brackets of one kind.
+	 */
+	private static final class Brackets {
+		/** The bracket positions in ascending order. */
+		private final IntList fPositions= new IntList();
+		/** The nesting level after each bracket. */
+		private final IntList fLevels= new IntList();
+		/** The indices into <code>fPositions</code> of the brackets, by nesting level. */
+		private final Map<Integer, IntList> fIndicesByLevel= new HashMap<>();
+
+		void add(int position, boolean opening) {
+			int size= fPositions.size();
+			int level= getLevel(size - 1) + (opening ? 1 : -1);
+			fPositions.add(position);
+			fLevels.add(level);
+			fIndicesByLevel.computeIfAbsent(Integer.valueOf(level), l -> new IntList()).add(size);
+		}
+
+		void truncate(int offset) {
+			int size= fPositions.ceiling(offset);
+			for (int i= fPositions.size() - 1; i >= size; i--) {
+				fIndicesByLevel.get(Integer.valueOf(fLevels.get(i))).removeLast();
+				fPositions.removeLast();
+				fLevels.removeLast();
+			}
+		}
+
+		int getLevel(int index) {
+			return index < 0 ? 0 : fLevels.get(index);
+		}
+
+		/*
+		 * Returns the position of the opening peer for the given offset, or NOT_FOUND.
+		 */
+		int findOpening(int offset) {
+			int index= fPositions.ceiling(offset + 1) - 1;
+			if (index < 0)
+				return JavaHeuristicScanner.NOT_FOUND;
+			int level= getLevel(index) - 1;
+			IntList indices= fIndicesByLevel.get(Integer.valueOf(level));
+			int previous= indices == null ? -1 : indices.ceiling(index) - 1;
+			if (previous >= 0)
+				return fPositions.get(indices.get(previous) + 1);
+			return level == 0 ? fPositions.get(0) : JavaHeuristicScanner.NOT_FOUND;
+		}
+
+		/*
+		 * Returns the position of the closing peer for the given offset, or NOT_FOUND if the
+		 * peer is not in the indexed range.
+		 */
+		int findClosing(int offset) {
+			int index= fPositions.ceiling(offset);
+			IntList indices= fIndicesByLevel.get(Integer.valueOf(getLevel(index - 1) - 1));
+			if (indices == null)
+				return JavaHeuristicScanner.NOT_FOUND;
+			int next= indices.ceiling(index);
+			return next < indices.size() ? fPositions.get(indices.get(next)) : JavaHeuristicScanner.NOT_FOUND;
+		}
+	}
+
+	private final Brackets[] fBrackets= { new Brackets(), new Brackets(), new Brackets() };
+
+	/** The length of the indexed document prefix. */
+	private int fIndexedLength;
+
+	private JavaBracketIndex() {
+	}
+
+	/**
+	 * Returns the bracket index of the given document, or <code>null</code> if the document
+	 * has no Java partitioning. The index stays installed on the document as long as the
+	 * document is referenced.
+	 *
+	 * @param document the document
+	 * @return the index of the document, or <code>null</code>
+	 */
+	static JavaBracketIndex getIndex(IDocument document) {
+		if (!(document instanceof IDocumentExtension3) || ((IDocumentExtension3) document).getDocumentPartitioner(IJavaPartitions.JAVA_PARTITIONING) == null)
+			return null;
+
+		synchronized (fgIndexes) {
+			JavaBracketIndex index= fgIndexes.get(document);
+			if (index == null) {
+				index= new JavaBracketIndex();
+				document.addDocumentListener(index);
+				document.addDocumentPartitioningListener(index);
+				fgIndexes.put(document, index);
+			}
+			return index;
+		}
+	}
+
+	/**
+	 * Tells whether the index contains the given pair of peers.
+	 *
+	 * @param openingPeer the opening peer character
+	 * @param closingPeer the closing peer character
+	 * @return <code>true</code> if the peers are indexed
+	 */
+	static boolean isIndexed(char openingPeer, char closingPeer) {
+		int kind= OPENING_PEERS.indexOf(openingPeer);
+		return kind != -1 && CLOSING_PEERS.charAt(kind) == closingPeer;
+	}
+
+	/**
+	 * Returns the position of the opening peer, see
+	 * {@link JavaHeuristicScanner#findOpeningPeer(int, int, char, char)}.
+	 *
+	 * @param document the indexed document
+	 * @param start the first position to be searched
+	 * @param bound the highest position not to be searched, at least <code>-1</code>
+	 * @param openingPeer the opening peer character, must be indexed
+	 * @return the position of the opening peer, or <code>NOT_FOUND</code>
+	 */
+	synchronized int findOpeningPeer(IDocument document, int start, int bound, char openingPeer) {
+		if (start <= bound)
+			return JavaHeuristicScanner.NOT_FOUND;
+		if (!index(document, start + 1))
+			return JavaHeuristicScanner.NOT_FOUND;
+		int peer= fBrackets[OPENING_PEERS.indexOf(openingPeer)].findOpening(start);
+		return peer > bound ? peer : JavaHeuristicScanner.NOT_FOUND;
+	}
+
+	/**
+	 * Returns the position of the closing peer, see
+	 * {@link JavaHeuristicScanner#findClosingPeer(int, int, char, char)}.
+	 *
+	 * @param document the indexed document
+	 * @param start the first position to be searched
+	 * @param bound the first position not to be searched, at most the document length
+	 * @param openingPeer the opening peer character, must be indexed
+	 * @return the position of the closing peer, or <code>NOT_FOUND</code>
+	 */
+	synchronized int findClosingPeer(IDocument document, int start, int bound, char openingPeer) {
+		Brackets brackets= fBrackets[OPENING_PEERS.indexOf(openingPeer)];
+		int length= Math.max(start + 1, fIndexedLength);
+		while (start < bound) {
+			length= Math.min(bound, length);
+			if (!index(document, length))
+				return JavaHeuristicScanner.NOT_FOUND;
+			int peer= brackets.findClosing(start);
+			if (peer != JavaHeuristicScanner.NOT_FOUND)
+				return peer < bound ? peer : JavaHeuristicScanner.NOT_FOUND;
+			if (length == bound)
+				break;
+			length+= Math.max(CHUNK_SIZE, length - start);
+		}
+		return JavaHeuristicScanner.NOT_FOUND;
+	}
+
+	/*
+	 * Extends the index to cover the first length characters of the document. Returns false if
+	 * the document cannot be read.
+	 */
+	private boolean index(IDocument document, int length) {
+		try {
+			int offset= fIndexedLength;
+			while (offset < length) {
+				ITypedRegion partition= TextUtilities.getPartition(document, IJavaPartitions.JAVA_PARTITIONING, offset, false);
+				if (partition == null)
+					return false;
+				int end= Math.min(length, partition.getOffset() + partition.getLength());
+				if (end <= offset)
+					end= offset + 1;
+				if (IDocument.DEFAULT_CONTENT_TYPE.equals(partition.getType())) {
+					String content= document.get(offset, end - offset);
+					for (int i= 0; i < content.length(); i++) {
+						char ch= content.charAt(i);
+						int kind= OPENING_PEERS.indexOf(ch);
+						if (kind != -1) {
+							fBrackets[kind].add(offset + i, true);
+						} else {
+							kind= CLOSING_PEERS.indexOf(ch);
+							if (kind != -1)
+								fBrackets[kind].add(offset + i, false);
+						}
+					}
+				}
+				offset= end;
+				fIndexedLength= offset;
+			}
+			return true;
+		} catch (BadLocationException e) {
+			return false;
+		}
+	}
+
+	private synchronized void invalidate(int offset) {
+		if (offset >= fIndexedLength)
+			return;
+		for (Brackets brackets : fBrackets) {
+			brackets.truncate(offset);
+		}
+		fIndexedLength= offset;
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		invalidate(event.getOffset());
+	}
+
+	@Override
+	public void documentChanged(DocumentEvent event) {
+		// the index has been truncated before the change
+	}
+
+	@Override
+	public void documentPartitioningChanged(IDocument document) {
+		invalidate(0);
+	}
+
+	@Override
+	public void documentPartitioningChanged(DocumentPartitioningChangedEvent event) {
+		IRegion region= event.getChangedRegion(IJavaPartitions.JAVA_PARTITIONING);
+		if (region != null)
+			invalidate(region.getOffset());
+	}
+}
@@ -546,6 +546,14 @@ public final class JavaHeuristicScanner implements Symbols {
 	public int findClosingPeer(int start, int bound, final char openingPeer, final char closingPeer) {
 		Assert.isLegal(start >= 0);
 
+		JavaBracketIndex index= getBracketIndex(openingPeer, closingPeer);
+		if (index != null) {
+			if (bound == UNBOUND)
+				bound= fDocument.getLength();
+			Assert.isLegal(bound <= fDocument.getLength());
+			return index.findClosingPeer(fDocument, start, bound, openingPeer);
+		}
+
 		try {
 			CharacterMatch match= new CharacterMatch(new char[] {openingPeer, closingPeer});
 			int depth= 1;
@@ -601,6 +609,14 @@ public final class JavaHeuristicScanner implements Symbols {
 	public int findOpeningPeer(int start, int bound, char openingPeer, char closingPeer) {
 		Assert.isLegal(start < fDocument.getLength());
 
+		JavaBracketIndex index= getBracketIndex(openingPeer, closingPeer);
+		if (index != null) {
+			if (bound == UNBOUND)
+				bound= -1;
+			Assert.isLegal(bound >= -1);
+			return index.findOpeningPeer(fDocument, start, bound, openingPeer);
+		}
+
 		try {
 			final CharacterMatch match= new CharacterMatch(new char[] {openingPeer, closingPeer});
 			int depth= 1;
@@ -624,6 +640,23 @@ public final class JavaHeuristicScanner implements Symbols {
 		}
 	}
 
+	/**
+	 * Returns the bracket index to use for finding the given peers, or <code>null</code> if the
+	 * peers are not indexed or the scanner does not scan the default Java partition.
+	 *
+	 * @param openingPeer the opening peer character
+	 * @param closingPeer the closing peer character
+	 * @return the bracket index of the document, or <code>null</code>
+	 * @since 3.31
+	 */
+	private JavaBracketIndex getBracketIndex(char openingPeer, char closingPeer) {
+		if (!JavaBracketIndex.isIndexed(openingPeer, closingPeer)
+				|| !IJavaPartitions.JAVA_PARTITIONING.equals(fPartitioning)
+				|| !IDocument.DEFAULT_CONTENT_TYPE.equals(fPartition))
+			return null;
+		return JavaBracketIndex.getIndex(fDocument);
+	}
+
 	/**
 	 * Computes the surrounding block around <code>offset</code>. The search is started at the
 	 * beginning of <code>offset</code>, i.e. an opening brace at <code>offset</code> will not be
@@ -13,10 +13,16 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 
 import org.eclipse.jdt.core.IJavaProject;
@@ -396,6 +402,30 @@ public final class JavaIndenter {
 	 */
 	private final CorePrefs fPrefs;
 
+	/**
+	 * The results of {@link #isTryWithResources()} while caching is enabled, by the offset of
+	 * the semicolon the search started at: the offset of the <code>try</code> token, or
+	 * {@link JavaHeuristicScanner#NOT_FOUND}. <code>null</code> if caching is disabled.
+	 * @since 3.31
+	 */
+	private TreeMap<Integer, Integer> fTryCache;
+
+	/**
+	 * Removes the cached results at or after a document change.
+	 * @since 3.31
+	 */
+	private final IDocumentListener fCacheUpdater= new IDocumentListener() {
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+			fTryCache.tailMap(Integer.valueOf(event.getOffset())).clear();
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			// cache already updated
+		}
+	};
+
 	/**
 	 * Creates a new instance.
 	 *
@@ -426,6 +456,34 @@ public final class JavaIndenter {
 		fPrefs= new CorePrefs(project);
 	}
 
+	/**
+	 * Starts caching the results of backward searches that only depend on the text before the
+	 * search start. This avoids scanning the same text again for every line when the indentation
+	 * of many consecutive lines is computed, like in the indent action. The cache follows changes
+	 * to the document until {@link #stopCaching()} is called.
+	 *
+	 * @since 3.31
+	 */
+	public void startCaching() {
+		if (fTryCache == null) {
+			fTryCache= new TreeMap<>();
+			fDocument.addDocumentListener(fCacheUpdater);
+		}
+	}
+
+	/**
+	 * Stops caching and discards the cached results.
+	 *
+	 * @see #startCaching()
+	 * @since 3.31
+	 */
+	public void stopCaching() {
+		if (fTryCache != null) {
+			fDocument.removeDocumentListener(fCacheUpdater);
+			fTryCache= null;
+		}
+	}
+
 	/**
 	 * Computes the indentation at the reference point of <code>position</code>.
 	 *
@@ -1261,14 +1319,45 @@ public final class JavaIndenter {
 	 * @since 3.7
 	 */
 	private boolean isTryWithResources() {
+		// the search from any semicolon passed on the way leads to the same result
+		List<Integer> semicolons= fTryCache != null ? new ArrayList<>() : null;
+		boolean atSemicolon= true;
 		while (true) {
+			if (atSemicolon && semicolons != null) {
+				Integer tryPosition= fTryCache.get(Integer.valueOf(fPosition));
+				if (tryPosition != null) {
+					cacheTryPosition(semicolons, tryPosition.intValue());
+					if (tryPosition.intValue() == JavaHeuristicScanner.NOT_FOUND)
+						return false;
+					fToken= Symbols.TokenTRY;
+					fPosition= tryPosition.intValue();
+					fTokenPos= fPosition;
+					return true;
+				}
+				semicolons.add(Integer.valueOf(fPosition));
+			}
 			nextToken();
+			atSemicolon= false;
 			switch (fToken) {
 				case Symbols.TokenTRY:
+					cacheTryPosition(semicolons, fPosition);
 					return true;
 				case Symbols.TokenLBRACE:
 				case Symbols.TokenEOF:
+					cacheTryPosition(semicolons, JavaHeuristicScanner.NOT_FOUND);
 					return false;
+				case Symbols.TokenSEMICOLON:
+					atSemicolon= true;
+					break;
+			}
+		}
+	}
+
+	private void cacheTryPosition(List<Integer> semicolons, int tryPosition) {
+		if (semicolons != null) {
+			Integer value= Integer.valueOf(tryPosition);
+			for (Integer semicolon : semicolons) {
+				fTryCache.put(semicolon, value);
 			}
 		}
 	}
@@ -2149,6 +2238,51 @@ public final class JavaIndenter {
 		return fToken == Symbols.TokenIDENT; // method name
 	}
 
+	/**
+	 * Skips a scope of parentheses, brackets or braces with a single peer search of the scanner,
+	 * which can use its bracket index instead of reading each token. Leaves the state as
+	 * {@link #skipScope(int, int)} does on success. If the peer cannot be found, the state is
+	 * unchanged and the scope has to be skipped token by token.
+	 *
+	 * @param openToken the opening peer token
+	 * @return <code>true</code> if the matching peer was found
+	 * @since 3.31
+	 */
+	private boolean skipPeerScope(int openToken) {
+		char openingPeer;
+		char closingPeer;
+		switch (openToken) {
+			case Symbols.TokenLPAREN:
+				openingPeer= '(';
+				closingPeer= ')';
+				break;
+			case Symbols.TokenLBRACKET:
+				openingPeer= '[';
+				closingPeer= ']';
+				break;
+			case Symbols.TokenLBRACE:
+				openingPeer= '{';
+				closingPeer= '}';
+				break;
+			default:
+				return false;
+		}
+		if (fPosition < 1 || fPosition > fDocument.getLength())
+			return false;
+
+		int peer= fScanner.findOpeningPeer(fPosition - 1, openingPeer, closingPeer);
+		if (peer == JavaHeuristicScanner.NOT_FOUND)
+			return false;
+
+		// the last token read backwards is the one following the peer
+		int next= peer + 1 < fPosition ? fScanner.findNonWhitespaceForward(peer + 1, fPosition) : JavaHeuristicScanner.NOT_FOUND;
+		fPreviousPos= next == JavaHeuristicScanner.NOT_FOUND ? fPosition : next;
+		fToken= openToken;
+		fPosition= peer;
+		fTokenPos= peer;
+		return true;
+	}
+
 	/**
 	 * Scans tokens for the matching opening peer. The internal cursor
 	 * (<code>fPosition</code>) is set to the offset of the opening peer if found.
@@ -2159,6 +2293,8 @@ public final class JavaIndenter {
 	 *         otherwise
 	 */
 	private boolean skipScope(int openToken, int closeToken) {
+		if (skipPeerScope(openToken))
+			return true;
 
 		int depth= 1;
 
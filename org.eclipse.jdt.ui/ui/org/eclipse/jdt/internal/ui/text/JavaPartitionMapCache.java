@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.rules.ICharacterScanner;
+
+/**
+ * Bounded cache of the Java partitionings of large documents, so that documents that are opened
+ * again with unchanged content do not have to be scanned again.
+ * <p>
+ * Partitionings are keyed by a hash of the document content, its length and whether text blocks
+ * are partitioned. The hash of a scanned document is computed by the scan itself, a document is
+ * only hashed before scanning if a partitioning of the same length is cached. The size of the
+ * cache is bounded by the number of cached partitions, the least recently used partitionings are
+ * evicted first.
+ * </p>
+ * <p>
+ * The cache lives for the session only, it speeds up documents that are opened again but not the
+ * first open of a document after a restart.
+ * </p>
+ *
+ * @since 3.31
+ */
+public final class JavaPartitionMapCache {
+
+	/** The minimal length of documents whose partitioning is cached, smaller ones are scanned fast. */
+	public static final int MIN_DOCUMENT_LENGTH= 32 * 1024;
+
+	/** The maximal total number of cached partitions. */
+	private static final int MAX_PARTITIONS= 500000;
+
+	/** The size of the buffer used to hash documents before scanning them. */
+	private static final int HASH_BUFFER_SIZE= 4096;
+
+	private static final JavaPartitionMapCache fgDefault= new JavaPartitionMapCache();
+
+	/**
+	 * Identifies the content of a document and the scanner configuration.
+	 */
+	static final class Key {
+		private final long fHash;
+		private final int fLength;
+		private final boolean fTextBlocks;
+
+		Key(long hash, int length, boolean textBlocks) {
+			fHash= hash;
+			fLength= length;
+			fTextBlocks= textBlocks;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(fHash) ^ fLength ^ (fTextBlocks ? 1 : 0);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key))
+				return false;
+			Key other= (Key) obj;
+			return fHash == other.fHash && fLength == other.fLength && fTextBlocks == other.fTextBlocks;
+		}
+	}
+
+	/**
+	 * The partitions of a document other than the default partition, as offsets, lengths and
+	 * states of {@link FastJavaPartitionScanner}.
+	 */
+	static final class PartitionMap {
+		private final int[] fOffsets;
+		private final int[] fLengths;
+		private final byte[] fStates;
+
+		PartitionMap(int[] offsets, int[] lengths, byte[] states) {
+			fOffsets= offsets;
+			fLengths= lengths;
+			fStates= states;
+		}
+
+		int size() {
+			return fOffsets.length;
+		}
+
+		int getOffset(int index) {
+			return fOffsets[index];
+		}
+
+		int getLength(int index) {
+			return fLengths[index];
+		}
+
+		int getState(int index) {
+			return fStates[index];
+		}
+	}
+
+	private final Map<Key, PartitionMap> fMaps= new LinkedHashMap<>(16, 0.75f, true);
+
+	private int fSize;
+
+	private long fHits;
+
+	private long fMisses;
+
+	private JavaPartitionMapCache() {
+	}
+
+	/**
+	 * Returns the shared cache.
+	 *
+	 * @return the cache
+	 */
+	public static JavaPartitionMapCache getDefault() {
+		return fgDefault;
+	}
+
+	/**
+	 * Returns the cached partitioning of the given document. The document is hashed only if a
+	 * partitioning of a document with the same length is cached.
+	 *
+	 * @param document the document
+	 * @param textBlocks <code>true</code> if text blocks are partitioned
+	 * @return the partitioning, or <code>null</code> if none is cached
+	 */
+	PartitionMap get(IDocument document, boolean textBlocks) {
+		int length= document.getLength();
+		PartitionMap map= null;
+		if (containsLength(length, textBlocks)) {
+			// 64 bit FNV-1a, together with the length collisions are practically impossible
+			BufferedDocumentScanner scanner= new BufferedDocumentScanner(HASH_BUFFER_SIZE);
+			scanner.setHashing(true);
+			scanner.setRange(document, 0, length);
+			while (scanner.read() != ICharacterScanner.EOF) {
+				// hashes the buffers while reading
+			}
+			synchronized (this) {
+				map= fMaps.get(new Key(scanner.getHash(), length, textBlocks));
+			}
+		}
+		synchronized (this) {
+			if (map != null)
+				fHits++;
+			else
+				fMisses++;
+		}
+		return map;
+	}
+
+	private synchronized boolean containsLength(int length, boolean textBlocks) {
+		for (Key key : fMaps.keySet()) {
+			if (key.fLength == length && key.fTextBlocks == textBlocks)
+				return true;
+		}
+		return false;
+	}
+
+	synchronized void put(Key key, PartitionMap map) {
+		if (map.size() > MAX_PARTITIONS)
+			return;
+		PartitionMap old= fMaps.put(key, map);
+		if (old != null)
+			fSize-= old.size();
+		fSize+= map.size();
+		Iterator<PartitionMap> iterator= fMaps.values().iterator();
+		while (fSize > MAX_PARTITIONS && iterator.hasNext()) {
+			fSize-= iterator.next().size();
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Removes all partitionings.
+	 */
+	public synchronized void clear() {
+		fMaps.clear();
+		fSize= 0;
+	}
+
+	/**
+	 * Returns the number of partitionings that have been restored from the cache.
+	 *
+	 * @return the number of hits
+	 */
+	public synchronized long getHitCount() {
+		return fHits;
+	}
+
+	/**
+	 * Returns the number of large documents that had to be scanned.
+	 *
+	 * @return the number of misses
+	 */
+	public synchronized long getMissCount() {
+		return fMisses;
+	}
+}
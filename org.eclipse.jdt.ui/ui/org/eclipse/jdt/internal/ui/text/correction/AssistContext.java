@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -44,6 +44,12 @@ public class AssistContext extends TextInvocationContext implements IInvocationC
 	 */
 	private NodeFinder fNodeFinder;
 
+	/**
+	 * The {@link System#nanoTime()} after which assist computations should give up, or
+	 * <code>0</code> if no deadline is set.
+	 */
+	private long fDeadline;
+
 
 	/*
 	 * @since 3.5
@@ -142,6 +148,34 @@ public class AssistContext extends TextInvocationContext implements IInvocationC
 		fASTRoot= root;
 	}
 
+	/**
+	 * Sets a deadline for the computations done with this context. Computations that only need a
+	 * quick answer (e.g. the quick assist light bulb) can use this to avoid waiting on slow
+	 * processors.
+	 * <p>
+	 * The deadline is only checked between two checks or processors: a check that is already
+	 * running is not interrupted and runs to completion, so a single slow check can still exceed
+	 * the timeout.
+	 * </p>
+	 *
+	 * @param timeout the maximal time in milliseconds the computation may take from now on
+	 */
+	public void setTimeout(long timeout) {
+		fDeadline= System.nanoTime() + timeout * 1000000L;
+		if (fDeadline == 0) {
+			fDeadline= 1;
+		}
+	}
+
+	/**
+	 * Returns whether the deadline set by {@link #setTimeout(long)} has passed.
+	 *
+	 * @return <code>true</code> if a deadline is set and has passed
+	 */
+	public boolean isDeadlineExceeded() {
+		return fDeadline != 0 && System.nanoTime() - fDeadline > 0;
+	}
+
 	@Override
 	public ASTNode getCoveringNode() {
 		if (fNodeFinder == null) {
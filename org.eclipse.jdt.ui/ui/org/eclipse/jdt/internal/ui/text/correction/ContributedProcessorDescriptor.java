@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,8 @@ package org.eclipse.jdt.internal.ui.text.correction;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.expressions.EvaluationContext;
 import org.eclipse.core.expressions.EvaluationResult;
@@ -47,12 +49,26 @@ public final class ContributedProcessorDescriptor {
 	private Boolean fStatus;
 	private String fRequiredSourceLevel;
 	private final Set<String> fHandledMarkerTypes;
+	private final boolean fThreadSafe;
+
+	/**
+	 * A single invocation of a processor taking longer than {@value} milliseconds is logged once
+	 * per processor so that slow processors can be identified.
+	 */
+	private static final long MAX_DELAY= 1000;
+
+	private final AtomicLong fInvocationCount= new AtomicLong();
+	private final AtomicLong fTotalTime= new AtomicLong();
+	private final AtomicLong fMaxTime= new AtomicLong();
+	private volatile boolean fIsDelayReported;
 
 	private static final String ID= "id"; //$NON-NLS-1$
 	private static final String CLASS= "class"; //$NON-NLS-1$
 
 	private static final String REQUIRED_SOURCE_LEVEL= "requiredSourceLevel"; //$NON-NLS-1$
 
+	private static final String THREAD_SAFE= "threadSafe"; //$NON-NLS-1$
+
 	private static final String HANDLED_MARKER_TYPES= "handledMarkerTypes"; //$NON-NLS-1$
 	private static final String MARKER_TYPE= "markerType"; //$NON-NLS-1$
 
@@ -65,6 +81,7 @@ public final class ContributedProcessorDescriptor {
 		}
 		fRequiredSourceLevel= element.getAttribute(REQUIRED_SOURCE_LEVEL);
 		fHandledMarkerTypes= testMarkerTypes ? getHandledMarkerTypes(element) : null;
+		fThreadSafe= Boolean.parseBoolean(element.getAttribute(THREAD_SAFE));
 	}
 
 	private Set<String> getHandledMarkerTypes(IConfigurationElement element) {
@@ -127,7 +144,7 @@ public final class ContributedProcessorDescriptor {
 		return false;
 	}
 
-	public Object getProcessor(ICompilationUnit cunit, Class<?> expectedType) {
+	public synchronized Object getProcessor(ICompilationUnit cunit, Class<?> expectedType) {
 		if (matches(cunit)) {
 			if (fProcessorInstance == null) {
 				try {
@@ -156,4 +173,54 @@ public final class ContributedProcessorDescriptor {
 		return fHandledMarkerTypes == null || fHandledMarkerTypes.contains(markerType);
 	}
 
+	public String getId() {
+		return fConfigurationElement.getAttribute(ID);
+	}
+
+	/**
+	 * @return <code>true</code> if the described processor declares that it can be run in parallel
+	 *         with other processors and off the UI thread
+	 */
+	public boolean isThreadSafe() {
+		return fThreadSafe;
+	}
+
+	/**
+	 * Records the time spent in one invocation of the described processor.
+	 *
+	 * @param nanos the elapsed time in nanoseconds
+	 */
+	public void recordInvocationTime(long nanos) {
+		fInvocationCount.incrementAndGet();
+		fTotalTime.addAndGet(nanos);
+		fMaxTime.accumulateAndGet(nanos, Math::max);
+		if (!fIsDelayReported && TimeUnit.NANOSECONDS.toMillis(nanos) > MAX_DELAY) {
+			fIsDelayReported= true;
+			String message= "Quick fix/assist processor '" + getId() + "' contributed by " + fConfigurationElement.getContributor().getName() //$NON-NLS-1$ //$NON-NLS-2$
+					+ " took " + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms to compute its proposals."; //$NON-NLS-1$ //$NON-NLS-2$
+			JavaPlugin.log(new Status(IStatus.WARNING, JavaUI.ID_PLUGIN, message));
+		}
+	}
+
+	/**
+	 * @return the number of recorded invocations of the described processor
+	 */
+	public long getInvocationCount() {
+		return fInvocationCount.get();
+	}
+
+	/**
+	 * @return the total time in nanoseconds spent in the recorded invocations
+	 */
+	public long getTotalInvocationTime() {
+		return fTotalTime.get();
+	}
+
+	/**
+	 * @return the time in nanoseconds of the slowest recorded invocation
+	 */
+	public long getMaxInvocationTime() {
+		return fMaxTime.get();
+	}
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IConfigurationElement;
@@ -53,6 +59,7 @@ import org.eclipse.ltk.core.refactoring.NullChange;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 
+import org.eclipse.jdt.internal.core.manipulation.dom.ASTResolving;
 import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.JavaUI;
@@ -73,9 +80,23 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 	private static final String QUICKFIX_PROCESSOR_CONTRIBUTION_ID= "quickFixProcessors"; //$NON-NLS-1$
 	private static final String QUICKASSIST_PROCESSOR_CONTRIBUTION_ID= "quickAssistProcessors"; //$NON-NLS-1$
 
+	/**
+	 * System property that enables running the quick fix processors that are declared thread safe
+	 * in parallel, see {@link #collectCorrections(IInvocationContext, IProblemLocationCore[], Collection)}.
+	 */
+	private static final String CONCURRENT_CORRECTION_PROCESSORS= "org.eclipse.jdt.ui.concurrentQuickFixProcessors"; //$NON-NLS-1$
+
+	/**
+	 * Maximal time in milliseconds the calling thread waits for the quick fix processors that run
+	 * in parallel. Proposals of processors that take longer are dropped.
+	 */
+	private static final long CONCURRENT_CORRECTION_PROCESSORS_TIMEOUT= 1000;
+
 	private static ContributedProcessorDescriptor[] fgContributedAssistProcessors= null;
 	private static ContributedProcessorDescriptor[] fgContributedCorrectionProcessors= null;
 
+	private static ExecutorService fgProcessorExecutor= null;
+
 	private static ContributedProcessorDescriptor[] getProcessorDescriptors(String contributionId, boolean testMarkerTypes) {
 		IConfigurationElement[] elements= Platform.getExtensionRegistry().getConfigurationElementsFor(JavaUI.ID_PLUGIN, contributionId);
 		ArrayList<ContributedProcessorDescriptor> res= new ArrayList<>(elements.length);
@@ -99,6 +120,22 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 		return fgContributedCorrectionProcessors;
 	}
 
+	/**
+	 * Returns the descriptor of the contributed quick fix processor with the given id, for example
+	 * to inspect its recorded invocation times.
+	 *
+	 * @param id the id of the processor
+	 * @return the descriptor or <code>null</code> if there is no such processor
+	 */
+	public static ContributedProcessorDescriptor getCorrectionProcessor(String id) {
+		for (ContributedProcessorDescriptor descriptor : getCorrectionProcessors()) {
+			if (id.equals(descriptor.getId())) {
+				return descriptor;
+			}
+		}
+		return null;
+	}
+
 	private static ContributedProcessorDescriptor[] getAssistProcessors() {
 		if (fgContributedAssistProcessors == null) {
 			fgContributedAssistProcessors= getProcessorDescriptors(QUICKASSIST_PROCESSOR_CONTRIBUTION_ID, false);
@@ -106,6 +143,21 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 		return fgContributedAssistProcessors;
 	}
 
+	/*
+	 * The pool does not queue work, so a processor that is still running after the timeout does
+	 * not delay the processors of the next invocation.
+	 */
+	private static synchronized ExecutorService getProcessorExecutor() {
+		if (fgProcessorExecutor == null) {
+			fgProcessorExecutor= Executors.newCachedThreadPool(runnable -> {
+				Thread thread= new Thread(runnable, "Quick Fix Processor"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return fgProcessorExecutor;
+	}
+
 	public static boolean hasCorrections(ICompilationUnit cu, int problemId, String markerType) {
 		SafeHasCorrections collector= new SafeHasCorrections(cu, problemId);
 		for (ContributedProcessorDescriptor processor : getCorrectionProcessors()) {
@@ -153,6 +205,9 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 		SafeHasAssist collector= new SafeHasAssist(context);
 
 		for (ContributedProcessorDescriptor processor :  getAssistProcessors()) {
+			if (context instanceof AssistContext && ((AssistContext) context).isDeadlineExceeded()) {
+				return false;
+			}
 			collector.process(processor);
 			if (collector.hasAssists()) {
 				return true;
@@ -339,7 +394,12 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 
 		@Override
 		public void run() throws Exception {
-			safeRun(fDescriptor);
+			long start= System.nanoTime();
+			try {
+				safeRun(fDescriptor);
+			} finally {
+				fDescriptor.recordInvocationTime(System.nanoTime() - start);
+			}
 		}
 
 		protected abstract void safeRun(ContributedProcessorDescriptor processor) throws Exception;
@@ -461,16 +521,118 @@ public class JavaCorrectionProcessor implements org.eclipse.jface.text.quickassi
 	}
 
 
+	/**
+	 * Collects the proposals of the quick fix processors for the given problem locations.
+	 * <p>
+	 * If the system property <code>org.eclipse.jdt.ui.concurrentQuickFixProcessors</code> is set,
+	 * the processors that are declared <code>threadSafe</code> run in parallel on a pool, while the
+	 * other processors run on the calling thread in the meantime. Each of the parallel processors
+	 * gets an invocation context with an AST of its own, since the bindings of the shared AST are
+	 * resolved lazily and are not thread safe. The calling thread waits at most
+	 * {@value #CONCURRENT_CORRECTION_PROCESSORS_TIMEOUT}ms for them, and the proposals of
+	 * processors that are not done by then are dropped. The proposals are added once all
+	 * processors are done, in the order of the processors; they are not streamed into an open
+	 * popup, since the quick assist popup only takes a complete set of proposals.
+	 * </p>
+	 *
+	 * @param context the invocation context
+	 * @param locations the problem locations
+	 * @param proposals the collection to add the proposals to
+	 * @return the status of the processors
+	 */
 	public static IStatus collectCorrections(IInvocationContext context, IProblemLocationCore[] locations, Collection<IJavaCompletionProposal> proposals) {
+		boolean concurrent= Boolean.getBoolean(CONCURRENT_CORRECTION_PROCESSORS) && context.getCompilationUnit() != null;
+		List<ConcurrentCorrectionTask> tasks= new ArrayList<>();
 		SafeCorrectionCollector collector= new SafeCorrectionCollector(context, proposals);
 		for (ContributedProcessorDescriptor curr : getCorrectionProcessors()) {
 			IProblemLocationCore[] handled= getHandledProblems(locations, curr);
 			if (handled != null) {
-				collector.setProblemLocations(handled);
-				collector.process(curr);
+				if (concurrent && curr.isThreadSafe()) {
+					ConcurrentCorrectionTask task= new ConcurrentCorrectionTask(context, handled, curr);
+					task.fFuture= getProcessorExecutor().submit(task);
+					tasks.add(task);
+				} else {
+					collector.setProblemLocations(handled);
+					collector.process(curr);
+				}
 			}
 		}
-		return collector.getStatus();
+		if (tasks.isEmpty()) {
+			return collector.getStatus();
+		}
+
+		long deadline= System.currentTimeMillis() + CONCURRENT_CORRECTION_PROCESSORS_TIMEOUT;
+		MultiStatus status= new MultiStatus(JavaUI.ID_PLUGIN, IStatus.OK, CorrectionMessages.JavaCorrectionProcessor_error_status, null);
+		status.merge(collector.getStatus());
+		for (ConcurrentCorrectionTask task : tasks) {
+			if (task.await(deadline)) {
+				proposals.addAll(task.fProposals);
+				status.merge(task.fStatus);
+			} else {
+				task.fFuture.cancel(false); // not interrupted, the processor may be doing Java model I/O
+			}
+		}
+		if (status.isOK()) {
+			return Status.OK_STATUS;
+		}
+		return status;
+	}
+
+	/**
+	 * A quick fix processor that runs in parallel, see
+	 * {@link JavaCorrectionProcessor#collectCorrections(IInvocationContext, IProblemLocationCore[], Collection)}.
+	 */
+	private static final class ConcurrentCorrectionTask implements Runnable {
+		private final ICompilationUnit fCompilationUnit;
+		private final int fOffset;
+		private final int fLength;
+		private final IProblemLocationCore[] fLocations;
+		private final ContributedProcessorDescriptor fDescriptor;
+		private final List<IJavaCompletionProposal> fProposals= new ArrayList<>();
+		/** The status of the processor, <code>null</code> until it is done. */
+		private volatile IStatus fStatus;
+		private Future<?> fFuture;
+
+		ConcurrentCorrectionTask(IInvocationContext context, IProblemLocationCore[] locations, ContributedProcessorDescriptor descriptor) {
+			fCompilationUnit= context.getCompilationUnit();
+			fOffset= context.getSelectionOffset();
+			fLength= context.getSelectionLength();
+			fLocations= locations;
+			fDescriptor= descriptor;
+		}
+
+		@Override
+		public void run() {
+			try {
+				AssistContext context= new AssistContext(fCompilationUnit, fOffset, fLength);
+				context.setASTRoot(ASTResolving.createQuickFixAST(fCompilationUnit, null));
+				SafeCorrectionCollector collector= new SafeCorrectionCollector(context, fProposals);
+				collector.setProblemLocations(fLocations);
+				collector.process(fDescriptor);
+				fStatus= collector.getStatus();
+			} catch (RuntimeException e) {
+				fStatus= new Status(IStatus.ERROR, JavaUI.ID_PLUGIN, IStatus.ERROR, CorrectionMessages.JavaCorrectionProcessor_error_status, e);
+			}
+		}
+
+		/*
+		 * Waits until the processor is done or the deadline has passed. Returns false if waiting
+		 * has been given up.
+		 */
+		boolean await(long deadline) {
+			try {
+				fFuture.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				return false;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			} catch (ExecutionException e) {
+				JavaPlugin.log(e.getCause());
+				return false;
+			}
+			return fStatus != null;
+		}
 	}
 
 	private static IProblemLocationCore[] getHandledProblems(IProblemLocationCore[] locations, ContributedProcessorDescriptor processor) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -100,6 +100,13 @@ public class QuickAssistLightBulbUpdater {
 
 	}
 
+	/**
+	 * Maximal time in milliseconds spent on finding out whether there are quick assists at the
+	 * selection. If the processors take longer, no light bulb is shown. The timeout is only checked
+	 * between processors and checks, see {@link AssistContext#setTimeout(long)}.
+	 */
+	private static final long HAS_ASSISTS_TIMEOUT= 200;
+
 	private final Annotation fAnnotation;
 	private boolean fIsAnnotationShown;
 	private ITextEditor fEditor;
@@ -199,6 +206,7 @@ public class QuickAssistLightBulbUpdater {
 
 		final AssistContext context= new AssistContext(cu, offset, length);
 		context.setASTRoot(astRoot);
+		context.setTimeout(HAS_ASSISTS_TIMEOUT);
 
 		boolean hasQuickFix= hasQuickFixLightBulb(model, context.getSelectionOffset());
 		if (hasQuickFix) {
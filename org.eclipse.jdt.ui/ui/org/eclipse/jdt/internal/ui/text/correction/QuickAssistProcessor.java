@@ -27,9 +27,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -283,6 +285,101 @@ public class QuickAssistProcessor implements IQuickAssistProcessor {
 
 	public static final Pattern FIELD_NAMING_PATTERN= Pattern.compile("^[A-Z0-9]+(_[A-Z0-9]+)*$"); //$NON-NLS-1$
 
+	/**
+	 * Tests whether a quick assist may be offered at the covering node. Used by
+	 * {@link #hasAssists(IInvocationContext)} and never creates any proposals.
+	 */
+	@FunctionalInterface
+	private interface HasAssistCheck {
+		boolean hasAssist(IInvocationContext context, ASTNode coveringNode, ArrayList<ASTNode> coveredNodes) throws CoreException;
+	}
+
+	/**
+	 * Checks indexed by node type. A check is registered for the node types of which at least one
+	 * must be on the path from the covering node up to the root for the check to succeed.
+	 */
+	private static final Map<Integer, List<HasAssistCheck>> fgIndexedHasAssistChecks= new HashMap<>();
+
+	/**
+	 * Checks that can apply independently of the node types around the covering node.
+	 */
+	private static final List<HasAssistCheck> fgUnindexedHasAssistChecks= new ArrayList<>();
+
+	static {
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getCatchClauseToThrowsProposals(context, coveringNode, null), ASTNode.CATCH_CLAUSE);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getPickoutTypeFromMulticatchProposals(context, coveringNode, coveredNodes, null), ASTNode.CATCH_CLAUSE);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getConvertToMultiCatchProposals(context, coveringNode, null), ASTNode.CATCH_CLAUSE);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getUnrollMultiCatchProposals(context, coveringNode, null), ASTNode.CATCH_CLAUSE);
+
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getRenameLocalProposals(context, coveringNode, null, null), ASTNode.SIMPLE_NAME);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getRenameRefactoringProposal(context, coveringNode, null, null), ASTNode.SIMPLE_NAME);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getCreateInSuperClassProposals(context, coveringNode, null), ASTNode.SIMPLE_NAME);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getInlineLocalProposal(context, coveringNode, null), ASTNode.SIMPLE_NAME);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getConvertLocalToFieldProposal(context, coveringNode, null), ASTNode.SIMPLE_NAME);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getAddStaticImportProposals(context, coveringNode, null), ASTNode.SIMPLE_NAME);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getNewInterfaceImplementationProposal(context, coveringNode, null), ASTNode.SIMPLE_NAME);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getNewImplementationProposal(context, coveringNode, null), ASTNode.SIMPLE_NAME);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getJUnitTestCaseProposal(context, coveringNode, null), ASTNode.SIMPLE_NAME);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getConvertFieldNamingConventionProposal(context, coveringNode, null), ASTNode.SIMPLE_NAME);
+
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getAssignToVariableProposals(context, coveringNode, null, null), ASTNode.EXPRESSION_STATEMENT);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getGenerateForLoopProposals(context, coveringNode, null, null), ASTNode.EXPRESSION_STATEMENT);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getAssignParamToFieldProposals(context, coveringNode, null), ASTNode.SINGLE_VARIABLE_DECLARATION);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getAssignAllParamsToFieldsProposals(context, coveringNode, null), ASTNode.SINGLE_VARIABLE_DECLARATION);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getAddFinallyProposals(context, coveringNode, null), ASTNode.TRY_STATEMENT);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getAddElseProposals(context, coveringNode, null), ASTNode.IF_STATEMENT);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getArrayInitializerToArrayCreation(context, coveringNode, null), ASTNode.ARRAY_INITIALIZER);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getInvertEqualsProposal(context, coveringNode, null), ASTNode.METHOD_INVOCATION);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getDeprecatedProposal(context, coveringNode, null, null), ASTNode.METHOD_INVOCATION);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getUnnecessaryArrayCreationProposal(context, coveringNode, null), ASTNode.METHOD_INVOCATION, ASTNode.SUPER_METHOD_INVOCATION);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getConvertForLoopProposal(context, coveringNode, null), ASTNode.FOR_STATEMENT);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getConvertIterableLoopProposal(context, coveringNode, null), ASTNode.FOR_STATEMENT);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getConvertEnhancedForLoopProposal(context, coveringNode, null), ASTNode.ENHANCED_FOR_STATEMENT);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getDoWhileRatherThanWhileProposal(context, coveringNode, null), ASTNode.WHILE_STATEMENT);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getMissingCaseStatementProposals(context, coveringNode, null), ASTNode.SWITCH_STATEMENT);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getSplitSwitchLabelProposal(context, coveringNode, null), ASTNode.SWITCH_CASE);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getAddStaticMemberFavoritesProposals(coveringNode, null), ASTNode.IMPORT_DECLARATION);
+
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getConvertAnonymousToNestedProposal(context, coveringNode, null), ASTNode.CLASS_INSTANCE_CREATION);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getConvertAnonymousClassCreationsToLambdaProposals(context, coveringNode, null), ASTNode.CLASS_INSTANCE_CREATION);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getExtractMethodFromLambdaProposal(context, coveringNode, false, null), ASTNode.LAMBDA_EXPRESSION);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getConvertLambdaToAnonymousClassCreationsProposals(context, coveringNode, null), ASTNode.LAMBDA_EXPRESSION);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getChangeLambdaBodyToBlockProposal(context, coveringNode, null), ASTNode.LAMBDA_EXPRESSION);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getChangeLambdaBodyToExpressionProposal(context, coveringNode, null), ASTNode.LAMBDA_EXPRESSION);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getConvertLambdaToMethodReferenceProposal(context, coveringNode, null), ASTNode.LAMBDA_EXPRESSION);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getFixParenthesesInLambdaExpression(context, coveringNode, null), ASTNode.LAMBDA_EXPRESSION);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getConvertMethodReferenceToLambdaProposal(context, coveringNode, null),
+				ASTNode.CREATION_REFERENCE, ASTNode.EXPRESSION_METHOD_REFERENCE, ASTNode.SUPER_METHOD_REFERENCE, ASTNode.TYPE_METHOD_REFERENCE);
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getAddMethodDeclaration(context, coveringNode, null), ASTNode.EXPRESSION_METHOD_REFERENCE);
+
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getUnWrapProposals(context, coveringNode, null));
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getJoinVariableProposals(context, coveringNode, null));
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getSplitVariableProposals(context, coveringNode, null));
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getAddBlockProposals(context, coveringNode, null));
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getTryWithResourceProposals(context, coveringNode, null, null));
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getExtractVariableProposal(context, false, null));
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getExtractMethodProposal(context, coveringNode, false, null));
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getAddInferredLambdaParameterTypes(context, coveringNode, null));
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getAddVarLambdaParameterTypes(context, coveringNode, null));
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getRemoveVarOrInferredLambdaParameterTypes(context, coveringNode, null));
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getConvertToSwitchExpressionProposals(context, coveringNode, null));
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getRemoveBlockProposals(context, coveringNode, null));
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getMakeVariableDeclarationFinalProposals(context, null));
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> ConvertStringConcatenationProposals.getProposals(context, null));
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getInferDiamondArgumentsProposal(context, coveringNode, null, null));
+		registerHasAssistCheck((context, coveringNode, coveredNodes) -> getStringConcatToTextBlockProposal(context, coveringNode, null));
+	}
+
+	private static void registerHasAssistCheck(HasAssistCheck check, int... nodeTypes) {
+		if (nodeTypes.length == 0) {
+			fgUnindexedHasAssistChecks.add(check);
+			return;
+		}
+		for (int nodeType : nodeTypes) {
+			fgIndexedHasAssistChecks.computeIfAbsent(Integer.valueOf(nodeType), k -> new ArrayList<>()).add(check);
+		}
+	}
+
 	public QuickAssistProcessor() {
 		super();
 	}
@@ -292,67 +389,39 @@ public class QuickAssistProcessor implements IQuickAssistProcessor {
 		ASTNode coveringNode= context.getCoveringNode();
 		if (coveringNode != null) {
 			ArrayList<ASTNode> coveredNodes= AdvancedQuickAssistProcessor.getFullyCoveredNodes(context, coveringNode);
-			return getCatchClauseToThrowsProposals(context, coveringNode, null)
-					|| getPickoutTypeFromMulticatchProposals(context, coveringNode, coveredNodes, null)
-					|| getConvertToMultiCatchProposals(context, coveringNode, null)
-					|| getUnrollMultiCatchProposals(context, coveringNode, null)
-					|| getRenameLocalProposals(context, coveringNode, null, null)
-					|| getRenameRefactoringProposal(context, coveringNode, null, null)
-					|| getAssignToVariableProposals(context, coveringNode, null, null)
-					|| getUnWrapProposals(context, coveringNode, null)
-					|| getAssignParamToFieldProposals(context, coveringNode, null)
-					|| getAssignAllParamsToFieldsProposals(context, coveringNode, null)
-					|| getJoinVariableProposals(context, coveringNode, null)
-					|| getAddFinallyProposals(context, coveringNode, null)
-					|| getAddElseProposals(context, coveringNode, null)
-					|| getSplitVariableProposals(context, coveringNode, null)
-					|| getAddBlockProposals(context, coveringNode, null)
-					|| getTryWithResourceProposals(context, coveringNode, null, null)
-					|| getArrayInitializerToArrayCreation(context, coveringNode, null)
-					|| getCreateInSuperClassProposals(context, coveringNode, null)
-					|| getInvertEqualsProposal(context, coveringNode, null)
-					|| getConvertForLoopProposal(context, coveringNode, null)
-					|| getConvertIterableLoopProposal(context, coveringNode, null)
-					|| getConvertEnhancedForLoopProposal(context, coveringNode, null)
-					|| getGenerateForLoopProposals(context, coveringNode, null, null)
-					|| getUnnecessaryArrayCreationProposal(context, coveringNode, null)
-					|| getExtractVariableProposal(context, false, null)
-					|| getExtractMethodProposal(context, coveringNode, false, null)
-					|| getExtractMethodFromLambdaProposal(context, coveringNode, false, null)
-					|| getInlineLocalProposal(context, coveringNode, null)
-					|| getConvertFieldNamingConventionProposal(context, coveringNode, null)
-					|| getConvertLocalToFieldProposal(context, coveringNode, null)
-					|| getConvertAnonymousToNestedProposal(context, coveringNode, null)
-					|| getConvertAnonymousClassCreationsToLambdaProposals(context, coveringNode, null)
-					|| getConvertLambdaToAnonymousClassCreationsProposals(context, coveringNode, null)
-					|| getChangeLambdaBodyToBlockProposal(context, coveringNode, null)
-					|| getChangeLambdaBodyToExpressionProposal(context, coveringNode, null)
-					|| getAddInferredLambdaParameterTypes(context, coveringNode, null)
-					|| getAddVarLambdaParameterTypes(context, coveringNode, null)
-					|| getAddMethodDeclaration(context, coveringNode, null)
-					|| getRemoveVarOrInferredLambdaParameterTypes(context, coveringNode, null)
-					|| getConvertMethodReferenceToLambdaProposal(context, coveringNode, null)
-					|| getConvertLambdaToMethodReferenceProposal(context, coveringNode, null)
-					|| getConvertToSwitchExpressionProposals(context, coveringNode, null)
-					|| getFixParenthesesInLambdaExpression(context, coveringNode, null)
-					|| getRemoveBlockProposals(context, coveringNode, null)
-					|| getMakeVariableDeclarationFinalProposals(context, null)
-					|| getMissingCaseStatementProposals(context, coveringNode, null)
-					|| ConvertStringConcatenationProposals.getProposals(context, null)
-					|| getInferDiamondArgumentsProposal(context, coveringNode, null, null)
-					|| getJUnitTestCaseProposal(context, coveringNode, null)
-					|| getNewImplementationProposal(context, coveringNode, null)
-					|| getNewInterfaceImplementationProposal(context, coveringNode, null)
-					|| getAddStaticImportProposals(context, coveringNode, null)
-					|| getDoWhileRatherThanWhileProposal(context, coveringNode, null)
-					|| getStringConcatToTextBlockProposal(context, coveringNode, null)
-					|| getAddStaticMemberFavoritesProposals(coveringNode, null)
-					|| getSplitSwitchLabelProposal(context, coveringNode, null)
-					|| getDeprecatedProposal(context, coveringNode, null, null);
+			// only evaluate the checks that can apply to the node types around the covering node
+			Set<HasAssistCheck> evaluated= new HashSet<>();
+			for (ASTNode node= coveringNode; node != null; node= node.getParent()) {
+				List<HasAssistCheck> checks= fgIndexedHasAssistChecks.get(Integer.valueOf(node.getNodeType()));
+				if (checks != null) {
+					for (HasAssistCheck check : checks) {
+						if (evaluated.add(check)) {
+							if (isDeadlineExceeded(context)) {
+								return false;
+							}
+							if (check.hasAssist(context, coveringNode, coveredNodes)) {
+								return true;
+							}
+						}
+					}
+				}
+			}
+			for (HasAssistCheck check : fgUnindexedHasAssistChecks) {
+				if (isDeadlineExceeded(context)) {
+					return false;
+				}
+				if (check.hasAssist(context, coveringNode, coveredNodes)) {
+					return true;
+				}
+			}
 		}
 		return false;
 	}
 
+	private static boolean isDeadlineExceeded(IInvocationContext context) {
+		return context instanceof AssistContext && ((AssistContext) context).isDeadlineExceeded();
+	}
+
 	@Override
 	public IJavaCompletionProposal[] getAssists(IInvocationContext context, IProblemLocation[] locations) throws CoreException {
 		ASTNode coveringNode= context.getCoveringNode();
@@ -2072,15 +2141,19 @@ public class QuickAssistProcessor implements IQuickAssistProcessor {
 			return true;
 		}
 
-		AST ast= tryStatement.getAST();
-		ASTRewrite rewrite= ASTRewrite.create(ast);
-		Block finallyBody= ast.newBlock();
-
-		rewrite.set(tryStatement, TryStatement.FINALLY_PROPERTY, finallyBody, null);
-
 		String label= CorrectionMessages.QuickAssistProcessor_addfinallyblock_description;
 		Image image= JavaPluginImages.get(JavaPluginImages.IMG_CORRECTION_ADD);
-		ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), rewrite, IProposalRelevance.ADD_FINALLY_BLOCK, image);
+		ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), null, IProposalRelevance.ADD_FINALLY_BLOCK, image) {
+			@Override
+			protected ASTRewrite getRewrite() {
+				AST ast= tryStatement.getAST();
+				ASTRewrite rewrite= ASTRewrite.create(ast);
+				Block finallyBody= ast.newBlock();
+
+				rewrite.set(tryStatement, TryStatement.FINALLY_PROPERTY, finallyBody, null);
+				return rewrite;
+			}
+		};
 		resultingCollections.add(proposal);
 		return true;
 	}
@@ -2098,15 +2171,19 @@ public class QuickAssistProcessor implements IQuickAssistProcessor {
 			return true;
 		}
 
-		AST ast= node.getAST();
-		ASTRewrite rewrite= ASTRewrite.create(ast);
-		Block body= ast.newBlock();
-
-		rewrite.set(ifStatement, IfStatement.ELSE_STATEMENT_PROPERTY, body, null);
-
 		String label= CorrectionMessages.QuickAssistProcessor_addelseblock_description;
 		Image image= JavaPluginImages.get(JavaPluginImages.IMG_CORRECTION_ADD);
-		ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), rewrite, IProposalRelevance.ADD_ELSE_BLOCK, image);
+		ASTRewriteCorrectionProposal proposal= new ASTRewriteCorrectionProposal(label, context.getCompilationUnit(), null, IProposalRelevance.ADD_ELSE_BLOCK, image) {
+			@Override
+			protected ASTRewrite getRewrite() {
+				AST ast= ifStatement.getAST();
+				ASTRewrite rewrite= ASTRewrite.create(ast);
+				Block body= ast.newBlock();
+
+				rewrite.set(ifStatement, IfStatement.ELSE_STATEMENT_PROPERTY, body, null);
+				return rewrite;
+			}
+		};
 		resultingCollections.add(proposal);
 		return true;
 	}
@@ -4381,7 +4458,7 @@ public class QuickAssistProcessor implements IQuickAssistProcessor {
 		return false;
 	}
 
-	private boolean getJUnitTestCaseProposal(IInvocationContext context, ASTNode coveringNode, ArrayList<ICommandAccess> resultingCollections) {
+	private static boolean getJUnitTestCaseProposal(IInvocationContext context, ASTNode coveringNode, ArrayList<ICommandAccess> resultingCollections) {
 		if (coveringNode instanceof SimpleName && coveringNode.getParent() instanceof AbstractTypeDeclaration) {
 			SimpleName name= (SimpleName) coveringNode;
 			String idName= name.getIdentifier() + JavaModelUtil.DEFAULT_CU_SUFFIX;
@@ -4400,7 +4477,7 @@ public class QuickAssistProcessor implements IQuickAssistProcessor {
 		return false;
 	}
 
-	private boolean getNewImplementationProposal(IInvocationContext context, ASTNode coveringNode, ArrayList<ICommandAccess> resultingCollections) {
+	private static boolean getNewImplementationProposal(IInvocationContext context, ASTNode coveringNode, ArrayList<ICommandAccess> resultingCollections) {
 		if (coveringNode instanceof SimpleName && coveringNode.getParent() instanceof TypeDeclaration) {
 			TypeDeclaration typeDecl= ((TypeDeclaration)coveringNode.getParent());
 			boolean isInterface= typeDecl.isInterface();
@@ -4427,7 +4504,7 @@ public class QuickAssistProcessor implements IQuickAssistProcessor {
 		return false;
 	}
 
-	private boolean getNewInterfaceImplementationProposal(IInvocationContext context, ASTNode coveringNode, ArrayList<ICommandAccess> resultingCollections) {
+	private static boolean getNewInterfaceImplementationProposal(IInvocationContext context, ASTNode coveringNode, ArrayList<ICommandAccess> resultingCollections) {
 		if (coveringNode instanceof SimpleName && coveringNode.getParent() instanceof TypeDeclaration) {
 			TypeDeclaration typeDecl= ((TypeDeclaration)coveringNode.getParent());
 			boolean isInterface= typeDecl.isInterface();
@@ -4452,7 +4529,7 @@ public class QuickAssistProcessor implements IQuickAssistProcessor {
 		}
 		return false;
 	}
-	private boolean getSplitSwitchLabelProposal(IInvocationContext context, ASTNode coveringNode, Collection<ICommandAccess> proposals) {
+	private static boolean getSplitSwitchLabelProposal(IInvocationContext context, ASTNode coveringNode, Collection<ICommandAccess> proposals) {
 		AST ast= coveringNode.getAST();
 		// Only continue if AST has preview enabled and selected node, or its parent is a SwitchCase
 		if (!ASTHelper.isSwitchCaseExpressionsSupportedInAST(ast) ||
@@ -4534,7 +4611,7 @@ public class QuickAssistProcessor implements IQuickAssistProcessor {
 		return true;
 	}
 
-	private boolean getConvertFieldNamingConventionProposal(IInvocationContext context, ASTNode node, Collection<ICommandAccess> resultingCollections) {
+	private static boolean getConvertFieldNamingConventionProposal(IInvocationContext context, ASTNode node, Collection<ICommandAccess> resultingCollections) {
 		if (!(node instanceof SimpleName)) {
 			return false;
 		}
@@ -4590,7 +4667,7 @@ public class QuickAssistProcessor implements IQuickAssistProcessor {
 		return true;
 	}
 
-	private boolean isValidConstantName(String identifier) {
+	private static boolean isValidConstantName(String identifier) {
 		Pattern pattern= FIELD_NAMING_PATTERN;
 		Matcher matcher= pattern.matcher(identifier);
 		return matcher.matches();
@@ -10,6 +10,7 @@
  */
 package org.eclipse.jdt.internal.ui.text.java;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -54,6 +55,54 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 
 	public static final String CATEGORY_ID= "org.eclipse.jdt.ui.javaChainProposalCategory"; //$NON-NLS-1$
 
+	/**
+	 * The result of a complete chain search. A later request at the same position whose prefix
+	 * extends the prefix of the search is answered by filtering the chains by their entry point,
+	 * since the search would only drop the entry points that do not match the longer prefix.
+	 */
+	private static final class ChainSearch {
+
+		private final ICompilationUnit cu;
+
+		private final int tokenStart;
+
+		private final String prefix;
+
+		private final String parameters;
+
+		private final List<Chain> chains;
+
+		ChainSearch(final ICompilationUnit cu, final int tokenStart, final String prefix, final String parameters, final List<Chain> chains) {
+			this.cu= cu;
+			this.tokenStart= tokenStart;
+			this.prefix= prefix;
+			this.parameters= parameters;
+			this.chains= chains;
+		}
+
+		boolean covers(final ICompilationUnit unit, final int start, final String newPrefix, final String newParameters) {
+			return cu.equals(unit) && tokenStart == start && newPrefix.startsWith(prefix) && parameters.equals(newParameters);
+		}
+
+		List<Chain> getChains(final String newPrefix) {
+			final List<Chain> result= new ArrayList<>();
+			for (final Chain chain : chains) {
+				if (chain.getElements().get(0).getElement().getElementName().startsWith(newPrefix)) {
+					result.add(chain);
+				}
+			}
+			return result;
+		}
+	}
+
+	private static ExecutorService searchExecutor;
+
+	/** The members and edges found in the current content assist session, or <code>null</code>. */
+	private volatile ChainFinder.Memo memo;
+
+	/** The last complete search of the current content assist session, or <code>null</code>. */
+	private volatile ChainSearch lastSearch;
+
 	private JavaContentAssistInvocationContext ctx;
 
 	private CompletionProposalCollector collector;
@@ -164,24 +213,64 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 		final IType invocationType= ctx.getCompilationUnit().findPrimaryType();
 
 		final List<ChainType> expectedTypes= ChainElementAnalyzer.resolveBindingsForExpectedTypes(ctx.getProject(), ctx.getCoreContext());
-		final ChainFinder finder= new ChainFinder(expectedTypes, Arrays.asList(excludedTypes), invocationType);
-		final ExecutorService executor= Executors.newSingleThreadExecutor();
+		final ICompilationUnit cu= ctx.getCompilationUnit();
+		final int tokenStart= ctx.getCoreContext().getTokenStart();
+		final String prefix= String.valueOf(ctx.getCoreContext().getToken());
+		final String parameters= getSearchParameters(expectedTypes, maxChains, minDepth, maxDepth);
+		final ChainSearch previous= lastSearch;
+		if (previous != null && previous.covers(cu, tokenStart, prefix, parameters)) {
+			return buildCompletionProposals(previous.getChains(prefix));
+		}
+
+		final ChainFinder finder= new ChainFinder(expectedTypes, getMemo(invocationType, Arrays.asList(excludedTypes)));
+		Future<?> future= getSearchExecutor().submit(() -> {
+			if (findEntrypoints()) {
+				finder.startChainSearch(entrypoints, maxChains, minDepth, maxDepth);
+			}
+		});
 		try {
-			Future<?> future= executor.submit(() -> {
-				if (findEntrypoints()) {
-					finder.startChainSearch(entrypoints, maxChains, minDepth, maxDepth);
-				}
-			});
 			long timeout= Long.parseLong(JavaManipulation.getPreference(PreferenceConstants.PREF_CHAIN_TIMEOUT, ctx.getProject()));
 			future.get(timeout, TimeUnit.SECONDS);
+			if (finder.isComplete()) {
+				lastSearch= new ChainSearch(cu, tokenStart, prefix, parameters, finder.getChains());
+			}
 		} catch (final Exception e) {
 			finder.cancel();
-			executor.shutdownNow();
+			future.cancel(true);
 			setError("Timeout during call chain computation."); //$NON-NLS-1$
 		}
 		return buildCompletionProposals(finder.getChains());
 	}
 
+	private ChainFinder.Memo getMemo(final IType invocationType, final List<String> excluded) {
+		ChainFinder.Memo current= memo;
+		if (current == null || !current.isApplicable(invocationType, excluded)) {
+			current= new ChainFinder.Memo(invocationType, excluded);
+			memo= current;
+		}
+		return current;
+	}
+
+	private static String getSearchParameters(final List<ChainType> expectedTypes, final int maxChains, final int minDepth, final int maxDepth) {
+		final StringBuilder buf= new StringBuilder();
+		buf.append(maxChains).append(',').append(minDepth).append(',').append(maxDepth);
+		for (final ChainType type : expectedTypes) {
+			buf.append(',').append(type).append('[').append(type == null ? 0 : type.getDimension());
+		}
+		return buf.toString();
+	}
+
+	private static synchronized ExecutorService getSearchExecutor() {
+		if (searchExecutor == null) {
+			searchExecutor= Executors.newFixedThreadPool(2, runnable -> {
+				Thread thread= new Thread(runnable, "Call Chain Search"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return searchExecutor;
+	}
+
 	private List<ICompletionProposal> buildCompletionProposals(final List<Chain> chains) {
 		final List<ICompletionProposal> proposals= new LinkedList<>();
 		for (final Chain chain : chains) {
@@ -205,6 +294,8 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 	@Override
 	public void sessionStarted() {
 		setError(null);
+		memo= null;
+		lastSearch= null;
 	}
 
 	@Override
@@ -214,5 +305,7 @@ public class ChainCompletionProposalComputer implements IJavaCompletionProposalC
 
 	@Override
 	public void sessionEnded() {
+		memo= null;
+		lastSearch= null;
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2013 IBM Corporation and others.
+ * Copyright (c) 2005, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -320,6 +320,73 @@ public final class CompletionProposalCategory {
 		return false;
 	}
 
+	/**
+	 * Returns the descriptors of the computers of this category that are registered for the given
+	 * partition, in the order they are invoked by
+	 * {@link #computeCompletionProposals(ContentAssistInvocationContext, String, SubProgressMonitor)}.
+	 *
+	 * @param partition the partition type
+	 * @return the descriptors of the computers of this category for the partition
+	 */
+	List<CompletionProposalComputerDescriptor> getProposalComputerDescriptors(String partition) {
+		List<CompletionProposalComputerDescriptor> result= new ArrayList<>();
+		for (CompletionProposalComputerDescriptor desc : fRegistry.getProposalComputerDescriptors(partition)) {
+			if (desc.getCategory() == this)
+				result.add(desc);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the number of recorded completion proposal computations of a computer of this
+	 * category.
+	 *
+	 * @param computerId the id of the computer
+	 * @return the number of recorded computations, <code>0</code> if the category has no computer
+	 *         with the given id
+	 * @since 3.31
+	 */
+	public long getInvocationCount(String computerId) {
+		CompletionProposalComputerDescriptor desc= getProposalComputerDescriptor(computerId);
+		return desc == null ? 0 : desc.getInvocationCount();
+	}
+
+	/**
+	 * Returns the total time spent in the recorded completion proposal computations of a computer
+	 * of this category.
+	 *
+	 * @param computerId the id of the computer
+	 * @return the total time in milliseconds, <code>0</code> if the category has no computer with
+	 *         the given id
+	 * @since 3.31
+	 */
+	public long getTotalInvocationTime(String computerId) {
+		CompletionProposalComputerDescriptor desc= getProposalComputerDescriptor(computerId);
+		return desc == null ? 0 : desc.getTotalInvocationTime();
+	}
+
+	/**
+	 * Returns the time of the slowest recorded completion proposal computation of a computer of
+	 * this category.
+	 *
+	 * @param computerId the id of the computer
+	 * @return the time in milliseconds, <code>0</code> if the category has no computer with the
+	 *         given id
+	 * @since 3.31
+	 */
+	public long getMaxInvocationTime(String computerId) {
+		CompletionProposalComputerDescriptor desc= getProposalComputerDescriptor(computerId);
+		return desc == null ? 0 : desc.getMaxInvocationTime();
+	}
+
+	private CompletionProposalComputerDescriptor getProposalComputerDescriptor(String computerId) {
+		for (CompletionProposalComputerDescriptor desc : fRegistry.getProposalComputerDescriptors()) {
+			if (desc.getCategory() == this && desc.getId().equals(computerId))
+				return desc;
+		}
+		return null;
+	}
+
 	/**
 	 * Safely computes completion proposals of all computers of this category through their
 	 * extension. If an extension is disabled, throws an exception or otherwise does not adhere to
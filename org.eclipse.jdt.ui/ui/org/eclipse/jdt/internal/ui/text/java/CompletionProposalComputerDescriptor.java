@@ -18,6 +18,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.osgi.framework.Bundle;
 
@@ -87,6 +88,11 @@ final class CompletionProposalComputerDescriptor {
 	 * {@link #fIsReportingDelay}.
 	 */
 	private static final long MAX_DELAY= 5000;
+	/**
+	 * The weight of the most recent invocation in the moving average of the time spent computing
+	 * completion proposals is <code>1 / AVERAGE_WEIGHT</code>.
+	 */
+	private static final int AVERAGE_WEIGHT= 4;
 
 	/* log constants */
 	private static final String COMPUTE_COMPLETION_PROPOSALS= "computeCompletionProposals()"; //$NON-NLS-1$
@@ -125,15 +131,24 @@ final class CompletionProposalComputerDescriptor {
 	/** The ui category. */
 	private final CompletionProposalCategory fCategory;
 	/** The first error message in the most recent operation, or <code>null</code>. */
-	private String fLastError;
+	private volatile String fLastError;
 	/**
 	 * Tells whether to inform the user when <code>MAX_DELAY</code> has been exceeded.
 	 * We start timing execution after the first session because the first may take
 	 * longer due to plug-in activation and initialization.
 	 */
-	private boolean fIsReportingDelay= false;
-	/** The start of the last operation. */
-	private long fStart;
+	private volatile boolean fIsReportingDelay= false;
+	/** The number of recorded completion proposal computations. */
+	private final AtomicLong fInvocationCount= new AtomicLong();
+	/** The total time in milliseconds of the recorded completion proposal computations. */
+	private final AtomicLong fTotalTime= new AtomicLong();
+	/** The time in milliseconds of the slowest recorded completion proposal computation. */
+	private final AtomicLong fMaxTime= new AtomicLong();
+	/**
+	 * The moving average of the time in milliseconds of the recent completion proposal
+	 * computations, <code>-1</code> if none has been recorded.
+	 */
+	private volatile long fAverageTime= -1;
 	/**
 	 * Tells whether we tried to load the computer.
 	 * @since 3.4
@@ -345,8 +360,10 @@ final class CompletionProposalComputerDescriptor {
 
 			try {
 				PerformanceStats stats= startMeter(context, computer);
+				long start= System.currentTimeMillis();
 				List<ICompletionProposal> proposals= computer.computeCompletionProposals(context, monitor);
-				stopMeter(stats, COMPUTE_COMPLETION_PROPOSALS);
+				long averageTime= recordInvocationTime(System.currentTimeMillis() - start);
+				stopMeter(stats, COMPUTE_COMPLETION_PROPOSALS, averageTime);
 
 				if (proposals != null) {
 					fLastError= computer.getErrorMessage();
@@ -394,8 +411,9 @@ final class CompletionProposalComputerDescriptor {
 				return Collections.emptyList();
 
 			PerformanceStats stats= startMeter(context, computer);
+			long start= System.currentTimeMillis();
 			List<IContextInformation> proposals= computer.computeContextInformation(context, monitor);
-			stopMeter(stats, COMPUTE_CONTEXT_INFORMATION);
+			stopMeter(stats, COMPUTE_CONTEXT_INFORMATION, System.currentTimeMillis() - start);
 
 			if (proposals != null) {
 				fLastError= computer.getErrorMessage();
@@ -438,8 +456,9 @@ final class CompletionProposalComputerDescriptor {
 				return;
 
 			PerformanceStats stats= startMeter(SESSION_STARTED, computer);
+			long start= System.currentTimeMillis();
 			computer.sessionStarted();
-			stopMeter(stats, SESSION_ENDED);
+			stopMeter(stats, SESSION_ENDED, System.currentTimeMillis() - start);
 
 			return;
 		} catch (InvalidRegistryObjectException x) {
@@ -471,8 +490,9 @@ final class CompletionProposalComputerDescriptor {
 				return;
 
 			PerformanceStats stats= startMeter(SESSION_ENDED, computer);
+			long start= System.currentTimeMillis();
 			computer.sessionEnded();
-			stopMeter(stats, SESSION_ENDED);
+			stopMeter(stats, SESSION_ENDED, System.currentTimeMillis() - start);
 
 			return;
 		} catch (InvalidRegistryObjectException x) {
@@ -495,14 +515,17 @@ final class CompletionProposalComputerDescriptor {
 			stats= null;
 		}
 
-		if (fIsReportingDelay) {
-			fStart= System.currentTimeMillis();
-		}
-
 		return stats;
 	}
 
-	private void stopMeter(final PerformanceStats stats, String operation) {
+	/**
+	 * Ends a measurement and informs the user if the operation is too slow.
+	 *
+	 * @param stats the stats returned by {@link #startMeter(Object, IJavaCompletionProposalComputer)}
+	 * @param operation the name of the operation
+	 * @param delay the time in milliseconds that is compared with <code>MAX_DELAY</code>
+	 */
+	private void stopMeter(final PerformanceStats stats, String operation, long delay) {
 		if (MEASURE_PERFORMANCE) {
 			stats.endRun();
 			if (stats.isFailure()) {
@@ -512,15 +535,74 @@ final class CompletionProposalComputerDescriptor {
 			}
 		}
 
-		if (fIsReportingDelay) {
-			long current= System.currentTimeMillis();
-			if (current - fStart > MAX_DELAY) {
-				IStatus status= createPerformanceStatus(operation);
-				fRegistry.informUser(this, status);
-			}
+		if (fIsReportingDelay && delay > MAX_DELAY) {
+			IStatus status= createPerformanceStatus(operation);
+			fRegistry.informUser(this, status);
 		}
 	}
 
+	/**
+	 * Records the time spent in one completion proposal computation. The user is informed about
+	 * a slow computer when the moving average of its recent computations exceeds
+	 * <code>MAX_DELAY</code>, so that a single slow computation, e.g. while the search index is
+	 * updated, does not blame the computer. Like the delay, the average does not include the
+	 * first computation.
+	 *
+	 * @param millis the elapsed time in milliseconds
+	 * @return the moving average of the recent computations including this one
+	 */
+	private long recordInvocationTime(long millis) {
+		fInvocationCount.incrementAndGet();
+		fTotalTime.addAndGet(millis);
+		fMaxTime.accumulateAndGet(millis, Math::max);
+		if (!fIsReportingDelay)
+			return millis;
+		long average= fAverageTime;
+		average= average < 0 ? millis : average + (millis - average) / AVERAGE_WEIGHT;
+		fAverageTime= average;
+		return average;
+	}
+
+	/**
+	 * Returns the number of recorded completion proposal computations of the described extension.
+	 *
+	 * @return the number of recorded computations
+	 * @since 3.31
+	 */
+	public long getInvocationCount() {
+		return fInvocationCount.get();
+	}
+
+	/**
+	 * Returns the total time spent in the recorded completion proposal computations.
+	 *
+	 * @return the total time in milliseconds
+	 * @since 3.31
+	 */
+	public long getTotalInvocationTime() {
+		return fTotalTime.get();
+	}
+
+	/**
+	 * Returns the time of the slowest recorded completion proposal computation.
+	 *
+	 * @return the time in milliseconds
+	 * @since 3.31
+	 */
+	public long getMaxInvocationTime() {
+		return fMaxTime.get();
+	}
+
+	/**
+	 * Returns the moving average of the time of the recent completion proposal computations.
+	 *
+	 * @return the time in milliseconds, <code>-1</code> if no computation has been recorded
+	 * @since 3.31
+	 */
+	public long getAverageInvocationTime() {
+		return fAverageTime;
+	}
+
 	private IStatus createExceptionStatus(InvalidRegistryObjectException x) {
 		// extension has become invalid - log & disable
 		String blame= createBlameMessage();
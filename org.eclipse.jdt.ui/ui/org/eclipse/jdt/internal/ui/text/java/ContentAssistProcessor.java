@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2023 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,12 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionAdapter;
@@ -51,6 +57,7 @@ import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.resource.JFaceResources;
 
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.contentassist.ContentAssistEvent;
 import org.eclipse.jface.text.contentassist.ContentAssistant;
@@ -73,10 +80,12 @@ import org.eclipse.jdt.internal.corext.util.Messages;
 
 import org.eclipse.jdt.ui.PreferenceConstants;
 import org.eclipse.jdt.ui.text.java.ContentAssistInvocationContext;
+import org.eclipse.jdt.ui.text.java.JavaContentAssistInvocationContext;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.JavaUIMessages;
 import org.eclipse.jdt.internal.ui.dialogs.OptionalMessageDialog;
+import org.eclipse.jdt.internal.ui.text.CompletionTimeoutProgressMonitor;
 
 
 /**
@@ -219,6 +228,78 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 		}
 	}
 
+	/**
+	 * A computer invocation of {@link ContentAssistProcessor#collectProposalsConcurrently(IProgressMonitor, ContentAssistInvocationContext)}.
+	 */
+	private static final class ComputerTask implements Runnable {
+		private final CompletionProposalCategory fCategory;
+		private final CompletionProposalComputerDescriptor fDescriptor;
+		private final ContentAssistInvocationContext fContext;
+		private final IProgressMonitor fMonitor;
+		/** The computed proposals, <code>null</code> until the computer is done. */
+		private volatile List<ICompletionProposal> fProposals;
+		/** The future of the computation, <code>null</code> if it runs on the calling thread. */
+		private Future<?> fFuture;
+
+		ComputerTask(CompletionProposalCategory category, CompletionProposalComputerDescriptor descriptor, ContentAssistInvocationContext context, IProgressMonitor monitor) {
+			fCategory= category;
+			fDescriptor= descriptor;
+			fContext= context;
+			fMonitor= monitor;
+		}
+
+		@Override
+		public void run() {
+			fProposals= fDescriptor.computeCompletionProposals(fContext, fMonitor);
+		}
+
+		/*
+		 * Waits until the computation is done or the deadline has passed. Returns false if
+		 * waiting has been given up.
+		 */
+		boolean await(long deadline) {
+			try {
+				fFuture.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				return false;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			} catch (ExecutionException e) {
+				JavaPlugin.log(e.getCause());
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Progress monitor shared by the computers that run concurrently. It is canceled when the
+	 * monitor of the content assist invocation is canceled or when the deadline has passed.
+	 */
+	private static final class DeadlineProgressMonitor extends NullProgressMonitor {
+		private final IProgressMonitor fParent;
+		private final long fDeadline;
+
+		DeadlineProgressMonitor(IProgressMonitor parent, long deadline) {
+			fParent= parent;
+			fDeadline= deadline;
+		}
+
+		@Override
+		public boolean isCanceled() {
+			return super.isCanceled() || fParent.isCanceled() || System.currentTimeMillis() >= fDeadline;
+		}
+	}
+
+	/**
+	 * If set, the computers that do not require the UI thread run in parallel with each other and
+	 * with the computers that do, see
+	 * {@link #collectProposalsConcurrently(IProgressMonitor, ContentAssistInvocationContext)}.
+	 */
+	private static final boolean CONCURRENT_COMPUTERS= Boolean.getBoolean("org.eclipse.jdt.ui.concurrentContentAssist"); //$NON-NLS-1$
+
+	private static ExecutorService fgComputerExecutor= null;
+
 	/**
 	 * Dialog settings key for the "all categories are disabled" warning dialog. See
 	 * {@link OptionalMessageDialog}.
@@ -326,6 +407,9 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 	 * @return the list of proposals
 	 */
 	private List<ICompletionProposal> collectProposals(ITextViewer viewer, int offset, IProgressMonitor monitor, ContentAssistInvocationContext context) {
+		if (CONCURRENT_COMPUTERS)
+			return collectProposalsConcurrently(monitor, context);
+
 		boolean needsSortingAfterFiltering= false;
 		List<ICompletionProposal> proposals= new ArrayList<>();
 		List<CompletionProposalCategory> providers= getCategories();
@@ -337,11 +421,110 @@ public class ContentAssistProcessor implements IContentAssistProcessor {
 				fErrorMessage= cat.getErrorMessage();
 			}
 		}
+		setSortingAfterFilteringNeeded(needsSortingAfterFiltering);
+		return proposals;
+	}
+
+	/**
+	 * Collects the proposals of all computers concurrently. The computers that do not require the
+	 * UI thread run on a shared pool, while the ones that do run on the calling thread in the
+	 * meantime. All computers share one deadline: computers that are not done when it has passed
+	 * see their progress monitor canceled and their proposals are dropped. They are not
+	 * interrupted, since interrupting a thread in the middle of Java model or index I/O closes the
+	 * channels it uses. The pool does not queue work, so computers that keep running after the
+	 * deadline do not delay the computers of later invocations. The proposals are
+	 * merged in the order of the categories and computers, so that the result does not depend on
+	 * the order in which the computers finish.
+	 *
+	 * @param monitor the progress monitor
+	 * @param context the code assist invocation context
+	 * @return the list of proposals
+	 */
+	private List<ICompletionProposal> collectProposalsConcurrently(IProgressMonitor monitor, ContentAssistInvocationContext context) {
+		long deadline= System.currentTimeMillis() + CompletionTimeoutProgressMonitor.JAVA_CODE_ASSIST_TIMEOUT;
+		IProgressMonitor sharedMonitor= new DeadlineProgressMonitor(monitor, deadline);
+
+		// compute the lazily computed state that all computers need before they access it from other threads
+		try {
+			context.computeIdentifierPrefix();
+		} catch (BadLocationException e) {
+			// the computers handle this themselves
+		}
+		if (context instanceof JavaContentAssistInvocationContext) {
+			JavaContentAssistInvocationContext javaContext= (JavaContentAssistInvocationContext) context;
+			javaContext.getCompilationUnit();
+			// the keywords would otherwise be taken from the collector of the Java computer while it is still running
+			javaContext.getKeywordProposals();
+			javaContext.getCoreContext();
+		}
+
+		List<CompletionProposalCategory> categories= getCategories();
+		List<ComputerTask> tasks= new ArrayList<>();
+		for (CompletionProposalCategory cat : categories) {
+			for (CompletionProposalComputerDescriptor desc : cat.getProposalComputerDescriptors(fPartition)) {
+				ComputerTask task= new ComputerTask(cat, desc, context, sharedMonitor);
+				if (!desc.requiresUIThread()) {
+					task.fFuture= getComputerExecutor().submit(task);
+				}
+				tasks.add(task);
+			}
+		}
+		for (ComputerTask task : tasks) {
+			if (task.fFuture == null) {
+				task.run();
+			}
+		}
+		for (ComputerTask task : tasks) {
+			if (task.fFuture != null && !task.await(deadline)) {
+				break;
+			}
+		}
+		sharedMonitor.setCanceled(true);
+		for (ComputerTask task : tasks) {
+			if (task.fFuture != null && !task.fFuture.isDone()) {
+				task.fFuture.cancel(false);
+			}
+		}
+		monitor.worked(categories.size());
+
+		boolean needsSortingAfterFiltering= false;
+		List<ICompletionProposal> proposals= new ArrayList<>();
+		for (ComputerTask task : tasks) {
+			List<ICompletionProposal> computed= task.fProposals;
+			if (computed == null) {
+				continue; // not done before the deadline
+			}
+			proposals.addAll(computed);
+			needsSortingAfterFiltering= needsSortingAfterFiltering || (task.fCategory.isSortingAfterFilteringNeeded() && !computed.isEmpty());
+			if (fErrorMessage == null) {
+				fErrorMessage= task.fDescriptor.getErrorMessage();
+			}
+		}
+		setSortingAfterFilteringNeeded(needsSortingAfterFiltering);
+		return proposals;
+	}
+
+	private void setSortingAfterFilteringNeeded(boolean needsSortingAfterFiltering) {
 		if (fNeedsSortingAfterFiltering && !needsSortingAfterFiltering) {
 			fAssistant.setSorter(null);
 		}
 		fNeedsSortingAfterFiltering= needsSortingAfterFiltering;
-		return proposals;
+	}
+
+	/*
+	 * Returns the pool of the computers that run concurrently. Each computer gets a thread of its
+	 * own right away, since a computer that ignores its canceled monitor must not block the
+	 * computers of the next invocation. Idle threads are discarded after a minute.
+	 */
+	private static synchronized ExecutorService getComputerExecutor() {
+		if (fgComputerExecutor == null) {
+			fgComputerExecutor= Executors.newCachedThreadPool(runnable -> {
+				Thread thread= new Thread(runnable, "Content Assist Computer"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return fgComputerExecutor;
 	}
 
 	/**
@@ -201,16 +201,16 @@ public final class JavaCodeScanner extends AbstractJavaScanner {
 		 * unreading back to the marked position.
 		 */
 		private static final class ResettableScanner implements ICharacterScanner {
-			private final ICharacterScanner fDelegate;
+			private ICharacterScanner fDelegate;
 			private int fReadCount;
 
 			/**
-			 * Creates a new resettable scanner that will forward calls
-			 * to <code>scanner</code>, but store a marked position.
+			 * Sets the scanner to which calls are forwarded and marks its
+			 * current position.
 			 *
 			 * @param scanner the delegate scanner
 			 */
-			public ResettableScanner(final ICharacterScanner scanner) {
+			public void setDelegate(final ICharacterScanner scanner) {
 				Assert.isNotNull(scanner);
 				fDelegate= scanner;
 				mark();
@@ -262,6 +262,8 @@ public final class JavaCodeScanner extends AbstractJavaScanner {
 
 		private final IWhitespaceDetector fWhitespaceDetector= new JavaWhitespaceDetector();
 		private final IWordDetector fWordDetector= new JavaWordDetector();
+		/** Reused for every evaluation, the rule is evaluated at the start of most tokens. */
+		private final ResettableScanner fResettable= new ResettableScanner();
 		private final IToken fInterfaceToken;
 		private final IToken fAtToken;
 		private final String fVersion;
@@ -291,7 +293,8 @@ public final class JavaCodeScanner extends AbstractJavaScanner {
 			if (!fIsVersionMatch)
 				return Token.UNDEFINED;
 
-			ResettableScanner resettable= new ResettableScanner(scanner);
+			ResettableScanner resettable= fResettable;
+			resettable.setDelegate(scanner);
 			if (resettable.read() == '@')
 				return readAnnotation(resettable);
 
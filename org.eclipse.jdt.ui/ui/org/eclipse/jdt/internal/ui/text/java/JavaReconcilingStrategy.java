@@ -23,6 +23,7 @@ import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
 
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
@@ -43,6 +44,7 @@ import org.eclipse.jdt.internal.corext.dom.IASTSharedValues;
 import org.eclipse.jdt.ui.JavaUI;
 
 import org.eclipse.jdt.internal.ui.JavaPlugin;
+import org.eclipse.jdt.internal.ui.javaeditor.ASTProvider;
 import org.eclipse.jdt.internal.ui.javaeditor.WorkingCopyManager;
 import org.eclipse.jdt.internal.ui.text.JavaReconciler;
 
@@ -129,8 +131,12 @@ public class JavaReconcilingStrategy implements IReconcilingStrategy, IReconcili
 				if (IASTSharedValues.SHARED_BINDING_RECOVERY)
 					reconcileFlags|= ICompilationUnit.ENABLE_BINDINGS_RECOVERY;
 
+				// taken before the reconcile, a concurrent change makes the stamp outdated
+				long documentStamp= getDocumentStamp();
 				CompilationUnit ast= unit.reconcile(IASTSharedValues.SHARED_AST_LEVEL, reconcileFlags, null, fProgressMonitor);
 				if (ast != null) {
+					if (documentStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP)
+						ast.setProperty(ASTProvider.DOCUMENT_STAMP_PROPERTY, Long.valueOf(documentStamp));
 					// mark as unmodifiable
 					ASTNodes.setFlagsToAST(ast, ASTNode.PROTECT);
 					return ast;
@@ -150,6 +156,13 @@ public class JavaReconcilingStrategy implements IReconcilingStrategy, IReconcili
 		return null;
 	}
 
+	private long getDocumentStamp() {
+		IDocument document= fDocumentProvider.getDocument(fEditor.getEditorInput());
+		if (document instanceof IDocumentExtension4)
+			return ((IDocumentExtension4) document).getModificationStamp();
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
 	/*
 	 * @see IReconcilingStrategy#reconcile(IRegion)
 	 */
@@ -13,11 +13,15 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.ui.text.java;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.swt.graphics.Image;
@@ -28,6 +32,7 @@ import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.contentassist.ICompletionProposal;
 
 import org.eclipse.jdt.core.BindingKey;
+import org.eclipse.jdt.core.CompletionContext;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
@@ -46,7 +51,6 @@ import org.eclipse.jdt.ui.JavaElementImageDescriptor;
 import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.JavaPluginImages;
 import org.eclipse.jdt.internal.ui.text.template.contentassist.PositionBasedCompletionProposal;
-import org.eclipse.jdt.internal.ui.util.StringMatcher;
 import org.eclipse.jdt.internal.ui.viewsupport.JavaElementImageProvider;
 
 
@@ -91,6 +95,18 @@ public class ParameterGuesser {
 			this.alreadyMatched= false;
 		}
 
+		/**
+		 * Returns a copy of this variable for the given expected type and position.
+		 *
+		 * @param expectedType the qualified type of the parameter
+		 * @param position the position score
+		 * @return the copy
+		 */
+		Variable copy(String expectedType, int position) {
+			boolean isAutoboxMatch= isPrimitiveType(expectedType) != isPrimitiveType(qualifiedTypeName);
+			return new Variable(qualifiedTypeName, name, variableType, isAutoboxMatch, position, triggerChars, descriptor);
+		}
+
 		/*
 		 * @see Object#toString()
 		 */
@@ -109,10 +125,73 @@ public class ParameterGuesser {
 		}
 	}
 
+	/**
+	 * The variables visible at one code completion invocation site. The index is shared by all
+	 * parameter positions of all proposals of one code completion, so that the visible elements
+	 * of each parameter type, the variables created for the elements and the name similarity
+	 * scores are computed only once.
+	 */
+	private static final class VariableIndex {
+
+		/** Marks elements that are not suggested as a parameter. */
+		private static final Variable NO_VARIABLE= new Variable("", "", Variable.LITERALS, false, 0, NO_TRIGGERS, null); //$NON-NLS-1$ //$NON-NLS-2$
+
+		private final WeakReference<CompletionContext> fContext;
+		/** The visible elements by the signature of the type they are assignable to. */
+		private final Map<String, IJavaElement[]> fVisibleElements= new HashMap<>();
+		/** The variables by element, independent of the expected type and the position. */
+		private final Map<IJavaElement, Variable> fVariables= new HashMap<>();
+		/** The lengths of the longest common substrings by variable and parameter name. */
+		private final Map<String, Integer> fSubstringLengths= new HashMap<>();
+
+		VariableIndex(CompletionContext context) {
+			fContext= new WeakReference<>(context);
+		}
+
+		boolean isIndexOf(CompletionContext context) {
+			return fContext.get() == context;
+		}
+
+		synchronized IJavaElement[] getVisibleElements(String typeSignature) {
+			IJavaElement[] elements= fVisibleElements.get(typeSignature);
+			if (elements == null) {
+				CompletionContext context= fContext.get();
+				elements= context == null ? new IJavaElement[0] : context.getVisibleElements(typeSignature);
+				fVisibleElements.put(typeSignature, elements);
+			}
+			return elements;
+		}
+
+		synchronized Variable getVariable(IJavaElement element, IType enclosingType) throws JavaModelException {
+			Variable variable= fVariables.get(element);
+			if (variable == null) {
+				variable= createVariable(element, enclosingType);
+				if (variable == null)
+					variable= NO_VARIABLE;
+				fVariables.put(element, variable);
+			}
+			return variable == NO_VARIABLE ? null : variable;
+		}
+
+		synchronized int getLongestCommonSubstringLength(String name, String paramName) {
+			String key= name + ' ' + paramName;
+			Integer length= fSubstringLengths.get(key);
+			if (length == null) {
+				length= Integer.valueOf(ParameterGuesser.getLongestCommonSubstringLength(name, paramName));
+				fSubstringLengths.put(key, length);
+			}
+			return length.intValue();
+		}
+	}
+
 	private static final char[] NO_TRIGGERS= new char[0];
 
+	/** The index of the most recent code completion. */
+	private static VariableIndex fgLastIndex;
+
 	private final Set<String> fAlreadyMatchedNames;
 	private final IJavaElement fEnclosingElement;
+	private final VariableIndex fIndex;
 
 	/**
 	 * Creates a parameter guesser
@@ -122,6 +201,40 @@ public class ParameterGuesser {
 	public ParameterGuesser(IJavaElement enclosingElement) {
 		fEnclosingElement= enclosingElement;
 		fAlreadyMatchedNames= new HashSet<>();
+		fIndex= new VariableIndex(null);
+	}
+
+	/**
+	 * Creates a parameter guesser for a code completion. The guessers of the proposals of one
+	 * code completion share the visible variables and their scores.
+	 *
+	 * @param context the core completion context
+	 * @since 3.31
+	 */
+	public ParameterGuesser(CompletionContext context) {
+		fEnclosingElement= context.getEnclosingElement();
+		fAlreadyMatchedNames= new HashSet<>();
+		fIndex= getIndex(context);
+	}
+
+	private static synchronized VariableIndex getIndex(CompletionContext context) {
+		if (fgLastIndex == null || !fgLastIndex.isIndexOf(context)) {
+			fgLastIndex= new VariableIndex(context);
+		}
+		return fgLastIndex;
+	}
+
+	/**
+	 * Returns the elements that are visible at the completion location and assignable to the
+	 * given type. Only available for guessers created for a completion context.
+	 *
+	 * @param typeSignature the signature of the type
+	 * @return the visible elements assignable to the type
+	 * @see CompletionContext#getVisibleElements(String)
+	 * @since 3.31
+	 */
+	public IJavaElement[] getVisibleElements(String typeSignature) {
+		return fIndex.getVisibleElements(typeSignature);
 	}
 
 	private List<Variable> evaluateVisibleMatches(String expectedType, IJavaElement[] suggestions) throws JavaModelException {
@@ -132,8 +245,9 @@ public class ParameterGuesser {
 
 		ArrayList<Variable> res= new ArrayList<>();
 		for (int i= 0; i < suggestions.length; i++) {
-			Variable variable= createVariable(suggestions[i], currentType, expectedType, i);
+			Variable variable= fIndex.getVariable(suggestions[i], currentType);
 			if (variable != null) {
+				variable= variable.copy(expectedType, i);
 				if (fAlreadyMatchedNames.contains(variable.name)) {
 					variable.alreadyMatched= true;
 				}
@@ -170,6 +284,15 @@ public class ParameterGuesser {
 	}
 
 	public Variable createVariable(IJavaElement element, IType enclosingType, String expectedType, int positionScore) throws JavaModelException {
+		Variable variable= createVariable(element, enclosingType);
+		return variable == null ? null : variable.copy(expectedType, positionScore);
+	}
+
+	/*
+	 * Creates the variable for the element, or returns null if the element is not suggested. The
+	 * variable has no autoboxing match and position 0.
+	 */
+	private static Variable createVariable(IJavaElement element, IType enclosingType) throws JavaModelException {
 		int variableType;
 		int elementType= element.getElementType();
 		String elementName= element.getElementName();
@@ -220,18 +343,17 @@ public class ParameterGuesser {
 		}
 		String type= Signature.toString(typeSignature);
 
-		boolean isAutoboxMatch= isPrimitiveType(expectedType) != isPrimitiveType(type);
-		return new Variable(type, elementName, variableType, isAutoboxMatch, positionScore, NO_TRIGGERS, getImageDescriptor(element));
+		return new Variable(type, elementName, variableType, false, 0, NO_TRIGGERS, getImageDescriptor(element));
 	}
 
-	private ImageDescriptor getImageDescriptor(IJavaElement elem) {
+	private static ImageDescriptor getImageDescriptor(IJavaElement elem) {
 		JavaElementImageProvider imageProvider= new JavaElementImageProvider();
 		ImageDescriptor desc= imageProvider.getBaseImageDescriptor(elem, JavaElementImageProvider.OVERLAY_ICONS);
 		imageProvider.dispose();
 		return desc;
 	}
 
-	private boolean isPrimitiveType(String type) {
+	private static boolean isPrimitiveType(String type) {
 		return PrimitiveType.toCode(type) != null;
 	}
 
@@ -274,7 +396,7 @@ public class ParameterGuesser {
 		return null;
 	}
 
-	private boolean isMethodToSuggest(IMethod method) {
+	private static boolean isMethodToSuggest(IMethod method) {
 		try {
 			String methodName= method.getElementName();
 			return method.getNumberOfParameters() == 0 && !Signature.SIG_VOID.equals(method.getReturnType())
@@ -298,7 +420,7 @@ public class ParameterGuesser {
 	 */
 	public ICompletionProposal[] parameterProposals(String expectedType, String paramName, Position pos, IJavaElement[] suggestions, boolean fillBestGuess, boolean isLastParameter) throws JavaModelException {
 		List<Variable> typeMatches= evaluateVisibleMatches(expectedType, suggestions);
-		orderMatches(typeMatches, paramName);
+		orderMatches(typeMatches, paramName, fIndex);
 
 		boolean hasVarWithParamName= false;
 		ICompletionProposal[] ret= new ICompletionProposal[typeMatches.size()];
@@ -336,13 +458,20 @@ public class ParameterGuesser {
 	private static class MatchComparator implements Comparator<Variable> {
 
 		private String fParamName;
+		private final VariableIndex fIndex;
+		private final Map<Variable, Integer> fScores= new IdentityHashMap<>();
 
-		MatchComparator(String paramName) {
+		MatchComparator(String paramName, VariableIndex index) {
 			fParamName= paramName;
+			fIndex= index;
 		}
 		@Override
 		public int compare(Variable one, Variable two) {
-			return score(two) - score(one);
+			return getScore(two) - getScore(one);
+		}
+
+		private int getScore(Variable v) {
+			return fScores.computeIfAbsent(v, this::score).intValue();
 		}
 
 		/**
@@ -354,7 +483,7 @@ public class ParameterGuesser {
 		 */
 		private int score(Variable v) {
 			int variableScore= 100 - v.variableType; // since these are increasing with distance
-			int subStringScore= getLongestCommonSubstring(v.name, fParamName).length();
+			int subStringScore= fIndex.getLongestCommonSubstringLength(v.name, fParamName);
 			// substring scores under 60% are not considered
 			// this prevents marginal matches like a - ba and false - isBool that will
 			// destroy the sort order
@@ -390,46 +519,40 @@ public class ParameterGuesser {
 	 *
 	 * @param typeMatches the list of type matches
 	 * @param paramName the parameter name
+	 * @param index the index providing the substring lengths
 	 */
-	private static void orderMatches(List<Variable> typeMatches, String paramName) {
-		if (typeMatches != null) Collections.sort(typeMatches, new MatchComparator(paramName));
+	private static void orderMatches(List<Variable> typeMatches, String paramName, VariableIndex index) {
+		if (typeMatches != null) Collections.sort(typeMatches, new MatchComparator(paramName, index));
 	}
 
 	/**
-	 * Returns the longest common substring of two strings.
+	 * Returns the length of the longest case insensitive common substring of two strings.
 	 *
 	 * @param first the first string
 	 * @param second the second string
-	 * @return the longest common substring
+	 * @return the length of the longest common substring
 	 */
-	private static String getLongestCommonSubstring(String first, String second) {
-
-		String shorter= (first.length() <= second.length()) ? first : second;
-		String longer= shorter == first ? second : first;
-
-		int minLength= shorter.length();
-
-		StringBuilder pattern= new StringBuilder(shorter.length() + 2);
-		String longestCommonSubstring= ""; //$NON-NLS-1$
-
-		for (int i= 0; i < minLength; i++) {
-			for (int j= i + 1; j <= minLength; j++) {
-				if (j - i < longestCommonSubstring.length())
-					continue;
-
-				String substring= shorter.substring(i, j);
-				pattern.setLength(0);
-				pattern.append('*');
-				pattern.append(substring);
-				pattern.append('*');
-
-				StringMatcher matcher= new StringMatcher(pattern.toString(), true, false);
-				if (matcher.match(longer))
-					longestCommonSubstring= substring;
+	static int getLongestCommonSubstringLength(String first, String second) {
+		// lengths of the common suffixes of the prefixes of first and second
+		int[] previous= new int[second.length() + 1];
+		int[] current= new int[second.length() + 1];
+		int longest= 0;
+		for (int i= 0; i < first.length(); i++) {
+			char c= first.charAt(i);
+			for (int j= 0; j < second.length(); j++) {
+				char d= second.charAt(j);
+				if (c == d || Character.toUpperCase(c) == Character.toUpperCase(d) || Character.toLowerCase(c) == Character.toLowerCase(d)) {
+					current[j + 1]= previous[j] + 1;
+					longest= Math.max(longest, current[j + 1]);
+				} else {
+					current[j + 1]= 0;
+				}
 			}
+			int[] swap= previous;
+			previous= current;
+			current= swap;
 		}
-
-		return longestCommonSubstring;
+		return longest;
 	}
 
 	private Image getImage(ImageDescriptor descriptor) {
@@ -99,17 +99,13 @@ public class ParameterGuessingProposal extends JavaMethodCompletionProposal {
 		fFillBestGuess= fillBestGuess;
  	}
 
-	private IJavaElement getEnclosingElement() {
-		return fCoreContext.getEnclosingElement();
-	}
-
-	private IJavaElement[][] getAssignableElements() {
+	private IJavaElement[][] getAssignableElements(ParameterGuesser guesser) {
 		char[] signature= SignatureUtil.fix83600(getProposal().getSignature());
 		char[][] types= Signature.getParameterTypes(signature);
 
 		IJavaElement[][] assignableElements= new IJavaElement[types.length][];
 		for (int i= 0; i < types.length; i++) {
-			assignableElements[i]= fCoreContext.getVisibleElements(new String(types[i]));
+			assignableElements[i]= guesser.getVisibleElements(new String(types[i]));
 		}
 		return assignableElements;
 	}
@@ -375,8 +371,8 @@ public class ParameterGuessingProposal extends JavaMethodCompletionProposal {
 		fChoices= new ICompletionProposal[count][];
 
 		String[] parameterTypes= getParameterTypes();
-		ParameterGuesser guesser= new ParameterGuesser(getEnclosingElement());
-		IJavaElement[][] assignableElements= getAssignableElements();
+		ParameterGuesser guesser= new ParameterGuesser(fCoreContext);
+		IJavaElement[][] assignableElements= getAssignableElements(guesser);
 
 		for (int i= count - 1; i >= 0; i--) {
 			String paramName= new String(parameterNames[i]);
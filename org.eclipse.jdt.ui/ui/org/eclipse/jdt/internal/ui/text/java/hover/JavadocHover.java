@@ -26,6 +26,7 @@ import java.net.URL;
 import org.osgi.framework.Bundle;
 
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.events.DisposeEvent;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Drawable;
@@ -129,6 +130,7 @@ import org.eclipse.jdt.internal.ui.infoviews.JavadocView;
 import org.eclipse.jdt.internal.ui.javaeditor.EditorUtility;
 import org.eclipse.jdt.internal.ui.packageview.PackageExplorerPart;
 import org.eclipse.jdt.internal.ui.text.javadoc.JavadocContentAccess2;
+import org.eclipse.jdt.internal.ui.text.javadoc.JavadocContentCache;
 import org.eclipse.jdt.internal.ui.viewsupport.JavaElementLabelComposer;
 import org.eclipse.jdt.internal.ui.viewsupport.JavaElementLinks;
 
@@ -668,9 +670,33 @@ public class JavadocHover extends AbstractJavaEditorTextHover {
 		if (elements == null || elements.length == 0)
 			return null;
 
+		prerenderVisibleMembers(textViewer);
 		return getHoverInfo(elements, getEditorInputJavaElement(), hoverRegion, null);
 	}
 
+	/**
+	 * Renders the Javadoc of the members referenced in the visible part of the editor in the
+	 * background, so that hovering over the references is fast.
+	 *
+	 * @param textViewer the text viewer of the editor
+	 * @since 3.31
+	 */
+	private void prerenderVisibleMembers(final ITextViewer textViewer) {
+		final IJavaElement input= getEditorInputJavaElement();
+		final StyledText widget= textViewer.getTextWidget();
+		if (!(input instanceof ITypeRoot) || widget == null || widget.isDisposed())
+			return;
+
+		widget.getDisplay().asyncExec(() -> {
+			if (widget.isDisposed())
+				return;
+			int offset= textViewer.getTopIndexStartOffset();
+			int end= textViewer.getBottomIndexEndOffset();
+			if (offset >= 0 && end > offset)
+				JavadocContentCache.getDefault().prerender((ITypeRoot) input, offset, end - offset);
+		});
+	}
+
 	/**
 	 * Returns the first package with a valid Javadoc when there are multiple packages with the same
 	 * name in the project. If no package could be found with a valid Javadoc then returns the first
@@ -47,6 +47,7 @@ final class JavaDocMessages extends NLS {
 	public static String JavadocContentAccess2_setproperty_message;
 	public static String JavadocContentAccess2_returns_pre;
 	public static String JavadocContentAccess2_returns_post;
+	public static String JavadocContentCache_prerender_job;
 
 	static {
 		NLS.initializeMessages(BUNDLE_NAME, JavaDocMessages.class);
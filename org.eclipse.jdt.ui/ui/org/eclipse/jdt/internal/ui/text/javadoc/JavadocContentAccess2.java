@@ -310,7 +310,7 @@ public class JavadocContentAccess2 {
 		 * 		or <code>null</code> if none could be found
 		 */
 		public CharSequence getInheritedMainDescription(IMethod method) {
-			return getInheritedDescription(method, JavadocContentAccess2::getMainDescription);
+			return getInheritedDescription(method, "main", JavadocContentAccess2::getMainDescription); //$NON-NLS-1$
 		}
 
 		/**
@@ -323,7 +323,7 @@ public class JavadocContentAccess2 {
 		 *         <code>null</code> if none could be found
 		 */
 		public CharSequence getInheritedTypeParamDescription(IMethod method, final int typeParamIndex) {
-			return getInheritedDescription(method, contentAccess -> contentAccess.getInheritedTypeParamDescription(typeParamIndex));
+			return getInheritedDescription(method, "typeParam" + typeParamIndex, contentAccess -> contentAccess.getInheritedTypeParamDescription(typeParamIndex)); //$NON-NLS-1$
 		}
 
 		/**
@@ -336,7 +336,7 @@ public class JavadocContentAccess2 {
 		 * 		or <code>null</code> if none could be found
 		 */
 		public CharSequence getInheritedParamDescription(IMethod method, final int paramIndex) {
-			return getInheritedDescription(method, contentAccess -> contentAccess.getInheritedParamDescription(paramIndex));
+			return getInheritedDescription(method, "param" + paramIndex, contentAccess -> contentAccess.getInheritedParamDescription(paramIndex)); //$NON-NLS-1$
 		}
 
 		/**
@@ -347,7 +347,7 @@ public class JavadocContentAccess2 {
 		 * 		or <code>null</code> if none could be found
 		 */
 		public CharSequence getInheritedReturnDescription(IMethod method) {
-			return getInheritedDescription(method, JavadocContentAccess2::getReturnDescription);
+			return getInheritedDescription(method, "return", JavadocContentAccess2::getReturnDescription); //$NON-NLS-1$
 		}
 
 		/**
@@ -360,10 +360,32 @@ public class JavadocContentAccess2 {
 		 * 		or <code>null</code> if none could be found
 		 */
 		public CharSequence getInheritedExceptionDescription(IMethod method, final String simpleName) {
-			return getInheritedDescription(method, contentAccess -> contentAccess.getExceptionDescription(simpleName));
+			return getInheritedDescription(method, "exception " + simpleName, contentAccess -> contentAccess.getExceptionDescription(simpleName)); //$NON-NLS-1$
 		}
 
-		private CharSequence getInheritedDescription(final IMethod method, final DescriptionGetter descriptionGetter) {
+		/**
+		 * Returns the inherited description, which is cached per method since it only depends on
+		 * the method and its overridden methods.
+		 *
+		 * @param method the method
+		 * @param kind the kind of description, unique for the description getter
+		 * @param descriptionGetter the description getter
+		 * @return the description, or <code>null</code> if none could be found
+		 */
+		private CharSequence getInheritedDescription(final IMethod method, String kind, final DescriptionGetter descriptionGetter) {
+			String key= "inherited " + kind + ':' + method.getHandleIdentifier(); //$NON-NLS-1$
+			try {
+				return JavadocContentCache.getDefault().get(key, method, () -> {
+					CharSequence description= computeInheritedDescription(method, descriptionGetter);
+					return description != null ? description.toString() : null;
+				});
+			} catch (CoreException e) {
+				JavaPlugin.log(e);
+			}
+			return null;
+		}
+
+		private CharSequence computeInheritedDescription(final IMethod method, final DescriptionGetter descriptionGetter) {
 			try {
 				return (CharSequence) new InheritDocVisitor() {
 					@Override
@@ -518,6 +540,11 @@ public class JavadocContentAccess2 {
 				&& (!(element instanceof ILocalVariable) || !(((ILocalVariable) element).isParameter()))) {
 			return null;
 		}
+		String key= (useAttachedJavadoc ? "html+attached:" : "html:") + element.getHandleIdentifier(); //$NON-NLS-1$ //$NON-NLS-2$
+		return JavadocContentCache.getDefault().get(key, element, () -> computeHTMLContent(element, useAttachedJavadoc));
+	}
+
+	private static String computeHTMLContent(IJavaElement element, boolean useAttachedJavadoc) throws CoreException {
 		String sourceJavadoc= getHTMLContentFromSource(element);
 		if (sourceJavadoc == null || sourceJavadoc.length() == 0 || "{@inheritDoc}".equals(sourceJavadoc.trim())) { //$NON-NLS-1$
 			if (useAttachedJavadoc) {
@@ -0,0 +1,336 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jdt.internal.ui.text.javadoc;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.ILocalVariable;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.ITypeParameter;
+import org.eclipse.jdt.core.ITypeRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.manipulation.SharedASTProviderCore;
+
+import org.eclipse.jdt.internal.corext.util.SuperTypeHierarchyCache;
+
+/**
+ * Bounded cache for the Javadoc rendered by {@link JavadocContentAccess2}, i.e. the HTML of
+ * elements and the descriptions inherited by methods.
+ * <p>
+ * Each entry remembers the compilation units and class files it was computed from: the one
+ * containing the element, and for methods also the ones of all supertypes of the declaring type.
+ * Entries are removed when one of these changes, including changes to working copies. Changes to
+ * the build path clear the cache.
+ * </p>
+ * <p>
+ * Entries are keyed by handle identifiers, which do not include the working copy owner. Elements
+ * of working copies that are not owned by the primary owner therefore bypass the cache.
+ * </p>
+ *
+ * @since 3.31
+ */
+public final class JavadocContentCache {
+
+	/**
+	 * Computes a value that is stored in the cache.
+	 *
+	 * @param <T> the type of the value
+	 */
+	public interface Computation<T> {
+		/**
+		 * Computes the value.
+		 *
+		 * @return the value, can be <code>null</code>
+		 * @throws CoreException if the value cannot be computed
+		 */
+		T compute() throws CoreException;
+	}
+
+	private static final int MAX_ENTRIES= 300;
+
+	/** The maximal number of referenced members rendered per visible range. */
+	private static final int MAX_PRERENDERED_MEMBERS= 50;
+
+	private static final int STRUCTURAL_FLAGS= IJavaElementDelta.F_CLASSPATH_CHANGED | IJavaElementDelta.F_RESOLVED_CLASSPATH_CHANGED
+			| IJavaElementDelta.F_SOURCEATTACHED | IJavaElementDelta.F_SOURCEDETACHED | IJavaElementDelta.F_ARCHIVE_CONTENT_CHANGED
+			| IJavaElementDelta.F_OPENED | IJavaElementDelta.F_CLOSED;
+
+	private static JavadocContentCache fgDefault;
+
+	private static final class Entry {
+		private final Object fValue;
+		private final Set<IJavaElement> fDependencies;
+
+		Entry(Object value, Set<IJavaElement> dependencies) {
+			fValue= value;
+			fDependencies= dependencies;
+		}
+	}
+
+	/**
+	 * Renders the Javadoc of the members referenced in a range in the background so that it is
+	 * cached when it is requested.
+	 */
+	private final class PrerenderJob extends Job {
+		private ITypeRoot fTypeRoot;
+		private int fOffset;
+		private int fLength;
+
+		PrerenderJob() {
+			super(JavaDocMessages.JavadocContentCache_prerender_job);
+			setSystem(true);
+			setPriority(DECORATE);
+		}
+
+		synchronized void setRange(ITypeRoot typeRoot, int offset, int length) {
+			fTypeRoot= typeRoot;
+			fOffset= offset;
+			fLength= length;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			ITypeRoot typeRoot;
+			int offset;
+			int length;
+			synchronized (this) {
+				typeRoot= fTypeRoot;
+				offset= fOffset;
+				length= fLength;
+			}
+			// wait for a running reconcile, but do not create an AST only for prerendering
+			CompilationUnit astRoot= SharedASTProviderCore.getAST(typeRoot, SharedASTProviderCore.WAIT_ACTIVE_ONLY, monitor);
+			if (astRoot == null)
+				return Status.OK_STATUS;
+			try {
+				for (IMember member : collectReferencedMembers(astRoot, typeRoot, offset, offset + length)) {
+					if (monitor.isCanceled())
+						return Status.CANCEL_STATUS;
+					JavadocContentAccess2.getHTMLContent(member, true);
+				}
+			} catch (CoreException e) {
+				// the members are rendered again when they are requested
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
+	private final Map<String, Entry> fEntries= new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Incremented on every invalidation, used to discard values computed from stale content. */
+	private int fGeneration;
+
+	private final PrerenderJob fPrerenderJob= new PrerenderJob();
+
+	private JavadocContentCache() {
+	}
+
+	/**
+	 * Returns the shared cache.
+	 *
+	 * @return the cache
+	 */
+	public static synchronized JavadocContentCache getDefault() {
+		if (fgDefault == null) {
+			fgDefault= new JavadocContentCache();
+			JavaCore.addElementChangedListener(new IElementChangedListener() {
+				@Override
+				public void elementChanged(ElementChangedEvent event) {
+					fgDefault.processDelta(event.getDelta());
+				}
+			}, ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+		return fgDefault;
+	}
+
+	/**
+	 * Returns the cached value for the given key, computing and caching it if necessary.
+	 *
+	 * @param <T> the type of the value
+	 * @param key the key, unique for the element and the kind of value
+	 * @param element the element the value is computed for
+	 * @param computation computes the value
+	 * @return the value, can be <code>null</code>
+	 * @throws CoreException if the value cannot be computed
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(String key, IJavaElement element, Computation<T> computation) throws CoreException {
+		IOpenable openable= element.getOpenable();
+		if (openable == null || !openable.isConsistent()) {
+			// the working copy has been modified and no delta has been sent yet
+			return computation.compute();
+		}
+		if (openable instanceof ICompilationUnit && ((ICompilationUnit) openable).getOwner() != null) {
+			// the key does not distinguish working copies of other owners from the primary one
+			return computation.compute();
+		}
+
+		int generation;
+		synchronized (this) {
+			Entry entry= fEntries.get(key);
+			if (entry != null)
+				return (T) entry.fValue;
+			generation= fGeneration;
+		}
+
+		T value= computation.compute();
+		Set<IJavaElement> dependencies;
+		try {
+			dependencies= getDependencies(element);
+		} catch (JavaModelException e) {
+			// the value is returned without caching it
+			dependencies= null;
+		}
+		if (dependencies != null) {
+			synchronized (this) {
+				if (generation == fGeneration) {
+					fEntries.put(key, new Entry(value, dependencies));
+					if (fEntries.size() > MAX_ENTRIES) {
+						Iterator<Entry> iterator= fEntries.values().iterator();
+						iterator.next();
+						iterator.remove();
+					}
+				}
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Renders the Javadoc of the members referenced in the given range in the background. Members
+	 * declared in the type root itself are skipped, their Javadoc is invalidated by every
+	 * reconcile.
+	 *
+	 * @param typeRoot the compilation unit or class file
+	 * @param offset the start offset of the range
+	 * @param length the length of the range
+	 */
+	public void prerender(ITypeRoot typeRoot, int offset, int length) {
+		fPrerenderJob.cancel();
+		fPrerenderJob.setRange(typeRoot, offset, length);
+		fPrerenderJob.schedule(200);
+	}
+
+	/**
+	 * Removes all entries.
+	 */
+	public synchronized void clear() {
+		fGeneration++;
+		fEntries.clear();
+	}
+
+	private synchronized void invalidate(IJavaElement openable) {
+		fGeneration++;
+		fEntries.values().removeIf(entry -> entry.fDependencies.contains(openable));
+	}
+
+	private void processDelta(IJavaElementDelta delta) {
+		IJavaElement element= delta.getElement();
+		switch (element.getElementType()) {
+			case IJavaElement.COMPILATION_UNIT:
+			case IJavaElement.CLASS_FILE:
+				invalidate(element);
+				return;
+			case IJavaElement.JAVA_MODEL:
+				break;
+			default:
+				if (delta.getKind() != IJavaElementDelta.CHANGED || (delta.getFlags() & STRUCTURAL_FLAGS) != 0) {
+					clear();
+					return;
+				}
+		}
+		for (IJavaElementDelta child : delta.getAffectedChildren()) {
+			processDelta(child);
+		}
+	}
+
+	/*
+	 * Returns the compilation units and class files the Javadoc of the element is computed from,
+	 * or null if they are not known.
+	 */
+	private static Set<IJavaElement> getDependencies(IJavaElement element) throws JavaModelException {
+		IJavaElement openable= (IJavaElement) element.getOpenable();
+		if (openable == null)
+			return null;
+		Set<IJavaElement> dependencies= new LinkedHashSet<>();
+		dependencies.add(openable);
+
+		IJavaElement member= element;
+		if (element instanceof ILocalVariable)
+			member= ((ILocalVariable) element).getDeclaringMember();
+		else if (element instanceof ITypeParameter)
+			member= ((ITypeParameter) element).getDeclaringMember();
+		if (member instanceof IMethod) {
+			IType declaringType= ((IMethod) member).getDeclaringType();
+			ITypeHierarchy hierarchy= SuperTypeHierarchyCache.getTypeHierarchy(declaringType);
+			for (IType supertype : hierarchy.getAllSupertypes(declaringType)) {
+				IJavaElement supertypeOpenable= (IJavaElement) supertype.getOpenable();
+				if (supertypeOpenable != null)
+					dependencies.add(supertypeOpenable);
+			}
+		}
+		return dependencies;
+	}
+
+	/*
+	 * Returns the members declared outside of the type root that are referenced by names in the
+	 * given range of its AST.
+	 */
+	private static Set<IMember> collectReferencedMembers(CompilationUnit astRoot, final ITypeRoot typeRoot, final int start, final int end) {
+		final Set<IMember> members= new LinkedHashSet<>();
+		astRoot.accept(new ASTVisitor() {
+			@Override
+			public boolean preVisit2(ASTNode node) {
+				return members.size() < MAX_PRERENDERED_MEMBERS && node.getStartPosition() < end && node.getStartPosition() + node.getLength() > start;
+			}
+
+			@Override
+			public boolean visit(SimpleName node) {
+				if (node.isDeclaration() || node.getStartPosition() < start)
+					return false;
+				IBinding binding= node.resolveBinding();
+				IJavaElement element= binding != null ? binding.getJavaElement() : null;
+				if (element instanceof IMember && !typeRoot.equals(((IMember) element).getTypeRoot()))
+					members.add((IMember) element);
+				return false;
+			}
+		});
+		return members;
+	}
+}
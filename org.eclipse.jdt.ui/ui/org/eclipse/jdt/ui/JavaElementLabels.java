@@ -44,6 +44,7 @@ import org.eclipse.jdt.core.ITypeParameter;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 
+import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelCache;
 import org.eclipse.jdt.internal.core.manipulation.JavaElementLabelsCore;
 import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.util.Strings;
@@ -391,10 +392,39 @@ public class JavaElementLabels {
 
 	private static final Styler DECORATIONS_STYLE= StyledString.DECORATIONS_STYLER;
 
+	/**
+	 * The kinds of the labels in the {@link JavaElementLabelCache}.
+	 */
+	private static final String LABEL_KIND= "ui"; //$NON-NLS-1$
+	private static final String STYLED_LABEL_KIND= "styled"; //$NON-NLS-1$
+
+	private static JavaElementLabelCache fgLabelCache;
+
 
 	private JavaElementLabels() {
 	}
 
+	/*
+	 * Returns the shared label cache, which is cleared when the preferences that affect the
+	 * rendering of package names change.
+	 */
+	private static synchronized JavaElementLabelCache getLabelCache() {
+		if (fgLabelCache == null) {
+			JavaElementLabelCache cache= JavaElementLabelCache.getDefault();
+			PreferenceConstants.getPreferenceStore().addPropertyChangeListener(event -> {
+				String property= event.getProperty();
+				if (PreferenceConstants.APPEARANCE_COMPRESS_PACKAGE_NAMES.equals(property)
+						|| PreferenceConstants.APPEARANCE_PKG_NAME_PATTERN_FOR_PKG_VIEW.equals(property)
+						|| PreferenceConstants.APPEARANCE_ABBREVIATE_PACKAGE_NAMES.equals(property)
+						|| PreferenceConstants.APPEARANCE_PKG_NAME_ABBREVIATION_PATTERN_FOR_PKG_VIEW.equals(property)) {
+					cache.clear();
+				}
+			});
+			fgLabelCache= cache;
+		}
+		return fgLabelCache;
+	}
+
 	/**
 	 * Returns the label of the given object. The object must be of type {@link IJavaElement} or adapt to {@link IWorkbenchAdapter}.
 	 * If the element type is not known, the empty string is returned.
@@ -501,9 +531,11 @@ public class JavaElementLabels {
 	 * @return the label of the Java element
 	 */
 	public static String getElementLabel(IJavaElement element, long flags) {
-		StringBuffer result= new StringBuffer();
-		getElementLabel(element, flags, result);
-		return org.eclipse.jdt.internal.core.manipulation.util.Strings.markJavaElementLabelLTR(result.toString());
+		return getLabelCache().get(LABEL_KIND, element, flags, () -> {
+			StringBuffer result= new StringBuffer();
+			getElementLabel(element, flags, result);
+			return org.eclipse.jdt.internal.core.manipulation.util.Strings.markJavaElementLabelLTR(result.toString());
+		});
 	}
 
 	/**
@@ -516,9 +548,13 @@ public class JavaElementLabels {
 	 * @since 3.4
 	 */
 	public static StyledString getStyledElementLabel(IJavaElement element, long flags) {
-		StyledString result= new StyledString();
-		getElementLabel(element, flags, result);
-		return Strings.markJavaElementLabelLTR(result);
+		StyledString label= getLabelCache().get(STYLED_LABEL_KIND, element, flags, () -> {
+			StyledString result= new StyledString();
+			getElementLabel(element, flags, result);
+			return Strings.markJavaElementLabelLTR(result);
+		});
+		// clients may append to the label, the cached label must not change
+		return new StyledString().append(label);
 	}
 
 	/**
@@ -134,6 +134,9 @@ public class JarPackageData {
 	// Add directory entries to the jar
 	private boolean fIncludeDirectoryEntries;
 
+	// Update an existing jar instead of recreating it
+	private boolean fIncrementalExport;
+
 	// Projects for which to store refactoring information
 	private IProject[] fRefactoringProjects= {};
 
@@ -1057,6 +1060,32 @@ public class JarPackageData {
 		fIncludeDirectoryEntries = includeDirectoryEntries;
 	}
 
+	/**
+	 * Tells whether an existing JAR is updated incrementally. If set, only the entries whose
+	 * content has changed are written, all other entries are copied from the existing JAR
+	 * without recompressing them. The JAR is recreated if it cannot be updated, e.g. because
+	 * the manifest has changed.
+	 *
+	 * @return <code>true</code> if an existing JAR is updated incrementally
+	 *
+	 * @since 3.31
+	 */
+	public boolean isIncrementalExport() {
+		return fIncrementalExport;
+	}
+
+	/**
+	 * Sets the option to update an existing JAR incrementally.
+	 *
+	 * @param incrementalExport <code>true</code> to update an existing JAR incrementally,
+	 *            <code>false</code> to always recreate it
+	 *
+	 * @since 3.31
+	 */
+	public void setIncrementalExport(boolean incrementalExport) {
+		fIncrementalExport= incrementalExport;
+	}
+
 	/**
 	 * Returns the projects for which refactoring information should be stored.
 	 * <p>
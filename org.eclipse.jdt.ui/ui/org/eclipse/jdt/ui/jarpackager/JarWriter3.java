@@ -51,9 +51,7 @@ import org.eclipse.core.runtime.Path;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
-import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.resources.ResourcesPlugin;
 
 import org.eclipse.ltk.core.refactoring.RefactoringCore;
 import org.eclipse.ltk.core.refactoring.RefactoringDescriptor;
@@ -63,7 +61,6 @@ import org.eclipse.jdt.internal.core.manipulation.util.BasicElementLabels;
 import org.eclipse.jdt.internal.corext.util.Messages;
 import org.eclipse.jdt.internal.jarpackager.JarPackagerUtilCore;
 
-import org.eclipse.jdt.internal.ui.JavaPlugin;
 import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerMessages;
 import org.eclipse.jdt.internal.ui.jarpackager.JarPackagerUtil;
 
@@ -380,25 +377,7 @@ public class JarWriter3 {
 	}
 
 	private void registerInWorkspaceIfNeeded() {
-		IPath jarPath= fJarPackage.getAbsoluteJarLocation();
-		for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
-			// The Jar is always put into the local file system. So it can only be
-			// part of a project if the project is local as well. So using getLocation
-			// is currently save here.
-			IPath projectLocation= project.getLocation();
-			if (projectLocation != null && projectLocation.isPrefixOf(jarPath)) {
-				try {
-					jarPath= jarPath.removeFirstSegments(projectLocation.segmentCount());
-					jarPath= jarPath.removeLastSegments(1);
-					IResource containingFolder= project.findMember(jarPath);
-					if (containingFolder != null && containingFolder.isAccessible())
-						containingFolder.refreshLocal(IResource.DEPTH_ONE, null);
-				} catch (CoreException ex) {
-					// don't refresh the folder but log the problem
-					JavaPlugin.log(ex);
-				}
-			}
-		}
+		JarPackagerUtil.refreshContainingFolder(fJarPackage.getAbsoluteJarLocation());
 	}
 
 	/**
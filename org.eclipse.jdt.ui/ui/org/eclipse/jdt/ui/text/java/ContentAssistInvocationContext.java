@@ -45,7 +45,7 @@ public class ContentAssistInvocationContext {
 	private final int fOffset;
 
 	/* cached additional info */
-	private CharSequence fPrefix;
+	private volatile CharSequence fPrefix;
 
 	/**
 	 * Equivalent to
@@ -49,16 +49,22 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	private final IEditorPart fEditor;
 
 	private IJavaProject fJavaProject;
-	private ICompilationUnit fCU= null;
-	private boolean fCUComputed= false;
 
-	private CompletionProposalLabelProvider fLabelProvider;
-	private CompletionProposalCollector fCollector;
-	private RHSHistory fRHSHistory;
-	private IType fType;
+	/*
+	 * The cached values are volatile since computers that do not require the UI thread may access
+	 * the context concurrently. A value may then be computed more than once, but all threads see
+	 * a completely computed value.
+	 */
+	private volatile ICompilationUnit fCU= null;
+	private volatile boolean fCUComputed= false;
+
+	private volatile CompletionProposalLabelProvider fLabelProvider;
+	private volatile CompletionProposalCollector fCollector;
+	private volatile RHSHistory fRHSHistory;
+	private volatile IType fType;
 
-	private IJavaCompletionProposal[] fKeywordProposals= null;
-	private CompletionContext fCoreContext= null;
+	private volatile IJavaCompletionProposal[] fKeywordProposals= null;
+	private volatile CompletionContext fCoreContext= null;
 
 	/**
 	 * Creates a new context.
@@ -105,7 +111,6 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 	 */
 	public ICompilationUnit getCompilationUnit() {
 		if (!fCUComputed) {
-			fCUComputed= true;
 			if (fCollector != null) {
 				fCU= fCollector.getCompilationUnit();
 			} else {
@@ -114,6 +119,7 @@ public class JavaContentAssistInvocationContext extends ContentAssistInvocationC
 					fCU= (ICompilationUnit)je;
 				}
 			}
+			fCUComputed= true;
 		}
 		return fCU;
 	}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2023 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ltk.core.refactoring.tests.participants;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.ltk.core.refactoring.participants.ParticipantManager;
+import org.eclipse.ltk.core.refactoring.participants.RefactoringParticipant;
+import org.eclipse.ltk.core.refactoring.participants.RenameArguments;
+import org.eclipse.ltk.core.refactoring.participants.SharableParticipants;
+
+public class ParticipantEnablementTests {
+
+	private static final String[] NATURES= new String[0];
+
+	private static List<String> load(ElementRenameProcessor processor, Object element, SharableParticipants shared) {
+		RefactoringStatus status= new RefactoringStatus();
+		RefactoringParticipant[] participants= ParticipantManager.loadRenameParticipants(status, processor, element, new RenameArguments("b", true), NATURES, shared);
+		assertTrue(status.isOK());
+		List<String> result= new ArrayList<>();
+		for (RefactoringParticipant participant : participants) {
+			result.add(participant.getClass().getName());
+		}
+		return result;
+	}
+
+	@Test
+	public void testSharedEnablement() throws Exception {
+		ElementRenameProcessor processor= new ElementRenameProcessor(ElementRenameRefactoring.WORKING);
+		SharableParticipants shared= new SharableParticipants();
+
+		List<String> first= load(processor, new ElementWorking(), shared);
+		assertTrue(first.contains(WorkingParticipant.class.getName()));
+
+		// same element type: answered from the cached enablement
+		assertEquals(first, load(processor, new ElementWorking(), shared));
+
+		// different element type: evaluated again
+		assertEquals(load(processor, new ElementWorkingPre(), new SharableParticipants()), load(processor, new ElementWorkingPre(), shared));
+		assertEquals(0, load(processor, new Object(), shared).size());
+	}
+}
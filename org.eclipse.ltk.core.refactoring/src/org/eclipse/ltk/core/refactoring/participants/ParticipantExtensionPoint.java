@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 
 import org.eclipse.core.expressions.EvaluationContext;
 
@@ -25,6 +26,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.PerformanceStats;
 import org.eclipse.core.runtime.Platform;
 
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
@@ -46,6 +48,44 @@ import org.eclipse.ltk.internal.core.refactoring.RefactoringCorePlugin;
  */
 public class ParticipantExtensionPoint {
 
+	private static final String PERF_LOAD_PARTICIPANTS= "org.eclipse.ltk.core.refactoring/perf/participants/loadParticipants"; //$NON-NLS-1$
+
+	/**
+	 * Key for the enablement of a participant whose enablement expression only depends on the
+	 * type of the element, the affected natures and the processor.
+	 */
+	private static final class EnablementKey {
+		private final ParticipantDescriptor fDescriptor;
+		private final Class<?> fElementClass;
+		private final List<String> fAffectedNatures;
+		private final String fProcessorIdentifier;
+
+		EnablementKey(ParticipantDescriptor descriptor, Object element, String[] affectedNatures, String processorIdentifier) {
+			fDescriptor= descriptor;
+			fElementClass= element.getClass();
+			fAffectedNatures= Arrays.asList(affectedNatures);
+			fProcessorIdentifier= processorIdentifier;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(fDescriptor, fElementClass, fAffectedNatures, fProcessorIdentifier);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof EnablementKey))
+				return false;
+			EnablementKey other= (EnablementKey) obj;
+			return fDescriptor == other.fDescriptor
+					&& fElementClass == other.fElementClass
+					&& fAffectedNatures.equals(other.fAffectedNatures)
+					&& Objects.equals(fProcessorIdentifier, other.fProcessorIdentifier);
+		}
+	}
+
 	private String fParticipantID;
 	private List<ParticipantDescriptor> fParticipants;
 	private Class<?> fParticipantClass;
@@ -84,7 +124,17 @@ public class ParticipantExtensionPoint {
 		if (fParticipants == null)
 			init();
 
-		EvaluationContext evalContext= createEvaluationContext(processor, element, affectedNatures);
+		final PerformanceStats stats= PerformanceStats.getStats(PERF_LOAD_PARTICIPANTS, fParticipantID);
+		stats.startRun();
+		try {
+			return doGetParticipants(status, processor, element, arguments, filter, affectedNatures, shared);
+		} finally {
+			stats.endRun();
+		}
+	}
+
+	private RefactoringParticipant[] doGetParticipants(RefactoringStatus status, RefactoringProcessor processor, Object element, RefactoringArguments arguments, IParticipantDescriptorFilter filter, String[] affectedNatures, SharableParticipants shared) {
+		EvaluationContext evalContext= null;
 		List<RefactoringParticipant> result= new ArrayList<>();
 		for (Iterator<ParticipantDescriptor> iter= fParticipants.iterator(); iter.hasNext();) {
 			ParticipantDescriptor descriptor= iter.next();
@@ -92,8 +142,25 @@ public class ParticipantExtensionPoint {
 				iter.remove();
 			} else {
 				try {
+					boolean enabled;
+					EnablementKey key= null;
+					if (descriptor.isEnablementCacheable()) {
+						key= new EnablementKey(descriptor, element, affectedNatures, processor.getIdentifier());
+					}
+					Boolean cached= key != null ? shared.getEnablement(key) : null;
+					if (cached != null) {
+						enabled= cached.booleanValue();
+					} else {
+						if (evalContext == null)
+							evalContext= createEvaluationContext(processor, element, affectedNatures);
+						enabled= descriptor.isEnabledFor(evalContext);
+						if (key != null)
+							shared.putEnablement(key, enabled);
+					}
+					if (!enabled)
+						continue;
 					RefactoringStatus filterStatus= new RefactoringStatus();
-					if (descriptor.matches(evalContext, filter, filterStatus)) {
+					if (descriptor.select(filter, filterStatus)) {
 						RefactoringParticipant participant= shared.get(descriptor);
 						if (participant != null) {
 							((ISharableParticipant)participant).addElement(element, arguments);
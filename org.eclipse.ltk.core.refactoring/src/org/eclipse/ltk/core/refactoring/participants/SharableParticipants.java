@@ -41,6 +41,7 @@ import org.eclipse.ltk.internal.core.refactoring.ParticipantDescriptor;
 public class SharableParticipants {
 
 	private Map<ParticipantDescriptor, RefactoringParticipant> fMap= new HashMap<>();
+	private Map<Object, Boolean> fEnablements= new HashMap<>();
 
 	/* package */ void put(ParticipantDescriptor descriptor, RefactoringParticipant participant) {
 		fMap.put(descriptor, participant);
@@ -48,4 +49,10 @@ public class SharableParticipants {
 	/* package */ RefactoringParticipant get(ParticipantDescriptor descriptor) {
 		return fMap.get(descriptor);
 	}
+	/* package */ void putEnablement(Object key, boolean enabled) {
+		fEnablements.put(key, Boolean.valueOf(enabled));
+	}
+	/* package */ Boolean getEnablement(Object key) {
+		return fEnablements.get(key);
+	}
 }
@@ -34,11 +34,19 @@ public class ParticipantDescriptor {
 	private IConfigurationElement fConfigurationElement;
 	private boolean fEnabled;
 
+	private Expression fEnablement;
+	private Boolean fEnablementCacheable;
+
 	private static final String ID= "id"; //$NON-NLS-1$
 	private static final String NAME= "name";  //$NON-NLS-1$
 	private static final String CLASS= "class"; //$NON-NLS-1$
 	private static final String PROCESS_ON_CANCEL= "processOnCancel";  //$NON-NLS-1$
 
+	private static final String VARIABLE= "variable"; //$NON-NLS-1$
+	private static final String ELEMENT_VARIABLE= "element"; //$NON-NLS-1$
+	private static final String AFFECTED_NATURES_VARIABLE= "affectedNatures"; //$NON-NLS-1$
+	private static final String PROCESSOR_IDENTIFIER_VARIABLE= "processorIdentifier"; //$NON-NLS-1$
+
 	public ParticipantDescriptor(IConfigurationElement element) {
 		fConfigurationElement= element;
 		fEnabled= true;
@@ -71,16 +79,80 @@ public class ParticipantDescriptor {
 	}
 
 	public boolean matches(IEvaluationContext context, IParticipantDescriptorFilter filter, RefactoringStatus status) throws CoreException {
-		IConfigurationElement[] elements= fConfigurationElement.getChildren(ExpressionTagNames.ENABLEMENT);
-		if (elements.length == 0)
+		if (!isEnabledFor(context))
 			return false;
-		Assert.isTrue(elements.length == 1);
-		Expression exp= ExpressionConverter.getDefault().perform(elements[0]);
-		if (!convert(exp.evaluate(context)))
-			return false;
-		if (filter != null && !filter.select(fConfigurationElement, status))
+		return select(filter, status);
+	}
+
+	/**
+	 * Evaluates the enablement expression of the participant.
+	 *
+	 * @param context the evaluation context
+	 * @return whether the participant is enabled in the given context
+	 * @throws CoreException if the expression cannot be evaluated
+	 */
+	public boolean isEnabledFor(IEvaluationContext context) throws CoreException {
+		Expression exp= getEnablement();
+		if (exp == null)
 			return false;
+		return convert(exp.evaluate(context));
+	}
+
+	public boolean select(IParticipantDescriptorFilter filter, RefactoringStatus status) {
+		return filter == null || filter.select(fConfigurationElement, status);
+	}
 
+	private synchronized Expression getEnablement() throws CoreException {
+		if (fEnablement == null) {
+			IConfigurationElement[] elements= fConfigurationElement.getChildren(ExpressionTagNames.ENABLEMENT);
+			if (elements.length == 0)
+				return null;
+			Assert.isTrue(elements.length == 1);
+			fEnablement= ExpressionConverter.getDefault().perform(elements[0]);
+		}
+		return fEnablement;
+	}
+
+	/**
+	 * Tells whether the result of the enablement expression only depends on the type of the
+	 * element, the affected natures and the processor identifier. This is the case if the
+	 * expression only consists of <code>instanceof</code> tests on the element and of tests
+	 * on the values of the other variables, but e.g. not of property tests or adaptations.
+	 *
+	 * @return <code>true</code> if the enablement result can be shared between elements of
+	 *         the same type
+	 */
+	public synchronized boolean isEnablementCacheable() {
+		if (fEnablementCacheable == null) {
+			IConfigurationElement[] elements= fConfigurationElement.getChildren(ExpressionTagNames.ENABLEMENT);
+			fEnablementCacheable= Boolean.valueOf(elements.length == 1 && isCacheable(elements[0].getChildren(), true));
+		}
+		return fEnablementCacheable.booleanValue();
+	}
+
+	private static boolean isCacheable(IConfigurationElement[] elements, boolean elementScope) {
+		for (IConfigurationElement element : elements) {
+			String name= element.getName();
+			boolean childScope= elementScope;
+			if (ExpressionTagNames.WITH.equals(name)) {
+				String variable= element.getAttribute(VARIABLE);
+				if (ELEMENT_VARIABLE.equals(variable)) {
+					childScope= true;
+				} else if (AFFECTED_NATURES_VARIABLE.equals(variable) || PROCESSOR_IDENTIFIER_VARIABLE.equals(variable)) {
+					childScope= false;
+				} else {
+					return false;
+				}
+			} else if (ExpressionTagNames.EQUALS.equals(name) || ExpressionTagNames.ITERATE.equals(name) || ExpressionTagNames.COUNT.equals(name)) {
+				if (elementScope)
+					return false;
+			} else if (!ExpressionTagNames.AND.equals(name) && !ExpressionTagNames.OR.equals(name)
+					&& !ExpressionTagNames.NOT.equals(name) && !ExpressionTagNames.INSTANCEOF.equals(name)) {
+				return false;
+			}
+			if (!isCacheable(element.getChildren(), childScope))
+				return false;
+		}
 		return true;
 	}
 